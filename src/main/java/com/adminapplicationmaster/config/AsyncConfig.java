@@ -0,0 +1,24 @@
+package com.adminapplicationmaster.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Executors for work that must not run on Tomcat request threads
+ */
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Decision checks spend almost all of their time waiting on the remote
+     * decision service, so each job gets its own virtual thread
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService decisionJobExecutor() {
+        return Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("decision-job-", 0).factory());
+    }
+}
@@ -3,17 +3,19 @@ package com.adminapplicationmaster.config;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.adminapplicationmaster.util.EncryptedString;
 import com.adminapplicationmaster.util.EncryptionUtil;
 
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
 
 /**
- * JPA AttributeConverter for automatic encryption/decryption
+ * JPA AttributeConverter for automatic encryption/decryption.
+ * Loading only wraps the ciphertext; it is decrypted when the entity's getter is called.
  */
 @Component
 @Converter(autoApply = false) 
-public class EncryptionConverter implements AttributeConverter<String, String> {
+public class EncryptionConverter implements AttributeConverter<EncryptedString, String> {
 
     private static EncryptionUtil encryptionUtil;
 
@@ -23,24 +25,24 @@ public class EncryptionConverter implements AttributeConverter<String, String> {
     }
 
     @Override
-    public String convertToDatabaseColumn(String attribute) {
+    public String convertToDatabaseColumn(EncryptedString attribute) {
         if (attribute == null) {
             return null;
         }
         if (encryptionUtil == null) {
             throw new IllegalStateException("EncryptionUtil not initialized. Make sure Spring context is loaded.");
         }
-        return encryptionUtil.encrypt(attribute);
+        return attribute.ciphertext(encryptionUtil);
     }
 
     @Override
-    public String convertToEntityAttribute(String dbData) {
+    public EncryptedString convertToEntityAttribute(String dbData) {
         if (dbData == null) {
             return null;
         }
         if (encryptionUtil == null) {
             throw new IllegalStateException("EncryptionUtil not initialized. Make sure Spring context is loaded.");
         }
-        return encryptionUtil.decrypt(dbData);
+        return EncryptedString.fromCiphertext(dbData, encryptionUtil);
     }
 }
\ No newline at end of file
@@ -0,0 +1,139 @@
+package com.adminapplicationmaster.config;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.protocol.HttpContext;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+/**
+ * Delegates to a pooling connection manager and records how long callers wait to lease a connection, per route
+ */
+public class InstrumentedConnectionManager implements HttpClientConnectionManager {
+
+    private final PoolingHttpClientConnectionManager pool;
+    private final Map<HttpRoute, LeaseStats> leaseStats = new ConcurrentHashMap<>();
+
+    public InstrumentedConnectionManager(PoolingHttpClientConnectionManager pool) {
+        this.pool = pool;
+    }
+
+    public PoolingHttpClientConnectionManager getPool() {
+        return pool;
+    }
+
+    @Override
+    public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+        LeaseRequest request = pool.lease(id, route, requestTimeout, state);
+        LeaseStats stats = leaseStats.computeIfAbsent(route, r -> new LeaseStats());
+
+        return new LeaseRequest() {
+            @Override
+            public ConnectionEndpoint get(Timeout timeout)
+                    throws InterruptedException, ExecutionException, TimeoutException {
+                long start = System.nanoTime();
+                try {
+                    ConnectionEndpoint endpoint = request.get(timeout);
+                    stats.record(System.nanoTime() - start);
+                    return endpoint;
+                } catch (TimeoutException e) {
+                    stats.timeouts.increment();
+                    throw e;
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return request.cancel();
+            }
+        };
+    }
+
+    @Override
+    public void release(ConnectionEndpoint endpoint, Object newState, TimeValue validDuration) {
+        pool.release(endpoint, newState, validDuration);
+    }
+
+    @Override
+    public void connect(ConnectionEndpoint endpoint, TimeValue connectTimeout, HttpContext context) throws IOException {
+        pool.connect(endpoint, connectTimeout, context);
+    }
+
+    @Override
+    public void upgrade(ConnectionEndpoint endpoint, HttpContext context) throws IOException {
+        pool.upgrade(endpoint, context);
+    }
+
+    @Override
+    public void close(CloseMode closeMode) {
+        pool.close(closeMode);
+    }
+
+    @Override
+    public void close() throws IOException {
+        pool.close();
+    }
+
+    /**
+     * Pool utilisation and lease-wait times, overall and per target host
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("total", poolStats(pool.getTotalStats()));
+
+        Map<String, Object> routes = new LinkedHashMap<>();
+        leaseStats.forEach((route, stats) -> {
+            Map<String, Object> routeSnapshot = poolStats(pool.getStats(route));
+            routeSnapshot.putAll(stats.snapshot());
+            routes.put(route.getTargetHost().toURI(), routeSnapshot);
+        });
+        snapshot.put("routes", routes);
+        return snapshot;
+    }
+
+    private Map<String, Object> poolStats(PoolStats stats) {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("leased", stats.getLeased());
+        snapshot.put("pending", stats.getPending());
+        snapshot.put("available", stats.getAvailable());
+        snapshot.put("max", stats.getMax());
+        return snapshot;
+    }
+
+    private static class LeaseStats {
+        private final LongAdder leases = new LongAdder();
+        private final LongAdder totalWaitNanos = new LongAdder();
+        private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder timeouts = new LongAdder();
+
+        void record(long waitNanos) {
+            leases.increment();
+            totalWaitNanos.add(waitNanos);
+            maxWaitNanos.accumulate(waitNanos);
+        }
+
+        Map<String, Object> snapshot() {
+            long count = leases.sum();
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("leases", count);
+            snapshot.put("leaseTimeouts", timeouts.sum());
+            snapshot.put("avgLeaseWaitMillis", count == 0 ? 0.0 : totalWaitNanos.sum() / 1_000_000.0 / count);
+            snapshot.put("maxLeaseWaitMillis", maxWaitNanos.get() / 1_000_000.0);
+            return snapshot;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.adminapplicationmaster.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.adminapplicationmaster.resilience.DependencyGuard;
+import com.adminapplicationmaster.resilience.DependencyGuardProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Circuit breaker and bulkhead per downstream service
+ */
+@Configuration
+@Slf4j
+public class ResilienceConfig {
+
+    // Both services share the pooled HTTP client, one route each
+    @Value("${http.client.max-per-route:20}")
+    private int maxPerRoute;
+
+    @Bean
+    @ConfigurationProperties(prefix = "resilience.decision-service")
+    public DependencyGuardProperties decisionServiceGuardProperties() {
+        return new DependencyGuardProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "resilience.location-service")
+    public DependencyGuardProperties locationServiceGuardProperties() {
+        return new DependencyGuardProperties();
+    }
+
+    @Bean
+    public DependencyGuard decisionServiceGuard() {
+        return new DependencyGuard("decision-service", withinConnectionPool("decision-service", decisionServiceGuardProperties()));
+    }
+
+    @Bean
+    public DependencyGuard locationServiceGuard() {
+        return new DependencyGuard("location-service", withinConnectionPool("location-service", locationServiceGuardProperties()));
+    }
+
+    /**
+     * A bulkhead wider than the route's connection pool lets callers through only to wait for a connection
+     */
+    private DependencyGuardProperties withinConnectionPool(String name, DependencyGuardProperties properties) {
+        if (properties.getMaxConcurrentCalls() > maxPerRoute) {
+            log.warn("{} max-concurrent-calls {} exceeds http.client.max-per-route {}; using {}",
+                    name, properties.getMaxConcurrentCalls(), maxPerRoute, maxPerRoute);
+            properties.setMaxConcurrentCalls(maxPerRoute);
+        }
+        return properties;
+    }
+}
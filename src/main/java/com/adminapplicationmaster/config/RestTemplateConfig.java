@@ -1,20 +1,91 @@
 package com.adminapplicationmaster.config;
 
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.IdleConnectionEvictor;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.Duration;
 
+/**
+ * Outbound HTTP client shared by DecisionService and LocationService.
+ * Connections are pooled and kept alive so calls do not pay TCP/TLS setup each time.
+ */
 @Configuration
 public class RestTemplateConfig {
 
+    @Value("${http.client.max-total:100}")
+    private int maxTotal;
+
+    @Value("${http.client.max-per-route:20}")
+    private int maxPerRoute;
+
+    @Value("${http.client.connect-timeout:PT10S}")
+    private Duration connectTimeout;
+
+    @Value("${http.client.read-timeout:PT30S}")
+    private Duration readTimeout;
+
+    // How long a caller may wait for a free pooled connection
+    @Value("${http.client.connection-request-timeout:PT5S}")
+    private Duration connectionRequestTimeout;
+
+    @Value("${http.client.idle-eviction:PT30S}")
+    private Duration idleEviction;
+
+    @Value("${http.client.time-to-live:PT5M}")
+    private Duration timeToLive;
+
+    @Value("${http.client.validate-after-inactivity:PT2S}")
+    private Duration validateAfterInactivity;
+
+    @Bean(destroyMethod = "close")
+    public InstrumentedConnectionManager httpConnectionManager() {
+        PoolingHttpClientConnectionManager pool = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setTimeToLive(TimeValue.of(timeToLive))
+                        .setValidateAfterInactivity(TimeValue.of(validateAfterInactivity))
+                        .build())
+                .build();
+        return new InstrumentedConnectionManager(pool);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "shutdown")
+    public IdleConnectionEvictor idleConnectionEvictor(InstrumentedConnectionManager httpConnectionManager) {
+        return new IdleConnectionEvictor(httpConnectionManager.getPool(),
+                TimeValue.of(idleEviction), TimeValue.of(idleEviction));
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(InstrumentedConnectionManager httpConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(httpConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
+    public RestTemplate restTemplate(RestTemplateBuilder builder, CloseableHttpClient httpClient) {
         return builder
-                .setConnectTimeout(Duration.ofSeconds(10))
-                .setReadTimeout(Duration.ofSeconds(30))
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,46 @@
+package com.adminapplicationmaster.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import com.adminapplicationmaster.stub.StubResponders;
+import com.adminapplicationmaster.stub.StubServer;
+import com.adminapplicationmaster.stub.StubServiceProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Embedded stand-ins for the decision and location services, for load and latency testing
+ * without the real downstreams. Only active with the "stub" profile; see application-stub.yml.
+ */
+@Configuration
+@Profile("stub")
+public class StubServerConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "stub.decision")
+    public StubServiceProperties stubDecisionProperties() {
+        return new StubServiceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "stub.location")
+    public StubServiceProperties stubLocationProperties() {
+        return new StubServiceProperties();
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public StubServer stubDecisionServer(ObjectMapper objectMapper) {
+        StubServiceProperties properties = stubDecisionProperties();
+        return new StubServer("decision-service", "/api/v1/decisions", properties,
+                StubResponders.decision(objectMapper, properties));
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public StubServer stubLocationServer(ObjectMapper objectMapper) {
+        StubServiceProperties properties = stubLocationProperties();
+        return new StubServer("location-service", "/api/v1/address/eligibility_check", properties,
+                StubResponders.location(objectMapper, properties));
+    }
+}
@@ -0,0 +1,78 @@
+package com.adminapplicationmaster.controller;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.adminapplicationmaster.service.ApplicationRollupService;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * REST API Controller for dashboard charts
+ * Aggregates come from the application_rollups table, never from loan_applications
+ */
+@RestController
+@RequestMapping("/api/v1/analytics")
+@AllArgsConstructor
+@Slf4j
+public class ApiAnalyticsController {
+
+    private static final int DEFAULT_DAYS = 30;
+
+    private final ApplicationRollupService applicationRollupService;
+
+    /**
+     * Application counts and requested amounts grouped by any of day, status, state and county.
+     * Drill down by filtering on the bucket picked, e.g. groupBy=state, then groupBy=county&state=CA.
+     * Defaults to the last 30 days grouped by day.
+     */
+    @GetMapping("/applications")
+    public ResponseEntity<?> applications(
+        @RequestParam(defaultValue = "day") List<String> groupBy,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        @RequestParam(required = false) String status,
+        @RequestParam(required = false) String state,
+        @RequestParam(required = false) String county) {
+
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_DAYS - 1);
+
+        try {
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("from", start);
+            response.put("to", end);
+            response.put("groupBy", groupBy);
+            response.put("buckets", applicationRollupService.query(groupBy, start, end, status, state, county));
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400)
+                    .body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    /**
+     * Recompute the rollups from loan_applications, e.g. after fixing data by hand
+     */
+    @PostMapping("/applications/rebuild")
+    public ResponseEntity<?> rebuild() {
+        try {
+            return ResponseEntity.ok(Map.of("buckets", applicationRollupService.rebuild()));
+        } catch (Exception e) {
+            log.error("Error rebuilding application rollups", e);
+            return ResponseEntity.status(500)
+                    .body(Map.of("message", "Failed to rebuild application rollups"));
+        }
+    }
+}
@@ -1,13 +1,14 @@
 package com.adminapplicationmaster.controller;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -17,14 +18,20 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
 
-import com.adminapplicationmaster.domain.entity.ApplicationDecision;
+import com.adminapplicationmaster.domain.entity.DecisionOutboxEntry;
 import com.adminapplicationmaster.domain.entity.LoanApplication;
-import com.adminapplicationmaster.repository.ApplicationDecisionRepository;
+import com.adminapplicationmaster.dto.BulkDecisionCheckRequest;
+import com.adminapplicationmaster.dto.DecisionJob;
+import com.adminapplicationmaster.dto.KeysetCursor;
+import com.adminapplicationmaster.dto.LoanApplicationSummary;
 import com.adminapplicationmaster.repository.LoanApplicationRepository;
-import com.adminapplicationmaster.service.DecisionService;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.adminapplicationmaster.service.DecisionBatchService;
+import com.adminapplicationmaster.service.DecisionCheckService;
+import com.adminapplicationmaster.service.DecisionJobService;
+import com.adminapplicationmaster.service.DecisionOutboxService;
+import com.adminapplicationmaster.service.LoanApplicationQueryService;
 
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
@@ -41,12 +48,19 @@ import lombok.extern.slf4j.Slf4j;
 public class ApiApplicationServiceController {
 
     private final LoanApplicationRepository loanApplicationRepository;
-    private final ApplicationDecisionRepository applicationDecisionRepository;
-    private final DecisionService decisionService;
-    private final ObjectMapper objectMapper;
+    private final DecisionCheckService decisionCheckService;
+    private final DecisionJobService decisionJobService;
+    private final DecisionBatchService decisionBatchService;
+    private final DecisionOutboxService decisionOutboxService;
+    private final LoanApplicationQueryService loanApplicationQueryService;
 
+    private static final long MAX_JOB_WAIT_SECONDS = 30;
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    /**
+     * List rows carry only the columns the table shows plus the latest decision
+     */
     @GetMapping
-    @Transactional(readOnly = true)
     public ResponseEntity<?> index(
         @RequestParam(required = false) String status,
         @RequestParam(defaultValue = "0") int page,
@@ -54,13 +68,7 @@ public class ApiApplicationServiceController {
         
         try {
             Pageable pageable = PageRequest.of(page, size);
-            Page<LoanApplication> loanApplicationsPage;
-            
-            if (status != null && !status.isEmpty()) {
-                loanApplicationsPage = loanApplicationRepository.findByStatus(status, pageable);
-            } else {
-                loanApplicationsPage = loanApplicationRepository.findAll(pageable);
-            }
+            Page<LoanApplicationSummary> loanApplicationsPage = loanApplicationQueryService.page(status, pageable);
             
             return ResponseEntity.ok(loanApplicationsPage);
         } catch (Exception e) {
@@ -70,6 +78,35 @@ public class ApiApplicationServiceController {
         }
     }
 
+    /**
+     * Cursor mode of the list, selected by passing a cursor (empty for the first page).
+     * Seeks on (created_at, id) so every page costs the same; the total is only counted on request.
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<?> indexByCursor(
+        @RequestParam(required = false) String status,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int size,
+        @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        KeysetCursor position;
+        try {
+            position = cursor == null || cursor.isEmpty() ? null : KeysetCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400)
+                    .body(Map.of("message", e.getMessage()));
+        }
+
+        try {
+            return ResponseEntity.ok(loanApplicationQueryService.cursorPage(status, position,
+                    Math.clamp(size, 1, MAX_CURSOR_PAGE_SIZE), includeTotal));
+        } catch (Exception e) {
+            log.error("Error fetching loan applications", e);
+            return ResponseEntity.status(500)
+                    .body(Map.of("error", "Failed to fetch loan applications"));
+        }
+    }
+
     @PostMapping
     public ResponseEntity<?> create(@Valid @RequestBody LoanApplication loanApplication) {
         try {
@@ -121,8 +158,13 @@ public class ApiApplicationServiceController {
                         existing.setStatus(loanApplication.getStatus());
                     }
                     
-                    LoanApplication updated = loanApplicationRepository.save(existing);
-                    return ResponseEntity.ok(updated);
+                    try {
+                        LoanApplication updated = loanApplicationRepository.save(existing);
+                        return ResponseEntity.ok(updated);
+                    } catch (ObjectOptimisticLockingFailureException e) {
+                        return ResponseEntity.status(409)
+                                .body(Map.of("message", "Loan application was changed by another request"));
+                    }
                 })
                 .orElseGet(() -> ResponseEntity.unprocessableEntity()
                         .body(Map.of("errors", "Loan application not found")));
@@ -131,100 +173,101 @@ public class ApiApplicationServiceController {
 
     @GetMapping("/{id}/decision_check")
     public ResponseEntity<?> decisionCheck(@PathVariable Long id) {
-        log.info("Decision check requested for loan application ID: {}", id);
-        
+        return decisionCheckService.check(id);
+    }
+
+    /**
+     * Queue a decision check and return immediately with a job that can be polled
+     */
+    @PostMapping("/{id}/decision_check")
+    public ResponseEntity<?> submitDecisionCheck(@PathVariable Long id,
+                                                 @RequestParam(name = "callback_url", required = false) String callbackUrl) {
+        if (!loanApplicationRepository.existsById(id)) {
+            return ResponseEntity.status(400)
+                    .body(Map.of("message", "Loan application not found"));
+        }
+
         try {
-            LoanApplication loanApplication = loanApplicationRepository.findById(id)
-                    .orElseThrow(() -> new RuntimeException("Loan application not found"));
-
-            log.info("Found loan application: {} {}", loanApplication.getFirstName(), loanApplication.getLastName());
-
-            // Validate required fields
-            if (loanApplication.getSsn() == null || loanApplication.getSsn().isEmpty()) {
-                log.error("SSN is missing for loan application ID: {}", id);
-                return ResponseEntity.status(400)
-                        .body(Map.of("message", "SSN is required for decision check"));
-            }
-
-            if (loanApplication.getAddress() == null) {
-                log.error("Address is missing for loan application ID: {}", id);
-                return ResponseEntity.status(400)
-                        .body(Map.of("message", "Address is required for decision check"));
-            }
-
-            // Create request payload
-            Map<String, Object> requestPayload = createLoanApplicationPayload(loanApplication);
-            log.debug("Request payload created: {}", requestPayload);
-            
-            // Call decision service
-            log.info("Calling decision service...");
-            ResponseEntity<String> response = decisionService.getDecision(requestPayload);
-            
-            log.info("Decision service responded with status: {}", response.getStatusCode());
-            
-            if (response.getStatusCode().is2xxSuccessful()) {
-                String responseBody = response.getBody();
-                log.debug("Decision service response: {}", responseBody);
-                
-                JsonNode responseNode = objectMapper.readTree(responseBody);
-                
-                // Check if final_decision exists
-                JsonNode finalDecisionNode = responseNode.get("final_decision");
-                if (finalDecisionNode == null) {
-                    log.error("Response missing 'final_decision' field: {}", responseBody);
-                    return ResponseEntity.status(500)
-                            .body(Map.of("message", "Invalid response from decision service"));
-                }
-                
-                // Create application decision
-                ApplicationDecision decision = ApplicationDecision.builder()
-                        .loanApplication(loanApplication)
-                        .request(objectMapper.writeValueAsString(requestPayload))
-                        .response(responseBody)
-                        .decision(finalDecisionNode.asText())
-                        .build();
-                
-                ApplicationDecision saved = applicationDecisionRepository.save(decision);
-                log.info("Application decision saved with ID: {}", saved.getId());
-                
-                return ResponseEntity.ok(saved);
-            } else {
-                log.error("Decision service returned error status: {} with body: {}", 
-                         response.getStatusCode(), response.getBody());
-                return ResponseEntity.status(response.getStatusCode())
-                        .body(Map.of("message", "Decision service error: " + response.getBody()));
-            }
-        } catch (Exception e) {
-            log.error("Error in decision check for loan application ID: {}", id, e);
-            return ResponseEntity.status(500)
-                    .body(Map.of("message", "Decision service error: " + e.getMessage()));
+            DecisionJob job = decisionJobService.submit(id, callbackUrl);
+            return ResponseEntity.accepted()
+                    .header("Location", "/api/v1/application_services/decision_jobs/" + job.getId())
+                    .body(job);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400)
+                    .body(Map.of("message", e.getMessage()));
         }
     }
 
-    private Map<String, Object> createLoanApplicationPayload(LoanApplication app) {
-        Map<String, Object> addressMap = new HashMap<>();
-        if (app.getAddress() != null) {
-            addressMap.put("street", app.getAddress().getStreet());
-            addressMap.put("unitNumber", app.getAddress().getUnitNumber());  // camelCase
-            addressMap.put("city", app.getAddress().getCity());
-            addressMap.put("state", app.getAddress().getState());
-            addressMap.put("zip", app.getAddress().getZip());
-            addressMap.put("county", app.getAddress().getCounty());
+    /**
+     * Queue a decision request in the durable outbox.
+     * It is retried with backoff until a decision is recorded, surviving restarts.
+     */
+    @PostMapping("/{id}/decision_requests")
+    public ResponseEntity<?> requestDecision(@PathVariable Long id) {
+        if (!loanApplicationRepository.existsById(id)) {
+            return ResponseEntity.status(400)
+                    .body(Map.of("message", "Loan application not found"));
         }
 
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("applicationId", app.getId());  // camelCase
-        payload.put("firstName", app.getFirstName());  // camelCase
-        payload.put("lastName", app.getLastName());  // camelCase
-        payload.put("dateOfBirth", app.getDateOfBirth() != null ? app.getDateOfBirth().toString() : null);  // camelCase
-        payload.put("ssn", app.getSsn());
-        payload.put("email", app.getEmail());
-        payload.put("phone", app.getPhone());
-        payload.put("income", app.getIncome());
-        payload.put("incomeType", app.getIncomeType());  // camelCase
-        payload.put("requestedLoanAmount", app.getRequestedLoanAmount());  // camelCase
-        payload.put("address", addressMap);
-        
-        return payload;
+        DecisionOutboxEntry entry = decisionOutboxService.enqueue(id);
+        return ResponseEntity.accepted()
+                .header("Location", "/api/v1/application_services/decision_requests/" + entry.getId())
+                .body(entry);
+    }
+
+    @GetMapping("/decision_requests/{requestId}")
+    public ResponseEntity<?> decisionRequest(@PathVariable Long requestId) {
+        return decisionOutboxService.find(requestId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(404)
+                        .body(Map.of("message", "Decision request not found")));
+    }
+
+    /**
+     * Re-run decisions for a list of ids or every application with a status.
+     * Streams one JSON line per application (application/x-ndjson) as results complete.
+     */
+    @PostMapping("/decision_checks")
+    public ResponseEntity<?> bulkDecisionCheck(@RequestBody BulkDecisionCheckRequest request) {
+        DecisionBatchService.Selection selection;
+        try {
+            selection = decisionBatchService.load(request);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400)
+                    .body(Map.of("message", e.getMessage()));
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(decisionBatchService.stream(selection));
+    }
+
+    /**
+     * Poll a decision job. With wait > 0 the response is held (without occupying
+     * a request thread) until the job finishes or the wait expires.
+     */
+    @GetMapping("/decision_jobs/{jobId}")
+    public DeferredResult<ResponseEntity<?>> decisionJob(@PathVariable String jobId,
+                                                         @RequestParam(defaultValue = "0") long wait) {
+        DeferredResult<ResponseEntity<?>> result =
+                new DeferredResult<>(TimeUnit.SECONDS.toMillis(MAX_JOB_WAIT_SECONDS + 5));
+
+        DecisionJob job = decisionJobService.find(jobId).orElse(null);
+        if (job == null) {
+            result.setResult(ResponseEntity.status(404)
+                    .body(Map.of("message", "Decision job not found")));
+            return result;
+        }
+
+        if (wait <= 0 || job.isFinished()) {
+            result.setResult(ResponseEntity.ok(job));
+            return result;
+        }
+
+        long waitSeconds = Math.min(wait, MAX_JOB_WAIT_SECONDS);
+        job.getCompletion().copy()
+                .completeOnTimeout(job, waitSeconds, TimeUnit.SECONDS)
+                .thenAccept(finished -> result.setResult(ResponseEntity.ok(finished)));
+        return result;
     }
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.adminapplicationmaster.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.adminapplicationmaster.service.ReEncryptionJob;
+import com.adminapplicationmaster.service.SsnEncryptionMigration;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * REST API Controller for encryption maintenance
+ * Starts and reports on re-encrypting stored values, e.g. after rotating encryption.key,
+ * and on the one-time encryption of plaintext SSNs
+ */
+@RestController
+@RequestMapping("/api/v1/encryption")
+@AllArgsConstructor
+@Slf4j
+public class ApiEncryptionController {
+
+    private final ReEncryptionJob reEncryptionJob;
+    private final SsnEncryptionMigration ssnEncryptionMigration;
+
+    /**
+     * Start re-encryption in the background; an interrupted run resumes from its last checkpoint
+     */
+    @PostMapping("/reencrypt")
+    public ResponseEntity<?> reencrypt() {
+        if (!reEncryptionJob.start()) {
+            return ResponseEntity.status(409)
+                    .body(Map.of("message", "Re-encryption is already running"));
+        }
+        log.info("Re-encryption started");
+        return ResponseEntity.status(202).body(Map.of("message", "Re-encryption started"));
+    }
+
+    @GetMapping("/reencrypt")
+    public ResponseEntity<?> progress() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("running", reEncryptionJob.isRunning());
+        response.put("progress", reEncryptionJob.progress());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Encrypt plaintext SSNs in the background, even if the migration was already recorded as completed
+     */
+    @PostMapping("/ssn-migration")
+    public ResponseEntity<?> migrateSsns() {
+        if (!ssnEncryptionMigration.startInBackground()) {
+            return ResponseEntity.status(409)
+                    .body(Map.of("message", "SSN encryption migration is already running"));
+        }
+        return ResponseEntity.status(202).body(Map.of("message", "SSN encryption migration started"));
+    }
+
+    @GetMapping("/ssn-migration")
+    public ResponseEntity<?> ssnMigrationStatus() {
+        return ResponseEntity.ok(Map.of(
+                "running", ssnEncryptionMigration.isRunning(),
+                "completed", ssnEncryptionMigration.isCompleted()));
+    }
+}
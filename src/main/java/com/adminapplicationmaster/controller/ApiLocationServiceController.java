@@ -1,17 +1,23 @@
 package com.adminapplicationmaster.controller;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.adminapplicationmaster.domain.entity.Address;
-import com.adminapplicationmaster.repository.AddressRepository;
+import com.adminapplicationmaster.dto.BulkAddressCheckRequest;
+import com.adminapplicationmaster.dto.LocationAnswer;
+import com.adminapplicationmaster.service.AddressBatchService;
+import com.adminapplicationmaster.service.AddressDeduplicationService;
+import com.adminapplicationmaster.service.AddressService;
 import com.adminapplicationmaster.service.LocationService;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.AllArgsConstructor;
@@ -27,8 +33,12 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class ApiLocationServiceController {
 
+    private static final String PROVISIONAL_HEADER = "X-Eligibility-Provisional";
+
     private final LocationService locationService;
-    private final AddressRepository addressRepository;
+    private final AddressService addressService;
+    private final AddressDeduplicationService addressDeduplicationService;
+    private final AddressBatchService addressBatchService;
     private final ObjectMapper objectMapper;
 
     @PostMapping
@@ -42,56 +52,76 @@ public class ApiLocationServiceController {
             }
             
             ResponseEntity<String> response = locationService.getAddressInfo(addressParam);
-            
-            // Handle successful response from location service
-            if (response.getStatusCode().is2xxSuccessful()) {
-                JsonNode responseBody = objectMapper.readTree(response.getBody());
-                String message = responseBody.get("message").asText();
-                
-                // Address is eligible - save and return
-                if ("address_eligible".equals(message)) {
-                    JsonNode formattedAddress = responseBody.get("formatted_address");
-                    
-                    Address newAddress = Address.builder()
-                            .street(formattedAddress.get("street").asText())
-                            .city(formattedAddress.get("city").asText())
-                            .zip(formattedAddress.get("zip").asText())
-                            .state(formattedAddress.get("state").asText())
-                            .county(formattedAddress.get("county").asText())
-                            .build();
-                    
-                    Address saved = addressRepository.save(newAddress);
-                    return ResponseEntity.ok(saved);
-                }
-                // Address not found or not eligible - return 404 with the message
-                else if ("Address Not found".equals(message) || 
-                         "address not eligible".equals(message) ||
-                         "address missing".equals(message)) {
-                    return ResponseEntity.status(404)
-                            .body(Map.of("message", message));
-                }
-                // Unknown response from location service
-                else {
-                    log.warn("Unexpected message from location service: {}", message);
-                    return ResponseEntity.status(404)
-                            .body(Map.of("message", "Address not found"));
-                }
-            }
-            // Location service returned error status
-            else if (response.getStatusCode().value() == 404) {
-                return ResponseEntity.status(404)
-                        .body(Map.of("message", "Address not found"));
+            LocationAnswer answer = LocationAnswer.of(response, objectMapper);
+
+            if (answer.isProvisional()) {
+                return provisional(answer);
             }
-            // Other error from location service
-            else {
-                log.error("Location service returned status: {}", response.getStatusCode());
-                return ResponseEntity.status(500)
-                        .body(Map.of("message", "Location service error"));
+            if (answer.isEligible()) {
+                // Reuse the stored row when the same address has been looked up before
+                Address saved = addressService.findOrCreate(answer.getAddress());
+                return ResponseEntity.ok(saved);
             }
+            return ResponseEntity.status(answer.getHttpStatus())
+                    .body(Map.of("message", answer.getMessage()));
         } catch (Exception e) {
             log.error("Error in location service call", e);
             return ResponseEntity.status(500)
                     .body(Map.of("message", "Error processing address: " + e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Location service unavailable - answered from the local eligibility rule index.
+     * Flagged in the body and a header so clients can re-check the address later.
+     * The address is not saved: only the location service's own answers become stored addresses.
+     */
+    private ResponseEntity<?> provisional(LocationAnswer answer) {
+        Map<String, Object> body;
+        if (answer.isEligible()) {
+            body = AddressService.toResponse(answer.getAddress());
+        } else {
+            body = new LinkedHashMap<>();
+            body.put("message", answer.getMessage());
+        }
+        body.put("provisional", true);
+        return ResponseEntity.status(answer.getHttpStatus())
+                .header(PROVISIONAL_HEADER, "true")
+                .body(body);
+    }
+
+    /**
+     * Check many addresses at once. Duplicates are looked up once and eligible addresses saved together.
+     * Streams one JSON line per input address (application/x-ndjson), in input order.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> batch(@RequestBody BulkAddressCheckRequest request) {
+        try {
+            addressBatchService.validate(request);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400)
+                    .body(Map.of("message", e.getMessage()));
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(addressBatchService.stream(request.getAddresses()));
+    }
+
+    /**
+     * Start merging addresses stored before de-duplication existed
+     */
+    @PostMapping("/address_deduplication")
+    public ResponseEntity<?> startDeduplication() {
+        if (!addressDeduplicationService.start()) {
+            return ResponseEntity.status(409)
+                    .body(Map.of("message", "Address de-duplication is already running"));
+        }
+        return ResponseEntity.accepted().body(addressDeduplicationService.snapshot());
+    }
+
+    @GetMapping("/address_deduplication")
+    public ResponseEntity<?> deduplicationStatus() {
+        return ResponseEntity.ok(addressDeduplicationService.snapshot());
+    }
+}
@@ -0,0 +1,91 @@
+package com.adminapplicationmaster.controller;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.adminapplicationmaster.config.InstrumentedConnectionManager;
+import com.adminapplicationmaster.resilience.DependencyGuard;
+import com.adminapplicationmaster.service.AddressEligibilityCache;
+import com.adminapplicationmaster.service.DecisionOutboxService;
+import com.adminapplicationmaster.service.DecisionResultCache;
+import com.adminapplicationmaster.service.EligibilityRuleIndex;
+import com.adminapplicationmaster.stub.StubServer;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * REST API Controller for operational metrics
+ * Requires JWT authentication
+ */
+@RestController
+@RequestMapping("/api/v1/monitoring")
+@AllArgsConstructor
+public class ApiMonitoringController {
+
+    private final List<DependencyGuard> dependencyGuards;
+    private final DecisionResultCache decisionResultCache;
+    private final AddressEligibilityCache addressEligibilityCache;
+    private final InstrumentedConnectionManager httpConnectionManager;
+    private final DecisionOutboxService decisionOutboxService;
+    private final EligibilityRuleIndex eligibilityRuleIndex;
+    // Empty unless the "stub" profile is active
+    private final List<StubServer> stubServers;
+
+    /**
+     * Circuit breaker state and bulkhead usage per downstream service
+     */
+    @GetMapping("/dependencies")
+    public ResponseEntity<Map<String, Object>> dependencies() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        for (DependencyGuard guard : dependencyGuards) {
+            response.put(guard.getName(), guard.snapshot());
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Size and hit/miss counters of the in-process caches
+     */
+    @GetMapping("/caches")
+    public ResponseEntity<Map<String, Object>> caches() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("decisionResults", decisionResultCache.snapshot());
+        response.put("addressEligibility", addressEligibilityCache.snapshot());
+        response.put("eligibilityRules", eligibilityRuleIndex.snapshot());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Outbound HTTP connection pool usage and lease-wait times per target host
+     */
+    @GetMapping("/http-pool")
+    public ResponseEntity<Map<String, Object>> httpPool() {
+        return ResponseEntity.ok(httpConnectionManager.snapshot());
+    }
+
+    /**
+     * Decision outbox backlog by status
+     */
+    @GetMapping("/outbox")
+    public ResponseEntity<Map<String, Object>> outbox() {
+        return ResponseEntity.ok(decisionOutboxService.snapshot());
+    }
+
+    /**
+     * Request, error and timeout counts of the embedded stub services
+     */
+    @GetMapping("/stubs")
+    public ResponseEntity<Map<String, Object>> stubs() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        for (StubServer stubServer : stubServers) {
+            response.put(stubServer.getName(), stubServer.snapshot());
+        }
+        return ResponseEntity.ok(response);
+    }
+}
@@ -3,6 +3,12 @@ package com.adminapplicationmaster.domain.entity;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+
+import com.adminapplicationmaster.util.AddressNormalizer;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -25,6 +31,8 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Data
 @Builder
+@BatchSize(size = 50)
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Address {
 
     @Id
@@ -49,6 +57,11 @@ public class Address {
     @Column(name = "county")
     private String county;
 
+    // Unique in the database; lets lookups of the same address reuse one row
+    @JsonIgnore
+    @Column(name = "normalized_hash", length = 64)
+    private String normalizedHash;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
     
@@ -59,11 +72,13 @@ public class Address {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        normalizedHash = AddressNormalizer.hash(this);
     }
     
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        normalizedHash = AddressNormalizer.hash(this);
     }
 
     @OneToMany(mappedBy = "address", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
@@ -1,11 +1,19 @@
 package com.adminapplicationmaster.domain.entity;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.domain.AfterDomainEventPublication;
+import org.springframework.data.domain.DomainEvents;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import com.adminapplicationmaster.domain.event.ApplicationDecisionRecorded;
+import com.adminapplicationmaster.util.EncryptedString;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
@@ -16,9 +24,11 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PostLoad;
 import jakarta.persistence.PostPersist;
 import jakarta.persistence.PostUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -43,14 +53,14 @@ public class ApplicationDecision {
 
     @Column(name = "encrypted_request", columnDefinition = "TEXT")
     @Convert(converter = com.adminapplicationmaster.config.EncryptionConverter.class)
-    private String request;
+    private EncryptedString request;
 
     @Column(name = "encrypted_request_iv")
     private String requestIv;
 
     @Column(name = "encrypted_response", columnDefinition = "TEXT")
     @Convert(converter = com.adminapplicationmaster.config.EncryptionConverter.class)
-    private String response;
+    private EncryptedString response;
 
     @Column(name = "encrypted_response_iv")
     private String responseIv;
@@ -66,14 +76,78 @@ public class ApplicationDecision {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    // Set once the decision has been announced, or when it was loaded, so saving it again publishes nothing
+    @Transient
+    @JsonIgnore
+    private boolean recorded;
+
+    @PostLoad
+    void markRecorded() {
+        recorded = true;
+    }
+
+    @DomainEvents
+    Collection<Object> recordedEvents() {
+        if (recorded || id == null) {
+            return List.of();
+        }
+        return List.of(new ApplicationDecisionRecorded(loanApplication.getId(), id, decision,
+                applicationStatusFor(decision), createdAt));
+    }
+
+    @AfterDomainEventPublication
+    void recordedEventsPublished() {
+        recorded = id != null;
+    }
+
     @PostPersist
     @PostUpdate
     public void setApplicationStatus() {
-        if ("eligible".equals(this.decision)) {
-            this.loanApplication.setStatus("approved");
-        } else if ("decline".equals(this.decision)) {
-            this.loanApplication.setStatus("rejected");
+        String status = applicationStatusFor(this.decision);
+        if (status != null) {
+            this.loanApplication.setStatus(status);
         }
     }
 
-}
\ No newline at end of file
+    // The audit bodies are decrypted only when read
+    public String getRequest() {
+        return request == null ? null : request.value();
+    }
+
+    public void setRequest(String request) {
+        this.request = EncryptedString.of(request);
+    }
+
+    public String getResponse() {
+        return response == null ? null : response.value();
+    }
+
+    public void setResponse(String response) {
+        this.response = EncryptedString.of(response);
+    }
+
+    /**
+     * Loan application status implied by a decision, or null if the decision leaves it unchanged
+     */
+    public static String applicationStatusFor(String decision) {
+        if ("eligible".equals(decision)) {
+            return "approved";
+        } else if ("decline".equals(decision)) {
+            return "rejected";
+        }
+        return null;
+    }
+
+    public static class ApplicationDecisionBuilder {
+
+        public ApplicationDecisionBuilder request(String request) {
+            this.request = EncryptedString.of(request);
+            return this;
+        }
+
+        public ApplicationDecisionBuilder response(String response) {
+            this.response = EncryptedString.of(response);
+            return this;
+        }
+    }
+}
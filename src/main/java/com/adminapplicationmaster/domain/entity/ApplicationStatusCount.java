@@ -0,0 +1,50 @@
+package com.adminapplicationmaster.domain.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Last checkpoint one node took of its in-memory count of loan applications in one status.
+ * Each node only writes its own rows, so nodes never overwrite each other's counts.
+ */
+@Entity
+@Table(name = "application_status_counts")
+@IdClass(ApplicationStatusCount.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ApplicationStatusCount {
+
+    @Id
+    @Column(name = "node_id", length = 100)
+    private String nodeId;
+
+    @Id
+    @Column(name = "status", length = 50)
+    private String status;
+
+    @Column(name = "application_count", nullable = false)
+    private long applicationCount;
+
+    @Column(name = "checkpointed_at", nullable = false)
+    private LocalDateTime checkpointedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String nodeId;
+        private String status;
+    }
+}
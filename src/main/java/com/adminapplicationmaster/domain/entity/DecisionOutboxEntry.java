@@ -0,0 +1,108 @@
+package com.adminapplicationmaster.domain.entity;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Durable pending decision request, drained by DecisionOutboxWorker.
+ * A row in PROCESSING whose lease has expired belongs to a worker that died and is claimed again.
+ */
+@Entity
+@Table(name = "decision_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EntityListeners(AuditingEntityListener.class)
+public class DecisionOutboxEntry {
+
+    public enum Status { PENDING, PROCESSING, COMPLETED, FAILED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "loan_application_id", nullable = false)
+    private Long loanApplicationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "locked_by")
+    private String lockedBy;
+
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "application_decision_id")
+    private Long applicationDecisionId;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public void markProcessing(String workerId, LocalDateTime leaseExpiry) {
+        this.status = Status.PROCESSING;
+        this.attempts++;
+        this.lockedBy = workerId;
+        this.lockedUntil = leaseExpiry;
+    }
+
+    public void markCompleted(Long applicationDecisionId) {
+        this.status = Status.COMPLETED;
+        this.applicationDecisionId = applicationDecisionId;
+        this.lastError = null;
+        releaseLock();
+    }
+
+    public void scheduleRetry(String error, LocalDateTime nextAttemptAt) {
+        this.status = Status.PENDING;
+        this.lastError = error;
+        this.nextAttemptAt = nextAttemptAt;
+        releaseLock();
+    }
+
+    public void markFailed(String error) {
+        this.status = Status.FAILED;
+        this.lastError = error;
+        releaseLock();
+    }
+
+    private void releaseLock() {
+        this.lockedBy = null;
+        this.lockedUntil = null;
+    }
+}
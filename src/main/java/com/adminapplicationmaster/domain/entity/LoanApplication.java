@@ -1,12 +1,22 @@
 package com.adminapplicationmaster.domain.entity;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 
+import org.hibernate.annotations.BatchSize;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.domain.AfterDomainEventPublication;
+import org.springframework.data.domain.DomainEvents;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import com.adminapplicationmaster.domain.event.LoanApplicationRollupChanged;
+import com.adminapplicationmaster.domain.event.LoanApplicationStatusChanged;
+import com.adminapplicationmaster.util.EncryptedString;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -21,9 +31,14 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PostLoad;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -39,8 +54,17 @@ import lombok.NoArgsConstructor;
 @Builder
 @EntityListeners(AuditingEntityListener.class)
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@NamedEntityGraph(name = LoanApplication.WITH_ADDRESS, attributeNodes = @NamedAttributeNode("address"))
+@NamedEntityGraph(name = LoanApplication.DETAIL, attributeNodes = {
+        @NamedAttributeNode("address"),
+        @NamedAttributeNode("applicationDecisions")
+})
 public class LoanApplication {
 
+    // Fetch plans for the repository queries; everything else loads lazily in batches
+    public static final String WITH_ADDRESS = "LoanApplication.withAddress";
+    public static final String DETAIL = "LoanApplication.detail";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -57,10 +81,16 @@ public class LoanApplication {
     @Column(name = "date_of_birth", nullable = false)
     private LocalDate dateOfBirth;
 
-    @NotBlank(message = "SSN is required")
+    // Decrypted only when getSsn() is called; validated here rather than on the getter for that reason
+    @NotNull(message = "SSN is required")
     @Column(name = "ssn", nullable = false)
     @Convert(converter = com.adminapplicationmaster.config.EncryptionConverter.class)
-    private String ssn;
+    private EncryptedString ssn;
+
+    // Kept alongside the ciphertext so displaying the masked SSN needs no decryption
+    @Column(name = "ssn_last4", length = 4)
+    @JsonIgnore
+    private String ssnLast4;
 
     @NotBlank(message = "Email is required")
     @Column(name = "email", nullable = false)
@@ -83,12 +113,29 @@ public class LoanApplication {
     @Column(name = "status")
     private String status;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    // Status changes are published as moves from persistedStatus, so a save over a concurrent change must fail
+    @Version
+    @Column(name = "lock_version", nullable = false)
+    @JsonIgnore
+    private long version;
+
+    // Status as last loaded or saved; a difference is published as a LoanApplicationStatusChanged on save
+    @Transient
+    @JsonIgnore
+    private String persistedStatus;
+
+    // Same for the columns the analytics rollups aggregate
+    @Transient
+    @JsonIgnore
+    private LoanApplicationRollupChanged.Facts persistedRollupFacts;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "address_id", nullable = false)
     @JsonIgnoreProperties({"loanApplications"})
     private Address address;
 
-    @OneToMany(mappedBy = "loanApplication", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "loanApplication", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     @JsonIgnoreProperties({"loanApplication"})
     private List<ApplicationDecision> applicationDecisions;
 
@@ -109,6 +156,41 @@ public class LoanApplication {
         updatedAt = java.time.LocalDateTime.now();
     }
 
+    @PostLoad
+    void rememberPersistedState() {
+        persistedStatus = status;
+        persistedRollupFacts = rollupFacts();
+    }
+
+    @DomainEvents
+    Collection<Object> changes() {
+        List<Object> changes = new ArrayList<>();
+        if (status != null && !Objects.equals(status, persistedStatus)) {
+            changes.add(new LoanApplicationStatusChanged(id, persistedStatus, status));
+        }
+        LoanApplicationRollupChanged.Facts facts = rollupFacts();
+        if (facts != null && !facts.equals(persistedRollupFacts)) {
+            changes.add(new LoanApplicationRollupChanged(id, persistedRollupFacts, facts));
+        }
+        return changes;
+    }
+
+    @AfterDomainEventPublication
+    void changesPublished() {
+        persistedStatus = status;
+        persistedRollupFacts = rollupFacts();
+    }
+
+    // Null until saved; reading the address id does not initialise a lazy address
+    private LoanApplicationRollupChanged.Facts rollupFacts() {
+        if (createdAt == null) {
+            return null;
+        }
+        return new LoanApplicationRollupChanged.Facts(createdAt.toLocalDate(), status,
+                address == null ? null : address.getId(),
+                requestedLoanAmount == null ? 0 : requestedLoanAmount);
+    }
+
     public ApplicationDecision getLastApplicationDecision() {
         if (applicationDecisions != null && !applicationDecisions.isEmpty()) {
             return applicationDecisions.get(applicationDecisions.size() - 1);
@@ -116,11 +198,41 @@ public class LoanApplication {
         return null;
     }
 
+    public String getSsn() {
+        return ssn == null ? null : ssn.value();
+    }
+
+    public void setSsn(String ssn) {
+        this.ssn = EncryptedString.of(ssn);
+        this.ssnLast4 = lastFourOf(ssn);
+    }
+
     @JsonProperty("ssnDisplay")
     public String getSsnDisplay() {
-        if (ssn != null && ssn.length() >= 4) {
-            return "***-**-" + ssn.substring(ssn.length() - 4);
+        String last4 = ssnLast4;
+        if (last4 == null && ssn != null) {
+            // Saved before ssn_last4 existed
+            last4 = lastFourOf(ssn.value());
+        }
+        if (last4 != null) {
+            return "***-**-" + last4;
         }
         return "***-**-****";
     }
+
+    /**
+     * What ssn_last4 holds for the given SSN
+     */
+    public static String lastFourOf(String ssn) {
+        return ssn != null && ssn.length() >= 4 ? ssn.substring(ssn.length() - 4) : null;
+    }
+
+    public static class LoanApplicationBuilder {
+
+        public LoanApplicationBuilder ssn(String ssn) {
+            this.ssn = EncryptedString.of(ssn);
+            this.ssnLast4 = lastFourOf(ssn);
+            return this;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.adminapplicationmaster.domain.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * A decision was saved for a loan application. applicationStatus is the status the decision moved
+ * the application to, or null if it left it unchanged; decisionId is null for decisions written in bulk.
+ */
+public record ApplicationDecisionRecorded(Long loanApplicationId,
+                                          Long decisionId,
+                                          String decision,
+                                          String applicationStatus,
+                                          LocalDateTime decidedAt) {
+}
@@ -0,0 +1,16 @@
+package com.adminapplicationmaster.domain.event;
+
+import java.time.LocalDate;
+
+/**
+ * A loan application's contribution to the analytics rollups changed: it was created, changed status,
+ * or had its requested amount or address edited. previous is null for a newly created application.
+ */
+public record LoanApplicationRollupChanged(Long loanApplicationId, Facts previous, Facts current) {
+
+    /**
+     * The columns of one application that the rollups aggregate; state and county are read through the address
+     */
+    public record Facts(LocalDate day, String status, Long addressId, double requestedAmount) {
+    }
+}
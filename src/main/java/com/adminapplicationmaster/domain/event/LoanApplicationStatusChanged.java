@@ -0,0 +1,8 @@
+package com.adminapplicationmaster.domain.event;
+
+/**
+ * A loan application moved between statuses. previousStatus is null for a newly created application.
+ * Published when the change is saved, and handled once the surrounding transaction commits.
+ */
+public record LoanApplicationStatusChanged(Long loanApplicationId, String previousStatus, String status) {
+}
@@ -0,0 +1,20 @@
+package com.adminapplicationmaster.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Addresses to check in one request, each in the same shape the single address endpoint accepts
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAddressCheckRequest {
+
+    private List<Object> addresses;
+}
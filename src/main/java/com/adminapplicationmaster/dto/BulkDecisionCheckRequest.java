@@ -0,0 +1,22 @@
+package com.adminapplicationmaster.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Selects the loan applications for a bulk decision check, either by id or by status
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDecisionCheckRequest {
+
+    private List<Long> ids;
+
+    private String status;
+}
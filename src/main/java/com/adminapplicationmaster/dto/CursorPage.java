@@ -0,0 +1,13 @@
+package com.adminapplicationmaster.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One page of a cursor-paginated list. nextCursor is null on the last page;
+ * totalElements is only present when the caller asked for it.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CursorPage<T>(List<T> content, int size, String nextCursor, Long totalElements) {
+}
@@ -0,0 +1,56 @@
+package com.adminapplicationmaster.dto;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.Getter;
+
+/**
+ * Asynchronous decision check submitted through the job endpoints.
+ * Fields are written by the worker thread and read by polling clients.
+ */
+@Getter
+public class DecisionJob {
+
+    public enum Status { PENDING, RUNNING, COMPLETED, FAILED }
+
+    private final String id;
+    private final Long loanApplicationId;
+    private final LocalDateTime submittedAt;
+
+    @JsonIgnore
+    private final String callbackUrl;
+
+    @JsonIgnore
+    private final CompletableFuture<DecisionJob> completion = new CompletableFuture<>();
+
+    private volatile Status status = Status.PENDING;
+    private volatile Integer httpStatus;
+    private volatile Object result;
+    private volatile LocalDateTime completedAt;
+
+    public DecisionJob(String id, Long loanApplicationId, String callbackUrl) {
+        this.id = id;
+        this.loanApplicationId = loanApplicationId;
+        this.callbackUrl = callbackUrl;
+        this.submittedAt = LocalDateTime.now();
+    }
+
+    public void markRunning() {
+        this.status = Status.RUNNING;
+    }
+
+    public void complete(int httpStatus, Object result) {
+        this.httpStatus = httpStatus;
+        this.result = result;
+        this.completedAt = LocalDateTime.now();
+        this.status = httpStatus >= 200 && httpStatus < 300 ? Status.COMPLETED : Status.FAILED;
+        completion.complete(this);
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+}
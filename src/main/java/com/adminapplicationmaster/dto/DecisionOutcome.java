@@ -0,0 +1,34 @@
+package com.adminapplicationmaster.dto;
+
+import org.springframework.http.ResponseEntity;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Result of calling the decision service for one loan application, before anything is persisted.
+ * Either carries the decision with its request/response audit bodies, or the error response to return.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class DecisionOutcome {
+
+    private final Long loanApplicationId;
+    private final String decision;
+    private final String request;
+    private final String response;
+    private final ResponseEntity<?> error;
+
+    public static DecisionOutcome success(Long loanApplicationId, String decision, String request, String response) {
+        return new DecisionOutcome(loanApplicationId, decision, request, response, null);
+    }
+
+    public static DecisionOutcome failure(Long loanApplicationId, ResponseEntity<?> error) {
+        return new DecisionOutcome(loanApplicationId, null, null, null, error);
+    }
+
+    public boolean isSuccessful() {
+        return error == null;
+    }
+}
@@ -0,0 +1,51 @@
+package com.adminapplicationmaster.dto;
+
+import com.adminapplicationmaster.domain.entity.Address;
+import com.adminapplicationmaster.domain.entity.LoanApplication;
+
+/**
+ * Request body sent to the decision service.
+ * Property names are the camelCase names the decision service expects.
+ */
+public record DecisionPayload(
+        Long applicationId,
+        String firstName,
+        String lastName,
+        String dateOfBirth,
+        String ssn,
+        String email,
+        String phone,
+        Double income,
+        String incomeType,
+        Double requestedLoanAmount,
+        AddressPayload address) {
+
+    public record AddressPayload(
+            String street,
+            String unitNumber,
+            String city,
+            String state,
+            String zip,
+            String county) {
+
+        static AddressPayload from(Address address) {
+            return new AddressPayload(address.getStreet(), address.getUnitNumber(), address.getCity(),
+                    address.getState(), address.getZip(), address.getCounty());
+        }
+    }
+
+    public static DecisionPayload from(LoanApplication app) {
+        return new DecisionPayload(
+                app.getId(),
+                app.getFirstName(),
+                app.getLastName(),
+                app.getDateOfBirth() != null ? app.getDateOfBirth().toString() : null,
+                app.getSsn(),
+                app.getEmail(),
+                app.getPhone(),
+                app.getIncome(),
+                app.getIncomeType(),
+                app.getRequestedLoanAmount(),
+                app.getAddress() != null ? AddressPayload.from(app.getAddress()) : null);
+    }
+}
@@ -0,0 +1,77 @@
+package com.adminapplicationmaster.dto;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Decision service response, parsed in a single streaming pass.
+ * The raw body is only kept for the encrypted audit column.
+ */
+@Getter
+public class DecisionResult {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final int statusCode;
+    private final String finalDecision;
+
+    @Getter(AccessLevel.NONE)
+    private final byte[] rawBody;
+
+    private DecisionResult(int statusCode, String finalDecision, byte[] rawBody) {
+        this.statusCode = statusCode;
+        this.finalDecision = finalDecision;
+        this.rawBody = rawBody;
+    }
+
+    public static DecisionResult of(int statusCode, byte[] rawBody) {
+        String finalDecision = isSuccessful(statusCode) ? readFinalDecision(rawBody) : null;
+        return new DecisionResult(statusCode, finalDecision, rawBody);
+    }
+
+    public boolean isSuccessful() {
+        return isSuccessful(statusCode);
+    }
+
+    public String getRawBody() {
+        return rawBody != null ? new String(rawBody, StandardCharsets.UTF_8) : null;
+    }
+
+    private static boolean isSuccessful(int statusCode) {
+        return statusCode >= 200 && statusCode < 300;
+    }
+
+    /**
+     * Read the top-level final_decision field, stopping as soon as it is found.
+     * Returns null when the field is missing or the body is not a JSON object.
+     */
+    private static String readFinalDecision(byte[] body) {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("final_decision".equals(field)) {
+                    return value.isScalarValue() ? parser.getText() : null;
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.adminapplicationmaster.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Most recent decision recorded for a loan application, as shown in the applications list
+ */
+public record LatestDecision(@JsonIgnore Long loanApplicationId, String decision, LocalDateTime decidedAt) {
+}
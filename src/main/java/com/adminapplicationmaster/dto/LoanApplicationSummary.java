@@ -0,0 +1,30 @@
+package com.adminapplicationmaster.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of the loan applications list: only the columns the table shows plus the latest decision.
+ * Read with a JPQL constructor expression, so listing never loads addresses, decision
+ * audit bodies or the encrypted SSN.
+ */
+public record LoanApplicationSummary(Long id,
+                                     String firstName,
+                                     String lastName,
+                                     String email,
+                                     String phone,
+                                     String status,
+                                     Double requestedLoanAmount,
+                                     LocalDateTime createdAt,
+                                     LatestDecision latestDecision) {
+
+    // Used by the repository's constructor expressions; the latest decision is attached afterwards
+    public LoanApplicationSummary(Long id, String firstName, String lastName, String email, String phone,
+                                  String status, Double requestedLoanAmount, LocalDateTime createdAt) {
+        this(id, firstName, lastName, email, phone, status, requestedLoanAmount, createdAt, null);
+    }
+
+    public LoanApplicationSummary withLatestDecision(LatestDecision latestDecision) {
+        return new LoanApplicationSummary(id, firstName, lastName, email, phone, status,
+                requestedLoanAmount, createdAt, latestDecision);
+    }
+}
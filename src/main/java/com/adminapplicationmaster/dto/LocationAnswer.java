@@ -0,0 +1,77 @@
+package com.adminapplicationmaster.dto;
+
+import org.springframework.http.ResponseEntity;
+
+import com.adminapplicationmaster.domain.entity.Address;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * What a location service response means for the caller: either an eligible address
+ * (not yet persisted) or the status and message to return instead. Provisional answers
+ * come from the local eligibility rule index while the location service is unavailable.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Slf4j
+public class LocationAnswer {
+
+    private final int httpStatus;
+    private final String message;
+    private final Address address;
+    private final boolean provisional;
+
+    public static LocationAnswer of(ResponseEntity<String> response, ObjectMapper objectMapper)
+            throws JsonProcessingException {
+        // Location service returned error status
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            if (response.getStatusCode().value() == 404) {
+                return new LocationAnswer(404, "Address not found", null, false);
+            }
+            log.error("Location service returned status: {}", response.getStatusCode());
+            return new LocationAnswer(500, "Location service error", null, false);
+        }
+
+        JsonNode responseBody = objectMapper.readTree(response.getBody());
+        String message = responseBody.get("message").asText();
+        boolean provisional = responseBody.path("provisional").asBoolean(false);
+
+        // Address is eligible - caller saves and returns it
+        if ("address_eligible".equals(message)) {
+            JsonNode formattedAddress = responseBody.get("formatted_address");
+            Address address = Address.builder()
+                    .street(formattedAddress.get("street").asText())
+                    .city(formattedAddress.get("city").asText())
+                    .zip(formattedAddress.get("zip").asText())
+                    .state(formattedAddress.get("state").asText())
+                    .county(formattedAddress.get("county").asText())
+                    .build();
+            return new LocationAnswer(200, message, address, provisional);
+        }
+
+        // Address not found or not eligible - return 404 with the message
+        if ("Address Not found".equals(message)
+                || "address not eligible".equals(message)
+                || "address missing".equals(message)) {
+            return new LocationAnswer(404, message, null, provisional);
+        }
+
+        // Unknown response from location service
+        log.warn("Unexpected message from location service: {}", message);
+        return new LocationAnswer(404, "Address not found", null, provisional);
+    }
+
+    public static LocationAnswer failure(int httpStatus, String message) {
+        return new LocationAnswer(httpStatus, message, null, false);
+    }
+
+    public boolean isEligible() {
+        return address != null;
+    }
+}
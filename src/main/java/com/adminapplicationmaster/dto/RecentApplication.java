@@ -0,0 +1,17 @@
+package com.adminapplicationmaster.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of the dashboard's recent applications panel.
+ * Read with a JPQL constructor expression off the (created_at, id) index.
+ */
+public record RecentApplication(Long id,
+                                String firstName,
+                                String lastName,
+                                String email,
+                                String phone,
+                                String status,
+                                Double requestedLoanAmount,
+                                LocalDateTime createdAt) {
+}
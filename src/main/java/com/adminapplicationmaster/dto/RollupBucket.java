@@ -0,0 +1,18 @@
+package com.adminapplicationmaster.dto;
+
+import java.time.LocalDate;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One group of an analytics query. Only the dimensions that were grouped by are set;
+ * an empty state or county means the application's address did not have one.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RollupBucket(LocalDate day,
+                           String status,
+                           String state,
+                           String county,
+                           long applications,
+                           double requestedAmount) {
+}
@@ -0,0 +1,7 @@
+package com.adminapplicationmaster.dto;
+
+/**
+ * Number of loan applications in one status, read with a grouped count
+ */
+public record StatusCount(String status, Long count) {
+}
@@ -1,9 +1,17 @@
 package com.adminapplicationmaster.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 import com.adminapplicationmaster.domain.entity.Address;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface AddressRepository extends JpaRepository<Address, Long> {
-}
\ No newline at end of file
+
+    Optional<Address> findByNormalizedHash(String normalizedHash);
+
+    List<Address> findByNormalizedHashIn(Collection<String> normalizedHashes);
+}
@@ -1,9 +1,29 @@
 package com.adminapplicationmaster.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 import com.adminapplicationmaster.domain.entity.ApplicationDecision;
+import com.adminapplicationmaster.dto.LatestDecision;
+
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ApplicationDecisionRepository extends JpaRepository<ApplicationDecision, Long> {
-}
\ No newline at end of file
+
+    // A decision returned as a response body; it may be serialised after the session is gone (decision jobs)
+    @EntityGraph(attributePaths = {"loanApplication", "loanApplication.address", "loanApplication.applicationDecisions"})
+    Optional<ApplicationDecision> findWithApplicationById(Long id);
+
+    // Decision and timestamp only - the encrypted request/response columns are never read
+    @Query("SELECT new com.adminapplicationmaster.dto.LatestDecision("
+            + "d.loanApplication.id, d.decision, d.createdAt) FROM ApplicationDecision d "
+            + "WHERE d.id IN (SELECT MAX(d2.id) FROM ApplicationDecision d2 "
+            + "WHERE d2.loanApplication.id IN :loanApplicationIds GROUP BY d2.loanApplication.id)")
+    List<LatestDecision> findLatestDecisions(@Param("loanApplicationIds") Collection<Long> loanApplicationIds);
+}
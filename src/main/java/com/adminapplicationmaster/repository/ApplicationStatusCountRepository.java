@@ -0,0 +1,18 @@
+package com.adminapplicationmaster.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.adminapplicationmaster.domain.entity.ApplicationStatusCount;
+
+@Repository
+public interface ApplicationStatusCountRepository extends JpaRepository<ApplicationStatusCount, ApplicationStatusCount.Key> {
+
+    List<ApplicationStatusCount> findByNodeId(String nodeId);
+
+    // Seeds a node that has never checkpointed with the newest checkpoint of any other node
+    Optional<ApplicationStatusCount> findFirstByOrderByCheckpointedAtDesc();
+}
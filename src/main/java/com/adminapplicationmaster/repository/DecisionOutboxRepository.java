@@ -0,0 +1,45 @@
+package com.adminapplicationmaster.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.adminapplicationmaster.domain.entity.DecisionOutboxEntry;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface DecisionOutboxRepository extends JpaRepository<DecisionOutboxEntry, Long> {
+
+    /**
+     * Lock up to limit due entries (or entries whose worker lease expired).
+     * Rows locked by another node are skipped rather than waited on, so workers never block each other.
+     * Must run inside a transaction.
+     */
+    @Query(value = "SELECT * FROM decision_outbox "
+            + "WHERE (status = 'PENDING' AND next_attempt_at <= :now) "
+            + "OR (status = 'PROCESSING' AND locked_until < :now) "
+            + "ORDER BY next_attempt_at "
+            + "LIMIT :limit "
+            + "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<DecisionOutboxEntry> lockDueEntries(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Re-read an entry under a row lock so a worker can confirm it still owns it before writing
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM DecisionOutboxEntry e WHERE e.id = :id")
+    Optional<DecisionOutboxEntry> findByIdForUpdate(@Param("id") Long id);
+
+    Optional<DecisionOutboxEntry> findFirstByLoanApplicationIdAndStatusIn(Long loanApplicationId,
+                                                                         Collection<DecisionOutboxEntry.Status> statuses);
+
+    long countByStatus(DecisionOutboxEntry.Status status);
+}
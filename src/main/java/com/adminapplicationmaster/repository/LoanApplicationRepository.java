@@ -1,26 +1,90 @@
 package com.adminapplicationmaster.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import org.springframework.transaction.annotation.Transactional;
 
 import com.adminapplicationmaster.domain.entity.LoanApplication;
+import com.adminapplicationmaster.dto.LoanApplicationSummary;
+import com.adminapplicationmaster.dto.RecentApplication;
+import com.adminapplicationmaster.dto.StatusCount;
 
 @Repository
 public interface LoanApplicationRepository extends JpaRepository<LoanApplication, Long> {
+    // A single application is loaded for display or a decision, both of which need the address and decisions
+    @Override
+    @EntityGraph(LoanApplication.DETAIL)
+    Optional<LoanApplication> findById(Long id);
+
+    // Entity pages join the address; decisions are batch-fetched only if something reads them
+    @Override
+    @EntityGraph(LoanApplication.WITH_ADDRESS)
+    Page<LoanApplication> findAll(Pageable pageable);
+
+    @EntityGraph(LoanApplication.WITH_ADDRESS)
     Page<LoanApplication> findByStatusIn(List<String> statuses, Pageable pageable);
 
+    @EntityGraph(LoanApplication.WITH_ADDRESS)
     Page<LoanApplication> findByStatus(String status, Pageable pageable);
 
-    @Modifying
-    @Transactional
-    @Query(value = "UPDATE loan_applications SET ssn = :ssn WHERE id = :id", nativeQuery = true)
-    void updateSsnById(@Param("id") Long id, @Param("ssn") String ssn);
+    @Query("SELECT la FROM LoanApplication la JOIN FETCH la.address WHERE la.id IN :ids")
+    List<LoanApplication> findWithAddressByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT la FROM LoanApplication la JOIN FETCH la.address WHERE la.status = :status ORDER BY la.id")
+    List<LoanApplication> findWithAddressByStatus(@Param("status") String status, Pageable pageable);
+
+    String SUMMARY_SELECT = "SELECT new com.adminapplicationmaster.dto.LoanApplicationSummary("
+            + "la.id, la.firstName, la.lastName, la.email, la.phone, la.status, la.requestedLoanAmount, la.createdAt) "
+            + "FROM LoanApplication la ";
+
+    String NEWEST_FIRST = " ORDER BY la.createdAt DESC, la.id DESC";
+
+    @Query(value = SUMMARY_SELECT, countQuery = "SELECT COUNT(la) FROM LoanApplication la")
+    Page<LoanApplicationSummary> findSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE la.status = :status",
+            countQuery = "SELECT COUNT(la) FROM LoanApplication la WHERE la.status = :status")
+    Page<LoanApplicationSummary> findSummariesByStatus(@Param("status") String status, Pageable pageable);
+
+    // Keyset pages, newest first; each seeks on the (created_at, id) indexes instead of skipping OFFSET rows
+    @Query(SUMMARY_SELECT + NEWEST_FIRST)
+    List<LoanApplicationSummary> findNewestSummaries(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE (la.createdAt, la.id) < (:createdAt, :id)" + NEWEST_FIRST)
+    List<LoanApplicationSummary> findNewestSummariesBefore(@Param("createdAt") LocalDateTime createdAt,
+                                                           @Param("id") Long id, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE la.status = :status" + NEWEST_FIRST)
+    List<LoanApplicationSummary> findNewestSummariesByStatus(@Param("status") String status, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE la.status = :status AND (la.createdAt, la.id) < (:createdAt, :id)" + NEWEST_FIRST)
+    List<LoanApplicationSummary> findNewestSummariesByStatusBefore(@Param("status") String status,
+                                                                   @Param("createdAt") LocalDateTime createdAt,
+                                                                   @Param("id") Long id, Pageable pageable);
+
+    long countByStatus(String status);
+
+    // Every status in one pass; the total is the sum of the groups
+    @Query("SELECT new com.adminapplicationmaster.dto.StatusCount(la.status, COUNT(la)) "
+            + "FROM LoanApplication la GROUP BY la.status")
+    List<StatusCount> countGroupedByStatus();
+
+    @Query("SELECT new com.adminapplicationmaster.dto.RecentApplication("
+            + "la.id, la.firstName, la.lastName, la.email, la.phone, la.status, la.requestedLoanAmount, la.createdAt) "
+            + "FROM LoanApplication la" + NEWEST_FIRST)
+    List<RecentApplication> findRecentApplications(Pageable limit);
+
+    @Query("SELECT new com.adminapplicationmaster.dto.RecentApplication("
+            + "la.id, la.firstName, la.lastName, la.email, la.phone, la.status, la.requestedLoanAmount, la.createdAt) "
+            + "FROM LoanApplication la WHERE la.id IN :ids" + NEWEST_FIRST)
+    List<RecentApplication> findRecentApplicationsByIdIn(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.adminapplicationmaster.resilience;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps the number of threads that can be inside calls to one dependency at the same time
+ */
+public class Bulkhead {
+
+    private final DependencyGuardProperties properties;
+    private final Semaphore permits;
+    private final LongAdder rejectedCalls = new LongAdder();
+
+    public Bulkhead(DependencyGuardProperties properties) {
+        this.properties = properties;
+        this.permits = new Semaphore(properties.getMaxConcurrentCalls());
+    }
+
+    public boolean tryAcquire() {
+        boolean acquired;
+        try {
+            acquired = properties.getMaxWait().isZero()
+                    ? permits.tryAcquire()
+                    : permits.tryAcquire(properties.getMaxWait().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejectedCalls.increment();
+        }
+        return acquired;
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("maxConcurrentCalls", properties.getMaxConcurrentCalls());
+        snapshot.put("availableConcurrentCalls", permits.availablePermits());
+        snapshot.put("rejectedCalls", rejectedCalls.sum());
+        return snapshot;
+    }
+}
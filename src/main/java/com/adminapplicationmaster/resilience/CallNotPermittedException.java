@@ -0,0 +1,11 @@
+package com.adminapplicationmaster.resilience;
+
+/**
+ * Thrown instead of calling a dependency whose circuit breaker is open or whose bulkhead is full
+ */
+public class CallNotPermittedException extends RuntimeException {
+
+    public CallNotPermittedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,163 @@
+package com.adminapplicationmaster.resilience;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker.
+ * CLOSED: calls pass and their outcomes are kept in a ring buffer of the last N calls.
+ * OPEN: calls are rejected until the wait duration has elapsed.
+ * HALF_OPEN: a few trial calls pass; their outcomes decide between CLOSED and OPEN.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final DependencyGuardProperties properties;
+    private final LongSupplier nanoClock;
+
+    private final boolean[] failedCalls;
+    private final boolean[] slowCalls;
+    private int nextIndex;
+    private int bufferedCalls;
+    private int failedInWindow;
+    private int slowInWindow;
+
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private int halfOpenInFlight;
+
+    private long notPermittedCalls;
+    private long stateTransitions;
+
+    public CircuitBreaker(String name, DependencyGuardProperties properties) {
+        this(name, properties, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, DependencyGuardProperties properties, LongSupplier nanoClock) {
+        this.name = name;
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+        this.failedCalls = new boolean[properties.getSlidingWindowSize()];
+        this.slowCalls = new boolean[properties.getSlidingWindowSize()];
+    }
+
+    /**
+     * Ask to make a call. Every permitted call must be followed by onResult or releasePermission.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAtNanos < properties.getWaitDurationInOpenState().toNanos()) {
+                notPermittedCalls++;
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenInFlight >= properties.getPermittedCallsInHalfOpenState()) {
+                notPermittedCalls++;
+                return false;
+            }
+            halfOpenInFlight++;
+        }
+        return true;
+    }
+
+    /**
+     * Give back a permission that was not used for a call
+     */
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN && halfOpenInFlight > 0) {
+            halfOpenInFlight--;
+        }
+    }
+
+    public synchronized void onResult(boolean failed, long durationNanos) {
+        if (state == State.OPEN) {
+            // Call started before the breaker opened
+            return;
+        }
+
+        record(failed, durationNanos >= properties.getSlowCallDuration().toNanos());
+
+        if (state == State.HALF_OPEN) {
+            if (bufferedCalls >= properties.getPermittedCallsInHalfOpenState()) {
+                transitionTo(isOverThreshold() ? State.OPEN : State.CLOSED);
+            }
+        } else if (bufferedCalls >= Math.min(properties.getMinimumCalls(), failedCalls.length) && isOverThreshold()) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private void record(boolean failed, boolean slow) {
+        if (bufferedCalls == failedCalls.length) {
+            if (failedCalls[nextIndex]) {
+                failedInWindow--;
+            }
+            if (slowCalls[nextIndex]) {
+                slowInWindow--;
+            }
+        } else {
+            bufferedCalls++;
+        }
+
+        failedCalls[nextIndex] = failed;
+        slowCalls[nextIndex] = slow;
+        if (failed) {
+            failedInWindow++;
+        }
+        if (slow) {
+            slowInWindow++;
+        }
+        nextIndex = (nextIndex + 1) % failedCalls.length;
+    }
+
+    private boolean isOverThreshold() {
+        return failureRate() >= properties.getFailureRateThreshold()
+                || slowCallRate() >= properties.getSlowCallRateThreshold();
+    }
+
+    private float failureRate() {
+        return bufferedCalls == 0 ? 0 : failedInWindow * 100f / bufferedCalls;
+    }
+
+    private float slowCallRate() {
+        return bufferedCalls == 0 ? 0 : slowInWindow * 100f / bufferedCalls;
+    }
+
+    private void transitionTo(State newState) {
+        state = newState;
+        stateTransitions++;
+        halfOpenInFlight = 0;
+        nextIndex = 0;
+        bufferedCalls = 0;
+        failedInWindow = 0;
+        slowInWindow = 0;
+        if (newState == State.OPEN) {
+            openedAtNanos = nanoClock.getAsLong();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("state", state);
+        snapshot.put("failureRate", failureRate());
+        snapshot.put("slowCallRate", slowCallRate());
+        snapshot.put("bufferedCalls", bufferedCalls);
+        snapshot.put("failedCalls", failedInWindow);
+        snapshot.put("slowCalls", slowInWindow);
+        snapshot.put("notPermittedCalls", notPermittedCalls);
+        snapshot.put("stateTransitions", stateTransitions);
+        return snapshot;
+    }
+}
@@ -0,0 +1,69 @@
+package com.adminapplicationmaster.resilience;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Circuit breaker plus bulkhead in front of one downstream service.
+ * Calls that are not permitted fail immediately with CallNotPermittedException.
+ */
+public class DependencyGuard {
+
+    private final String name;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    public DependencyGuard(String name, DependencyGuardProperties properties) {
+        this.name = name;
+        this.circuitBreaker = new CircuitBreaker(name, properties);
+        this.bulkhead = new Bulkhead(properties);
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            throw new CallNotPermittedException(name + " circuit breaker is " + circuitBreaker.getState());
+        }
+        if (!bulkhead.tryAcquire()) {
+            circuitBreaker.releasePermission();
+            throw new CallNotPermittedException(name + " bulkhead is full");
+        }
+
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            circuitBreaker.onResult(false, System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException | Error e) {
+            // Errors too, or a HALF_OPEN trial that threw one would hold its permission forever
+            circuitBreaker.onResult(isFailure(e), System.nanoTime() - start);
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * 4xx responses mean the dependency is up and rejected our request, so they do not count against it
+     */
+    private boolean isFailure(Throwable e) {
+        return !(e instanceof HttpClientErrorException);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("circuitBreaker", circuitBreaker.snapshot());
+        snapshot.put("bulkhead", bulkhead.snapshot());
+        return snapshot;
+    }
+}
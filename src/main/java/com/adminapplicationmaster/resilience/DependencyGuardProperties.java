@@ -0,0 +1,36 @@
+package com.adminapplicationmaster.resilience;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+/**
+ * Circuit breaker and bulkhead settings for one downstream dependency
+ */
+@Data
+public class DependencyGuardProperties {
+
+    // Circuit breaker: open when this percentage of calls in the window failed
+    private int failureRateThreshold = 50;
+
+    // Circuit breaker: open when this percentage of calls in the window took longer than slowCallDuration
+    private int slowCallRateThreshold = 80;
+
+    private Duration slowCallDuration = Duration.ofSeconds(5);
+
+    // Number of most recent calls the rates are computed over
+    private int slidingWindowSize = 20;
+
+    // Rates are not evaluated until at least this many calls are in the window
+    private int minimumCalls = 10;
+
+    private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+
+    // Trial calls let through while half-open before deciding to close or re-open
+    private int permittedCallsInHalfOpenState = 3;
+
+    // Bulkhead: maximum concurrent calls and how long a caller may wait for a slot
+    private int maxConcurrentCalls = 20;
+
+    private Duration maxWait = Duration.ZERO;
+}
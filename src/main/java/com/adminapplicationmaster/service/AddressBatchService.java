@@ -0,0 +1,269 @@
+package com.adminapplicationmaster.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import com.adminapplicationmaster.domain.entity.Address;
+import com.adminapplicationmaster.dto.BulkAddressCheckRequest;
+import com.adminapplicationmaster.dto.LocationAnswer;
+import com.adminapplicationmaster.util.AddressNormalizer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Checks a list of addresses against the location service.
+ * Inputs that normalise to the same address are looked up once, cached answers are used without
+ * a remote call and the rest are fanned out with a bounded number in flight. One NDJSON line per
+ * input is streamed back in input order; eligible addresses are saved with one batched insert per flush,
+ * except provisional answers, which are returned without being saved.
+ */
+@Service
+@Slf4j
+public class AddressBatchService {
+
+    // How long to wait for another answer before writing the lines that are already in order
+    private static final long FLUSH_INTERVAL_MILLIS = 200;
+
+    /**
+     * One distinct address in the batch. The answer is completed by a worker and only read through
+     * its future, which publishes it safely to the thread writing the lines.
+     */
+    private static final class Lookup {
+        private final Object address;
+        private final String key;
+        private final CompletableFuture<LocationAnswer> answer = new CompletableFuture<>();
+        // Only touched by the thread running the batch
+        private Address saved;
+
+        private Lookup(Object address, String key) {
+            this.address = address;
+            this.key = key;
+        }
+
+        private boolean isAnswered() {
+            return answer.isDone();
+        }
+
+        private LocationAnswer answer() {
+            return answer.join();
+        }
+    }
+
+    private final LocationService locationService;
+    private final AddressEligibilityCache addressEligibilityCache;
+    private final AddressService addressService;
+    private final ExecutorService executor;
+    private final ObjectMapper objectMapper;
+
+    @Value("${location.batch.max-in-flight:8}")
+    private int maxInFlight;
+
+    @Value("${location.batch.max-size:1000}")
+    private int maxSize;
+
+    @Value("${location.batch.timeout:PT10M}")
+    private Duration timeout;
+
+    public AddressBatchService(LocationService locationService,
+                               AddressEligibilityCache addressEligibilityCache,
+                               AddressService addressService,
+                               @Qualifier("decisionJobExecutor") ExecutorService executor,
+                               ObjectMapper objectMapper) {
+        this.locationService = locationService;
+        this.addressEligibilityCache = addressEligibilityCache;
+        this.addressService = addressService;
+        this.executor = executor;
+        this.objectMapper = objectMapper;
+    }
+
+    public void validate(BulkAddressCheckRequest request) {
+        if (request.getAddresses() == null || request.getAddresses().isEmpty()) {
+            throw new IllegalArgumentException("Addresses parameter is required");
+        }
+        if (request.getAddresses().size() > maxSize) {
+            throw new IllegalArgumentException("At most " + maxSize + " addresses can be checked at once");
+        }
+    }
+
+    /**
+     * Run the lookups on a background thread, writing one JSON line per input address to the returned emitter
+     */
+    public ResponseBodyEmitter stream(List<Object> addresses) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeout.toMillis());
+        executor.execute(() -> {
+            try {
+                run(addresses, emitter);
+                emitter.complete();
+            } catch (Exception e) {
+                log.error("Batch address check failed", e);
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    void run(List<Object> addresses, ResponseBodyEmitter emitter) throws Exception {
+        // Inputs that normalise to the same key share a lookup; inputs without a key are never merged
+        Map<String, Lookup> lookupsByKey = new LinkedHashMap<>();
+        List<Lookup> inputs = new ArrayList<>(addresses.size());
+        List<Lookup> remote = new ArrayList<>();
+        for (Object address : addresses) {
+            String key = AddressNormalizer.normalize(address);
+            Lookup lookup = key == null ? null : lookupsByKey.get(key);
+            if (lookup == null) {
+                lookup = new Lookup(address, key);
+                if (key != null) {
+                    lookupsByKey.put(key, lookup);
+                }
+                resolveLocally(lookup, remote);
+            }
+            inputs.add(lookup);
+        }
+
+        log.info("Batch address check started for {} addresses ({} distinct, {} remote lookups)",
+                inputs.size(), lookupsByKey.size(), remote.size());
+
+        ExecutorCompletionService<Lookup> completions = new ExecutorCompletionService<>(executor);
+        int submitted = 0;
+        int running = 0;
+        int written = 0;
+        while (submitted < remote.size() || running > 0) {
+            while (running < maxInFlight && submitted < remote.size()) {
+                Lookup lookup = remote.get(submitted++);
+                completions.submit(() -> {
+                    lookup.answer.complete(lookup(lookup.address));
+                    return lookup;
+                });
+                running++;
+            }
+
+            Future<Lookup> done = completions.poll(FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            if (done != null) {
+                running--;
+                done.get();
+            }
+            written = flush(inputs, written, emitter);
+        }
+        flush(inputs, written, emitter);
+
+        log.info("Batch address check finished for {} addresses", addresses.size());
+    }
+
+    /**
+     * Answer from the eligibility cache or reject the input outright; anything else needs a remote lookup
+     */
+    private void resolveLocally(Lookup lookup, List<Lookup> remote) {
+        if (lookup.address == null) {
+            lookup.answer.complete(LocationAnswer.failure(400, "Address parameter is required"));
+            return;
+        }
+        ResponseEntity<String> cached = lookup.key == null ? null : addressEligibilityCache.get(lookup.key);
+        if (cached != null) {
+            lookup.answer.complete(interpret(cached));
+            return;
+        }
+        remote.add(lookup);
+    }
+
+    private LocationAnswer lookup(Object address) {
+        try {
+            return interpret(locationService.getAddressInfo(address));
+        } catch (Exception e) {
+            log.error("Error in location service call", e);
+            return LocationAnswer.failure(500, "Error processing address: " + e.getMessage());
+        }
+    }
+
+    private LocationAnswer interpret(ResponseEntity<String> response) {
+        try {
+            return LocationAnswer.of(response, objectMapper);
+        } catch (Exception e) {
+            log.error("Error processing location service response", e);
+            return LocationAnswer.failure(500, "Error processing address: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Write every input from {@code from} up to the first one still waiting on a lookup,
+     * saving the eligible addresses among them first. Returns the index of the next input to write.
+     */
+    private int flush(List<Lookup> inputs, int from, ResponseBodyEmitter emitter) throws Exception {
+        int to = from;
+        while (to < inputs.size() && inputs.get(to).isAnswered()) {
+            to++;
+        }
+        if (to == from) {
+            return from;
+        }
+
+        List<Lookup> ready = inputs.subList(from, to);
+        String writeError = save(ready);
+        for (int i = from; i < to; i++) {
+            emitter.send(objectMapper.writeValueAsString(toResult(i, inputs.get(i), writeError)) + "\n");
+        }
+        return to;
+    }
+
+    private String save(List<Lookup> ready) {
+        List<Lookup> unsaved = ready.stream()
+                .filter(lookup -> lookup.answer().isEligible() && !lookup.answer().isProvisional() && lookup.saved == null)
+                .distinct()
+                .toList();
+        if (unsaved.isEmpty()) {
+            return null;
+        }
+
+        try {
+            Map<String, Address> stored = addressService.findOrCreateAll(
+                    unsaved.stream().map(lookup -> lookup.answer().getAddress()).toList());
+            for (Lookup lookup : unsaved) {
+                lookup.saved = stored.get(AddressNormalizer.hash(lookup.answer().getAddress()));
+            }
+            return null;
+        } catch (Exception e) {
+            log.error("Failed to save {} addresses", unsaved.size(), e);
+            return "Failed to save address: " + e.getMessage();
+        }
+    }
+
+    private Map<String, Object> toResult(int index, Lookup lookup, String writeError) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("index", index);
+
+        LocationAnswer answer = lookup.answer();
+        if (!answer.isEligible()) {
+            result.put("httpStatus", answer.getHttpStatus());
+            result.put("message", answer.getMessage());
+        } else if (answer.isProvisional()) {
+            // Not saved until the location service confirms it
+            result.put("httpStatus", 200);
+            result.put("address", AddressService.toResponse(answer.getAddress()));
+        } else if (lookup.saved == null) {
+            result.put("httpStatus", 500);
+            result.put("message", writeError != null ? writeError : "Failed to save address");
+        } else {
+            result.put("httpStatus", 200);
+            // Written off the request thread, so leave out the lazy loanApplications collection
+            result.put("address", AddressService.toResponse(lookup.saved));
+        }
+        if (answer.isProvisional()) {
+            result.put("provisional", true);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,190 @@
+package com.adminapplicationmaster.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.adminapplicationmaster.domain.entity.Address;
+import com.adminapplicationmaster.util.AddressNormalizer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Background job that fills in normalized_hash for addresses stored before it existed and merges duplicates.
+ * Addresses are walked in id order in batches; in each batch, loan applications pointing at a duplicate
+ * are re-pointed to the surviving row and the duplicate is deleted, in one transaction, together with the
+ * analytics rollup moves for the re-pointed applications.
+ */
+@Service
+@Slf4j
+public class AddressDeduplicationService {
+
+    private static final String SELECT_UNHASHED_SQL =
+            "SELECT id, street, unit_number, city, state, zip FROM addresses "
+            + "WHERE normalized_hash IS NULL AND id > ? ORDER BY id LIMIT ?";
+
+    // Bumps the version so a concurrent edit of a re-pointed application fails instead of restoring the duplicate
+    private static final String REPOINT_APPLICATIONS_SQL =
+            "UPDATE loan_applications SET address_id = ?, lock_version = lock_version + 1 WHERE address_id = ?";
+
+    private static final String DELETE_ADDRESS_SQL = "DELETE FROM addresses WHERE id = ?";
+
+    private static final String SET_HASH_SQL = "UPDATE addresses SET normalized_hash = ? WHERE id = ?";
+
+    private record Row(long id, String hash) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationRollupService applicationRollupService;
+
+    @Value("${address.dedup.batch-size:500}")
+    private int batchSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong scanned = new AtomicLong();
+    private final AtomicLong hashed = new AtomicLong();
+    private final AtomicLong merged = new AtomicLong();
+    private volatile LocalDateTime lastStartedAt;
+    private volatile LocalDateTime lastFinishedAt;
+
+    public AddressDeduplicationService(JdbcTemplate jdbcTemplate,
+                                       TransactionTemplate transactionTemplate,
+                                       ApplicationRollupService applicationRollupService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.applicationRollupService = applicationRollupService;
+    }
+
+    /**
+     * Start a run in the background. Returns false if one is already running.
+     */
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread.ofVirtual().name("address-dedup").start(this::runGuarded);
+        return true;
+    }
+
+    @Scheduled(cron = "${address.dedup.cron:-}")
+    public void scheduledRun() {
+        start();
+    }
+
+    private void runGuarded() {
+        try {
+            run();
+        } catch (Exception e) {
+            log.error("Address de-duplication failed", e);
+        } finally {
+            lastFinishedAt = LocalDateTime.now();
+            running.set(false);
+        }
+    }
+
+    void run() {
+        lastStartedAt = LocalDateTime.now();
+        scanned.set(0);
+        hashed.set(0);
+        merged.set(0);
+        log.info("Address de-duplication started");
+
+        long lastId = 0;
+        while (true) {
+            List<Row> rows = jdbcTemplate.query(SELECT_UNHASHED_SQL, (rs, rowNum) -> new Row(
+                    rs.getLong("id"),
+                    AddressNormalizer.hash(Address.builder()
+                            .street(rs.getString("street"))
+                            .unitNumber(rs.getString("unit_number"))
+                            .city(rs.getString("city"))
+                            .state(rs.getString("state"))
+                            .zip(rs.getString("zip"))
+                            .build())),
+                    lastId, batchSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            lastId = rows.get(rows.size() - 1).id();
+            scanned.addAndGet(rows.size());
+            transactionTemplate.executeWithoutResult(status -> mergeBatch(rows));
+        }
+
+        log.info("Address de-duplication finished: {} scanned, {} hashed, {} merged",
+                scanned.get(), hashed.get(), merged.get());
+    }
+
+    private void mergeBatch(List<Row> rows) {
+        Map<String, Long> survivors = findExisting(rows.stream()
+                .map(Row::hash)
+                .filter(hash -> hash != null)
+                .distinct()
+                .toList());
+
+        List<Object[]> hashUpdates = new ArrayList<>();
+        Map<Long, Long> survivorByDuplicate = new LinkedHashMap<>();
+        List<Object[]> repoints = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        for (Row row : rows) {
+            if (row.hash() == null) {
+                continue;
+            }
+            Long survivor = survivors.putIfAbsent(row.hash(), row.id());
+            if (survivor == null) {
+                hashUpdates.add(new Object[] {row.hash(), row.id()});
+            } else {
+                survivorByDuplicate.put(row.id(), survivor);
+                repoints.add(new Object[] {survivor, row.id()});
+                deletes.add(new Object[] {row.id()});
+            }
+        }
+
+        jdbcTemplate.batchUpdate(SET_HASH_SQL, hashUpdates);
+        if (!survivorByDuplicate.isEmpty()) {
+            applicationRollupService.queueAddressMoves(survivorByDuplicate);
+        }
+        jdbcTemplate.batchUpdate(REPOINT_APPLICATIONS_SQL, repoints);
+        jdbcTemplate.batchUpdate(DELETE_ADDRESS_SQL, deletes);
+
+        hashed.addAndGet(hashUpdates.size());
+        merged.addAndGet(deletes.size());
+    }
+
+    // Rows already carrying one of these hashes (inserted after the column existed, or in an earlier batch)
+    private Map<String, Long> findExisting(List<String> hashes) {
+        if (hashes.isEmpty()) {
+            return new HashMap<>();
+        }
+        String placeholders = String.join(",", Collections.nCopies(hashes.size(), "?"));
+        Map<String, Long> existing = new HashMap<>();
+        jdbcTemplate.query("SELECT id, normalized_hash FROM addresses WHERE normalized_hash IN (" + placeholders + ")",
+                rs -> {
+                    existing.put(rs.getString("normalized_hash"), rs.getLong("id"));
+                }, hashes.toArray());
+        return existing;
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("running", running.get());
+        snapshot.put("lastStartedAt", lastStartedAt);
+        snapshot.put("lastFinishedAt", lastFinishedAt);
+        snapshot.put("scanned", scanned.get());
+        snapshot.put("hashed", hashed.get());
+        snapshot.put("merged", merged.get());
+        return snapshot;
+    }
+}
@@ -0,0 +1,157 @@
+package com.adminapplicationmaster.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Location service answers keyed by normalised address (see AddressNormalizer).
+ * Caffeine's W-TinyLFU eviction keeps frequently looked-up addresses when the cache is full.
+ * Each outcome has its own TTL: eligibility rarely changes, a not-found may just be a typo being fixed.
+ */
+@Component
+public class AddressEligibilityCache {
+
+    public enum Outcome { ELIGIBLE, INELIGIBLE, NOT_FOUND }
+
+    private record Entry(int status, String body, Outcome outcome) {
+    }
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final Cache<String, Entry> entries;
+    private final boolean enabled;
+    private final Duration eligibleTtl;
+    private final Duration ineligibleTtl;
+    private final Duration notFoundTtl;
+
+    public AddressEligibilityCache(@Value("${location.cache.enabled:true}") boolean enabled,
+                                   @Value("${location.cache.eligible-ttl:PT24H}") Duration eligibleTtl,
+                                   @Value("${location.cache.ineligible-ttl:PT6H}") Duration ineligibleTtl,
+                                   @Value("${location.cache.not-found-ttl:PT10M}") Duration notFoundTtl,
+                                   @Value("${location.cache.max-size:50000}") long maxSize) {
+        this.enabled = enabled;
+        this.eligibleTtl = eligibleTtl;
+        this.ineligibleTtl = ineligibleTtl;
+        this.notFoundTtl = notFoundTtl;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        return ttlFor(entry.outcome()).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return ttlFor(entry.outcome()).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Cached response for a normalised address, or null
+     */
+    public ResponseEntity<String> get(String addressKey) {
+        if (!enabled || addressKey == null) {
+            return null;
+        }
+        Entry entry = entries.getIfPresent(addressKey);
+        return entry != null ? ResponseEntity.status(entry.status()).body(entry.body()) : null;
+    }
+
+    /**
+     * Remember a location service response. Errors and unrecognised answers are not cached.
+     */
+    public void put(String addressKey, ResponseEntity<String> response) {
+        if (!enabled || addressKey == null || response == null) {
+            return;
+        }
+        Outcome outcome = classify(response);
+        if (outcome != null) {
+            entries.put(addressKey, new Entry(response.getStatusCode().value(), response.getBody(), outcome));
+        }
+    }
+
+    static Outcome classify(ResponseEntity<String> response) {
+        if (response.getStatusCode().value() == 404) {
+            return Outcome.NOT_FOUND;
+        }
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            return null;
+        }
+
+        String message = readMessage(response.getBody());
+        if ("address_eligible".equals(message)) {
+            return Outcome.ELIGIBLE;
+        } else if ("address not eligible".equals(message)) {
+            return Outcome.INELIGIBLE;
+        } else if ("Address Not found".equals(message)) {
+            return Outcome.NOT_FOUND;
+        }
+        return null;
+    }
+
+    private Duration ttlFor(Outcome outcome) {
+        return switch (outcome) {
+            case ELIGIBLE -> eligibleTtl;
+            case INELIGIBLE -> ineligibleTtl;
+            case NOT_FOUND -> notFoundTtl;
+        };
+    }
+
+    // Top-level "message" field of the location service response
+    private static String readMessage(String body) {
+        if (body == null || body.isEmpty()) {
+            return null;
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("message".equals(field)) {
+                    return value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    public Map<String, Object> snapshot() {
+        CacheStats stats = entries.stats();
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("enabled", enabled);
+        snapshot.put("size", entries.estimatedSize());
+        snapshot.put("hits", stats.hitCount());
+        snapshot.put("misses", stats.missCount());
+        snapshot.put("hitRate", stats.hitRate());
+        snapshot.put("evictions", stats.evictionCount());
+        return snapshot;
+    }
+}
@@ -0,0 +1,124 @@
+package com.adminapplicationmaster.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.adminapplicationmaster.domain.entity.Address;
+import com.adminapplicationmaster.repository.AddressRepository;
+import com.adminapplicationmaster.util.AddressNormalizer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stores addresses once per normalised form instead of inserting a row per lookup
+ */
+@Service
+@Slf4j
+public class AddressService {
+
+    // Rows another request inserted first are left alone and picked up by the re-read
+    private static final String INSERT_ADDRESS_SQL =
+            "INSERT INTO addresses (street, unit_number, city, state, zip, county, normalized_hash, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT (normalized_hash) DO NOTHING";
+
+    private final AddressRepository addressRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public AddressService(AddressRepository addressRepository, JdbcTemplate jdbcTemplate) {
+        this.addressRepository = addressRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Return the stored row for this address, inserting it if it is new
+     */
+    public Address findOrCreate(Address address) {
+        String hash = AddressNormalizer.hash(address);
+        if (hash == null) {
+            return addressRepository.save(address);
+        }
+
+        return addressRepository.findByNormalizedHash(hash).orElseGet(() -> {
+            try {
+                return addressRepository.save(address);
+            } catch (DataIntegrityViolationException e) {
+                // Inserted concurrently; the unique index on normalized_hash kept a single row
+                log.debug("Address with hash {} inserted concurrently, reusing existing row", hash);
+                return addressRepository.findByNormalizedHash(hash).orElseThrow(() -> e);
+            }
+        });
+    }
+
+    /**
+     * Same as {@link #findOrCreate(Address)} for many addresses: one lookup, one batched insert
+     * of the new ones and one re-read. Returns the stored rows keyed by normalised hash.
+     */
+    public Map<String, Address> findOrCreateAll(List<Address> addresses) {
+        Map<String, Address> byHash = new LinkedHashMap<>();
+        for (Address address : addresses) {
+            String hash = AddressNormalizer.hash(address);
+            if (hash != null) {
+                byHash.putIfAbsent(hash, address);
+            }
+        }
+        if (byHash.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, Address> stored = addressRepository.findByNormalizedHashIn(byHash.keySet()).stream()
+                .collect(Collectors.toMap(Address::getNormalizedHash, Function.identity(), (first, second) -> first));
+
+        List<Map.Entry<String, Address>> missing = new ArrayList<>();
+        for (Map.Entry<String, Address> entry : byHash.entrySet()) {
+            if (!stored.containsKey(entry.getKey())) {
+                missing.add(entry);
+            }
+        }
+        if (missing.isEmpty()) {
+            return stored;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_ADDRESS_SQL, missing, missing.size(), (ps, entry) -> {
+            Address address = entry.getValue();
+            ps.setString(1, address.getStreet());
+            ps.setString(2, address.getUnitNumber());
+            ps.setString(3, address.getCity());
+            ps.setString(4, address.getState());
+            ps.setString(5, address.getZip());
+            ps.setString(6, address.getCounty());
+            ps.setString(7, entry.getKey());
+            ps.setTimestamp(8, now);
+            ps.setTimestamp(9, now);
+        });
+
+        log.debug("Inserted up to {} new addresses", missing.size());
+        return addressRepository.findByNormalizedHashIn(byHash.keySet()).stream()
+                .collect(Collectors.toMap(Address::getNormalizedHash, Function.identity(), (first, second) -> first));
+    }
+
+    /**
+     * Address fields as returned by the API, without the lazy loanApplications collection
+     */
+    public static Map<String, Object> toResponse(Address address) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("id", address.getId());
+        fields.put("street", address.getStreet());
+        fields.put("unitNumber", address.getUnitNumber());
+        fields.put("city", address.getCity());
+        fields.put("state", address.getState());
+        fields.put("zip", address.getZip());
+        fields.put("county", address.getCounty());
+        return fields;
+    }
+}
@@ -0,0 +1,274 @@
+package com.adminapplicationmaster.service;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.adminapplicationmaster.domain.event.LoanApplicationRollupChanged;
+import com.adminapplicationmaster.dto.RollupBucket;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains application_rollups, the per day, status, state and county application counts and
+ * requested-amount sums behind the dashboard charts, and answers drilldown queries from it.
+ * Each change queues its moves (out of the old bucket, into the new one) in application_rollup_deltas
+ * in the transaction that saved it; that is an append, so saving applications never waits on a bucket row.
+ * The queued moves are folded into the rollups every apply-interval, so queries only ever read the
+ * (small) rollup table and lag the applications by at most that long.
+ * Folding and rebuilding both start by updating the single application_rollup_state row,
+ * so only one of them runs at a time across all nodes.
+ */
+@Service
+@Slf4j
+public class ApplicationRollupService {
+
+    // Allowed groupBy values, in the order their columns are returned
+    public static final List<String> DIMENSIONS = List.of("day", "status", "state", "county");
+
+    // State and county are read when the change is saved, so a move out of a bucket matches the move into it
+    private static final String QUEUE_SQL =
+            "INSERT INTO application_rollup_deltas (day, status, state, county, application_count, requested_amount) "
+            + "SELECT ?, ?, COALESCE(UPPER(TRIM(a.state)), ''), COALESCE(TRIM(a.county), ''), ?, ? "
+            + "FROM (SELECT 1) AS one LEFT JOIN addresses a ON a.id = ?";
+
+    // Out of the buckets of the address the applications point at, or into those of the one replacing it
+    private static final String QUEUE_ADDRESS_MOVE_SQL =
+            "INSERT INTO application_rollup_deltas (day, status, state, county, application_count, requested_amount) "
+            + "SELECT CAST(la.created_at AS DATE), COALESCE(la.status, ''), "
+            + "COALESCE(UPPER(TRIM(a.state)), ''), COALESCE(TRIM(a.county), ''), ?, ? * COALESCE(la.requested_loan_amount, 0) "
+            + "FROM loan_applications la LEFT JOIN addresses a ON a.id = ? WHERE la.address_id = ?";
+
+    private static final String APPLY_SQL =
+            "MERGE INTO application_rollups r USING ("
+            + "SELECT day, status, state, county, SUM(application_count) AS application_count, "
+            + "SUM(requested_amount) AS requested_amount FROM application_rollup_deltas "
+            + "WHERE id IN (%s) GROUP BY day, status, state, county) d "
+            + "ON r.day = d.day AND r.status = d.status AND r.state = d.state AND r.county = d.county "
+            + "WHEN MATCHED THEN UPDATE SET application_count = r.application_count + d.application_count, "
+            + "requested_amount_sum = r.requested_amount_sum + d.requested_amount "
+            + "WHEN NOT MATCHED THEN INSERT (day, status, state, county, application_count, requested_amount_sum) "
+            + "VALUES (d.day, d.status, d.state, d.county, d.application_count, d.requested_amount)";
+
+    private static final String REBUILD_SQL =
+            "INSERT INTO application_rollups (day, status, state, county, application_count, requested_amount_sum) "
+            + "SELECT CAST(la.created_at AS DATE), COALESCE(la.status, ''), "
+            + "COALESCE(UPPER(TRIM(a.state)), ''), COALESCE(TRIM(a.county), ''), "
+            + "COUNT(*), COALESCE(SUM(la.requested_loan_amount), 0) "
+            + "FROM loan_applications la LEFT JOIN addresses a ON a.id = la.address_id "
+            + "GROUP BY 1, 2, 3, 4";
+
+    // Attempts at a rebuild that collides with a fold running on another node
+    private static final int REBUILD_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate rebuildTransactionTemplate;
+    private final int maxDays;
+    private final int applyBatchSize;
+
+    public ApplicationRollupService(JdbcTemplate jdbcTemplate,
+                                    TransactionTemplate transactionTemplate,
+                                    @Value("${analytics.max-days:731}") int maxDays,
+                                    @Value("${analytics.rollups.apply-batch-size:1000}") int applyBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.maxDays = maxDays;
+        this.applyBatchSize = applyBatchSize;
+        // The recount and the removal of the moves it already includes must see the same snapshot
+        this.rebuildTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.rebuildTransactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * Fill an empty rollup table from loan_applications, e.g. on the first start after it was created
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Boolean populated = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM application_rollups)", Boolean.class);
+        if (Boolean.TRUE.equals(populated)) {
+            return;
+        }
+        Thread.ofVirtual().name("application-rollup-rebuild").start(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                log.error("Application rollup rebuild failed", e);
+            }
+        });
+    }
+
+    /**
+     * Queued in the transaction that saved the change, or straight away when there is none
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onRollupChanged(LoanApplicationRollupChanged change) {
+        if (change.previous() != null) {
+            queue(change.previous(), -1);
+        }
+        queue(change.current(), 1);
+    }
+
+    private void queue(LoanApplicationRollupChanged.Facts facts, int sign) {
+        jdbcTemplate.update(QUEUE_SQL,
+                Date.valueOf(facts.day()),
+                facts.status() == null ? "" : facts.status(),
+                sign,
+                sign * facts.requestedAmount(),
+                facts.addressId());
+    }
+
+    /**
+     * Queue the moves for applications about to be re-pointed from each duplicate address to its survivor,
+     * whose county may differ. Runs in the caller's transaction, before the re-pointing update.
+     */
+    public void queueAddressMoves(Map<Long, Long> survivorByDuplicate) {
+        List<Object[]> moves = new ArrayList<>();
+        survivorByDuplicate.forEach((duplicate, survivor) -> {
+            moves.add(new Object[] {-1, -1, duplicate, duplicate});
+            moves.add(new Object[] {1, 1, survivor, duplicate});
+        });
+        jdbcTemplate.batchUpdate(QUEUE_ADDRESS_MOVE_SQL, moves);
+    }
+
+    /**
+     * Fold the queued moves into the rollups, one committed batch at a time
+     *
+     * @return number of moves applied
+     */
+    @Scheduled(fixedDelayString = "${analytics.rollups.apply-interval:PT5S}",
+               initialDelayString = "${analytics.rollups.apply-interval:PT5S}")
+    public int applyQueued() {
+        int applied = 0;
+        int batch;
+        do {
+            Integer count = transactionTemplate.execute(status -> applyBatch());
+            batch = count == null ? 0 : count;
+            applied += batch;
+        } while (batch == applyBatchSize);
+        return applied;
+    }
+
+    private int applyBatch() {
+        lockState("applied_at");
+        // Ids rather than a range: a lower id may still belong to a transaction that has not committed
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM application_rollup_deltas ORDER BY id LIMIT ?", Long.class, applyBatchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        jdbcTemplate.update(String.format(APPLY_SQL, placeholders), ids.toArray());
+        jdbcTemplate.update(String.format("DELETE FROM application_rollup_deltas WHERE id IN (%s)", placeholders),
+                ids.toArray());
+        return ids.size();
+    }
+
+    /**
+     * Recompute every bucket from loan_applications. Readers keep seeing the old buckets and saves keep
+     * queueing moves until it commits; moves already counted by the recount are dropped with it.
+     *
+     * @return number of buckets written
+     */
+    public int rebuild() {
+        log.info("Rebuilding application rollups");
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Integer buckets = rebuildTransactionTemplate.execute(status -> {
+                    lockState("rebuilt_at");
+                    jdbcTemplate.update("DELETE FROM application_rollups");
+                    int written = jdbcTemplate.update(REBUILD_SQL);
+                    jdbcTemplate.update("DELETE FROM application_rollup_deltas");
+                    return written;
+                });
+                log.info("Rebuilt {} application rollup buckets", buckets);
+                return buckets == null ? 0 : buckets;
+            } catch (ConcurrencyFailureException e) {
+                // A fold committed after this snapshot was taken
+                if (attempt == REBUILD_ATTEMPTS) {
+                    throw e;
+                }
+                log.info("Application rollup rebuild collided with a fold, retrying");
+            }
+        }
+    }
+
+    private void lockState(String column) {
+        jdbcTemplate.update("UPDATE application_rollup_state SET " + column + " = ? WHERE id = 1",
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /**
+     * Counts and requested amounts between from and to (inclusive), grouped by the given dimensions
+     * and optionally restricted to one status, state or county. Drilling down means adding a filter
+     * for the bucket picked and grouping by the next dimension, e.g. state, then county within it, then day.
+     */
+    public List<RollupBucket> query(List<String> groupBy, LocalDate from, LocalDate to,
+                                    String status, String state, String county) {
+        if (groupBy == null || groupBy.isEmpty()) {
+            throw new IllegalArgumentException("groupBy is required");
+        }
+        for (String dimension : groupBy) {
+            if (!DIMENSIONS.contains(dimension)) {
+                throw new IllegalArgumentException("Unknown groupBy dimension: " + dimension
+                        + " (expected one of " + String.join(", ", DIMENSIONS) + ")");
+            }
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxDays) {
+            throw new IllegalArgumentException("At most " + maxDays + " days can be queried at once");
+        }
+
+        // Only whitelisted dimension names reach the SQL
+        List<String> columns = DIMENSIONS.stream().filter(groupBy::contains).toList();
+        String dimensions = String.join(", ", columns);
+
+        StringBuilder sql = new StringBuilder("SELECT ").append(dimensions)
+                .append(", SUM(application_count) AS applications, SUM(requested_amount_sum) AS requested_amount ")
+                .append("FROM application_rollups WHERE day >= ? AND day <= ?");
+        List<Object> params = new ArrayList<>(List.of(Date.valueOf(from), Date.valueOf(to)));
+        if (status != null && !status.isEmpty()) {
+            sql.append(" AND status = ?");
+            params.add(status);
+        }
+        if (state != null && !state.isEmpty()) {
+            sql.append(" AND state = ?");
+            params.add(state.trim().toUpperCase());
+        }
+        if (county != null && !county.isEmpty()) {
+            sql.append(" AND county = ?");
+            params.add(county.trim());
+        }
+        sql.append(" GROUP BY ").append(dimensions)
+                .append(" HAVING SUM(application_count) > 0 ORDER BY ").append(dimensions);
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new RollupBucket(
+                columns.contains("day") ? rs.getDate("day").toLocalDate() : null,
+                columns.contains("status") ? rs.getString("status") : null,
+                columns.contains("state") ? rs.getString("state") : null,
+                columns.contains("county") ? rs.getString("county") : null,
+                rs.getLong("applications"),
+                rs.getDouble("requested_amount")), params.toArray());
+    }
+}
@@ -0,0 +1,241 @@
+package com.adminapplicationmaster.service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.adminapplicationmaster.domain.entity.ApplicationStatusCount;
+import com.adminapplicationmaster.domain.event.LoanApplicationStatusChanged;
+import com.adminapplicationmaster.dto.StatusCount;
+import com.adminapplicationmaster.repository.ApplicationStatusCountRepository;
+import com.adminapplicationmaster.repository.LoanApplicationRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Number of loan applications in each status, kept in memory and moved by every status change committed
+ * on this node, so reading the counts never touches loan_applications.
+ * Changes made by other nodes (or lost in a crash) are picked up by a grouped count that runs in the background
+ * on startup and then every reconcile-interval.
+ * Each node checkpoints its own counts to application_status_counts under its node id. On startup that
+ * checkpoint, or else the newest one of any node, is served straight away until the first grouped count lands.
+ */
+@Service
+@Slf4j
+public class ApplicationStatusCounters {
+
+    private final LoanApplicationRepository loanApplicationRepository;
+    private final ApplicationStatusCountRepository checkpointRepository;
+    private final boolean reconcileOnStartup;
+    private final String nodeId;
+
+    private final ConcurrentMap<String, LongAdder> counts = new ConcurrentHashMap<>();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    // Changes only share the read lock; the write lock is taken to swap in reconciled counts
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // A grouped count that overlapped a change on this node may or may not include it, so it is retried
+    private static final int RECONCILE_ATTEMPTS = 3;
+
+    // Set while a reconciling count runs; raised by any change applied meanwhile
+    private volatile AtomicBoolean changedDuringReconcile;
+
+    public ApplicationStatusCounters(LoanApplicationRepository loanApplicationRepository,
+                                     ApplicationStatusCountRepository checkpointRepository,
+                                     @Value("${dashboard.counters.reconcile-on-startup:true}") boolean reconcileOnStartup,
+                                     @Value("${dashboard.counters.node-id:${HOSTNAME:local}}") String nodeId) {
+        this.loanApplicationRepository = loanApplicationRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.reconcileOnStartup = reconcileOnStartup;
+        this.nodeId = nodeId;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<ApplicationStatusCount> checkpoint = checkpointRepository.findByNodeId(nodeId);
+        if (checkpoint.isEmpty()) {
+            checkpoint = checkpointRepository.findFirstByOrderByCheckpointedAtDesc()
+                    .map(newest -> checkpointRepository.findByNodeId(newest.getNodeId()))
+                    .orElse(List.of());
+            // Borrowed from another node; checkpoint it under this node's id
+            dirty.set(!checkpoint.isEmpty());
+        }
+        if (checkpoint.isEmpty()) {
+            reconcile();
+            checkpoint();
+            return;
+        }
+
+        checkpoint.forEach(row -> counter(counts, row.getStatus()).add(row.getApplicationCount()));
+        log.info("Restored application status counts from checkpoint of node {}: {}",
+                checkpoint.get(0).getNodeId(), snapshot());
+        if (reconcileOnStartup) {
+            Thread.ofVirtual().name("application-status-reconcile").start(this::reconcileAndCheckpoint);
+        }
+    }
+
+    /**
+     * Picks up status changes committed by other nodes
+     */
+    @Scheduled(fixedDelayString = "${dashboard.counters.reconcile-interval:PT5M}",
+               initialDelayString = "${dashboard.counters.reconcile-interval:PT5M}")
+    public void reconcileAndCheckpoint() {
+        try {
+            reconcile();
+            checkpoint();
+        } catch (Exception e) {
+            log.error("Application status reconciliation failed", e);
+        }
+    }
+
+    /**
+     * Applied after the change commits, or straight away when it was saved outside a transaction.
+     * Runs ahead of other listeners for the same commit, so they read counts that include it.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onStatusChanged(LoanApplicationStatusChanged change) {
+        lock.readLock().lock();
+        try {
+            move(counts, change);
+            AtomicBoolean changed = changedDuringReconcile;
+            if (changed != null) {
+                changed.set(true);
+            }
+            dirty.set(true);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Current count per status
+     */
+    public Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new HashMap<>();
+        counts.forEach((status, count) -> snapshot.put(status, count.sum()));
+        return snapshot;
+    }
+
+    public long count(String status) {
+        LongAdder count = counts.get(status);
+        return count == null ? 0 : count.sum();
+    }
+
+    public long total() {
+        return counts.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * Replace the counts with a grouped count of the table.
+     * A count that overlapped a change committed on this node cannot tell whether it includes that change, so it
+     * is discarded and taken again; if every attempt overlaps one, the counts stay as they are until the next
+     * reconcile, lagging other nodes' changes by up to one reconcile-interval.
+     */
+    public synchronized void reconcile() {
+        for (int attempt = 1; attempt <= RECONCILE_ATTEMPTS; attempt++) {
+            AtomicBoolean changed = new AtomicBoolean();
+            changedDuringReconcile = changed;
+            try {
+                Map<String, Long> exact = new HashMap<>();
+                for (StatusCount group : loanApplicationRepository.countGroupedByStatus()) {
+                    if (group.status() != null) {
+                        exact.put(group.status(), group.count());
+                    }
+                }
+
+                lock.writeLock().lock();
+                try {
+                    // Checked under the write lock, so no change can land between the check and the swap
+                    if (!changed.get()) {
+                        apply(exact);
+                        return;
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } finally {
+                changedDuringReconcile = null;
+            }
+            log.debug("Application statuses changed during reconcile attempt {}, counting again", attempt);
+        }
+        log.info("Application status reconcile skipped: statuses kept changing during {} counts", RECONCILE_ATTEMPTS);
+    }
+
+    private void apply(Map<String, Long> exact) {
+        Set<String> statuses = new HashSet<>(counts.keySet());
+        statuses.addAll(exact.keySet());
+        for (String status : statuses) {
+            long reconciled = exact.getOrDefault(status, 0L);
+            LongAdder count = counter(counts, status);
+            long drift = reconciled - count.sum();
+            if (drift != 0) {
+                // Expected whenever other nodes changed statuses since the last count
+                log.debug("Application status count for '{}' drifted by {}, corrected to {}",
+                        status, -drift, reconciled);
+                count.add(drift);
+                dirty.set(true);
+            }
+        }
+    }
+
+    /**
+     * Write this node's counts to application_status_counts if they changed since its last checkpoint
+     */
+    @Scheduled(fixedDelayString = "${dashboard.counters.checkpoint-interval:PT1M}",
+               initialDelayString = "${dashboard.counters.checkpoint-interval:PT1M}")
+    @PreDestroy
+    public void checkpoint() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            checkpointRepository.saveAll(snapshot().entrySet().stream()
+                    .map(entry -> ApplicationStatusCount.builder()
+                            .nodeId(nodeId)
+                            .status(entry.getKey())
+                            .applicationCount(entry.getValue())
+                            .checkpointedAt(now)
+                            .build())
+                    .toList());
+        } catch (Exception e) {
+            dirty.set(true);
+            log.error("Failed to checkpoint application status counts", e);
+        }
+    }
+
+    private static void move(ConcurrentMap<String, LongAdder> target, LoanApplicationStatusChanged change) {
+        if (change.previousStatus() != null) {
+            counter(target, change.previousStatus()).decrement();
+        }
+        if (change.status() != null) {
+            counter(target, change.status()).increment();
+        }
+    }
+
+    private static LongAdder counter(ConcurrentMap<String, LongAdder> target, String status) {
+        return target.computeIfAbsent(status, key -> new LongAdder());
+    }
+}
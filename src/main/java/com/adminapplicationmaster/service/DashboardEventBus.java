@@ -0,0 +1,276 @@
+package com.adminapplicationmaster.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.adminapplicationmaster.domain.event.ApplicationDecisionRecorded;
+import com.adminapplicationmaster.domain.event.LoanApplicationStatusChanged;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pushes committed dashboard changes to every open dashboard as server-sent events.
+ * Changes are queued as they commit and a single dispatcher thread turns each burst into a few events,
+ * serialised once and handed to all subscribers, so open tabs cost one stream each and no queries of their own.
+ * Each subscriber is written by its own virtual thread from a bounded queue, so a client that reads slowly
+ * only holds up itself; once its queue is full it is disconnected and reconnects with fresh statistics.
+ *
+ * Events: statistics (on connect), status-counts, applications-created and decisions-completed.
+ */
+@Service
+@Slf4j
+public class DashboardEventBus {
+
+    private final DashboardService dashboardService;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+    private final Duration coalesceWindow;
+    private final int maxSubscribers;
+    private final int subscriberQueueCapacity;
+
+    private final ConcurrentMap<SseEmitter, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final BlockingQueue<Object> pending;
+    private volatile Thread dispatcher;
+
+    public DashboardEventBus(DashboardService dashboardService,
+                             ObjectMapper objectMapper,
+                             @Value("${dashboard.events.timeout:PT30M}") Duration timeout,
+                             @Value("${dashboard.events.coalesce-window:PT0.25S}") Duration coalesceWindow,
+                             @Value("${dashboard.events.max-subscribers:500}") int maxSubscribers,
+                             @Value("${dashboard.events.queue-capacity:10000}") int queueCapacity,
+                             @Value("${dashboard.events.subscriber-queue-capacity:64}") int subscriberQueueCapacity) {
+        this.dashboardService = dashboardService;
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+        this.coalesceWindow = coalesceWindow;
+        this.maxSubscribers = maxSubscribers;
+        this.subscriberQueueCapacity = subscriberQueueCapacity;
+        this.pending = new LinkedBlockingQueue<>(queueCapacity);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        dispatcher = Thread.ofVirtual().name("dashboard-event-dispatcher").start(this::dispatchLoop);
+    }
+
+    /**
+     * Open a stream that starts with the current statistics, so a (re)connecting dashboard needs no extra fetch
+     *
+     * @throws IllegalStateException when dashboard.events.max-subscribers streams are already open
+     */
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new IllegalStateException("Too many open dashboard streams, try again later");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        register(emitter).offer(new Event("statistics", toJson(dashboardService.statistics())));
+        return emitter;
+    }
+
+    Subscriber register(SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        subscribers.put(emitter, subscriber);
+        emitter.onCompletion(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        emitter.onTimeout(() -> {
+            // The client reconnects on its own
+            subscriber.close();
+            emitter.complete();
+        });
+        subscriber.writer.start();
+        return subscriber;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Queued after the change commits; ApplicationStatusCounters has already counted it by then
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(LoanApplicationStatusChanged change) {
+        enqueue(change);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDecisionRecorded(ApplicationDecisionRecorded decision) {
+        enqueue(decision);
+    }
+
+    private void enqueue(Object change) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        if (!pending.offer(change)) {
+            // Every status-counts event carries the full statistics, so dashboards catch up with the next one
+            log.warn("Dashboard event queue full, dropped {}", change);
+        }
+    }
+
+    private void dispatchLoop() {
+        List<Object> batch = new ArrayList<>();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(pending.take());
+                // Let a burst (e.g. a bulk decision check) settle into one set of events
+                Thread.sleep(coalesceWindow);
+                pending.drainTo(batch);
+                dispatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("Failed to dispatch {} dashboard events", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Turn a batch of committed changes into events and queue each one for every subscriber
+     */
+    void dispatch(List<Object> batch) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        Map<String, Long> deltas = new TreeMap<>();
+        List<Long> created = new ArrayList<>();
+        List<ApplicationDecisionRecorded> decisions = new ArrayList<>();
+        for (Object change : batch) {
+            if (change instanceof LoanApplicationStatusChanged statusChanged) {
+                if (statusChanged.previousStatus() == null) {
+                    created.add(statusChanged.loanApplicationId());
+                } else {
+                    deltas.merge(statusChanged.previousStatus(), -1L, Long::sum);
+                }
+                if (statusChanged.status() != null) {
+                    deltas.merge(statusChanged.status(), 1L, Long::sum);
+                }
+            } else if (change instanceof ApplicationDecisionRecorded decision) {
+                decisions.add(decision);
+            }
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+
+        if (!created.isEmpty()) {
+            broadcast("applications-created", toJson(dashboardService.recentApplications(created)));
+        }
+        if (!deltas.isEmpty()) {
+            Map<String, Object> counts = new LinkedHashMap<>();
+            counts.put("deltas", deltas);
+            counts.put("statistics", dashboardService.statistics());
+            broadcast("status-counts", toJson(counts));
+        }
+        if (!decisions.isEmpty()) {
+            broadcast("decisions-completed", toJson(decisions));
+        }
+    }
+
+    /**
+     * Keeps idle connections open through proxies and finds the ones whose client went away
+     */
+    @Scheduled(fixedDelayString = "${dashboard.events.heartbeat-interval:PT20S}")
+    public void heartbeat() {
+        subscribers.values().forEach(subscriber -> subscriber.offer(Event.HEARTBEAT));
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread running = dispatcher;
+        if (running != null) {
+            running.interrupt();
+        }
+        subscribers.values().forEach(subscriber -> {
+            subscriber.close();
+            subscriber.emitter.complete();
+        });
+    }
+
+    private void broadcast(String name, String json) {
+        Event event = new Event(name, json);
+        subscribers.values().forEach(subscriber -> subscriber.offer(event));
+    }
+
+    /**
+     * One open stream and the virtual thread writing it
+     */
+    final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Event> outbox = new ArrayBlockingQueue<>(subscriberQueueCapacity);
+        private final Thread writer;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+            this.writer = Thread.ofVirtual().name("dashboard-event-writer").unstarted(this::writeLoop);
+        }
+
+        void offer(Event event) {
+            if (!outbox.offer(event)) {
+                log.warn("Dashboard stream fell {} events behind, disconnecting it", outbox.size());
+                close();
+                emitter.complete();
+            }
+        }
+
+        private void writeLoop() {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    Event event = outbox.take();
+                    emitter.send(event == Event.HEARTBEAT
+                            ? SseEmitter.event().comment("heartbeat")
+                            : SseEmitter.event().name(event.name()).data(event.json(), MediaType.APPLICATION_JSON));
+                }
+            } catch (InterruptedException e) {
+                // Closed
+            } catch (IOException | IllegalStateException e) {
+                // The container reports the broken connection itself; just stop writing to it
+                close();
+            }
+        }
+
+        void close() {
+            if (subscribers.remove(emitter, this)) {
+                writer.interrupt();
+            }
+        }
+    }
+
+    // Built per subscriber when written, since an SseEventBuilder cannot be sent twice
+    record Event(String name, String json) {
+        static final Event HEARTBEAT = new Event(null, null);
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialise dashboard event", e);
+        }
+    }
+}
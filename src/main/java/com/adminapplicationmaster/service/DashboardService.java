@@ -0,0 +1,58 @@
+package com.adminapplicationmaster.service;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.adminapplicationmaster.dto.RecentApplication;
+import com.adminapplicationmaster.repository.LoanApplicationRepository;
+
+/**
+ * Read side of the dashboard: the newest applications and the number in each status.
+ * Counts come from the in-memory ApplicationStatusCounters, so a dashboard load costs
+ * one index-backed projection query whatever the size of the table.
+ */
+@Service
+@Transactional(readOnly = true)
+public class DashboardService {
+
+    static final int RECENT_APPLICATIONS = 10;
+
+    // Always reported, even when no application is in them yet
+    private static final List<String> STATUSES = List.of("pending", "approved", "rejected");
+
+    private final LoanApplicationRepository loanApplicationRepository;
+    private final ApplicationStatusCounters applicationStatusCounters;
+
+    public DashboardService(LoanApplicationRepository loanApplicationRepository,
+                            ApplicationStatusCounters applicationStatusCounters) {
+        this.loanApplicationRepository = loanApplicationRepository;
+        this.applicationStatusCounters = applicationStatusCounters;
+    }
+
+    public List<RecentApplication> recentApplications() {
+        return loanApplicationRepository.findRecentApplications(PageRequest.of(0, RECENT_APPLICATIONS));
+    }
+
+    /**
+     * The same projection for the given applications, newest first
+     */
+    public List<RecentApplication> recentApplications(Collection<Long> ids) {
+        return loanApplicationRepository.findRecentApplicationsByIdIn(ids);
+    }
+
+    /**
+     * Total plus one entry per known status
+     */
+    public Map<String, Long> statistics() {
+        Map<String, Long> statistics = new LinkedHashMap<>();
+        statistics.put("total", applicationStatusCounters.total());
+        STATUSES.forEach(status -> statistics.put(status, applicationStatusCounters.count(status)));
+        return statistics;
+    }
+}
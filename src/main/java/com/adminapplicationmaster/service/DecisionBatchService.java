@@ -0,0 +1,312 @@
+package com.adminapplicationmaster.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import com.adminapplicationmaster.domain.entity.ApplicationDecision;
+import com.adminapplicationmaster.domain.entity.LoanApplication;
+import com.adminapplicationmaster.domain.event.ApplicationDecisionRecorded;
+import com.adminapplicationmaster.domain.event.LoanApplicationRollupChanged;
+import com.adminapplicationmaster.domain.event.LoanApplicationStatusChanged;
+import com.adminapplicationmaster.dto.BulkDecisionCheckRequest;
+import com.adminapplicationmaster.dto.DecisionOutcome;
+import com.adminapplicationmaster.repository.LoanApplicationRepository;
+import com.adminapplicationmaster.util.EncryptionUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Re-runs decisions for many loan applications at once.
+ * Remote calls are fanned out with a bounded number in flight, decisions are written
+ * with JDBC batches and one NDJSON line per application is streamed back as results land.
+ */
+@Service
+@Slf4j
+public class DecisionBatchService {
+
+    private static final String INSERT_DECISION_SQL =
+            "INSERT INTO application_decisions (loan_application_id, encrypted_request, encrypted_response, decision, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_STATUS_SQL =
+            "UPDATE loan_applications SET status = ?, updated_at = ?, lock_version = lock_version + 1 WHERE id = ?";
+
+    // Locks the rows about to change so the published changes start from what is really stored
+    private static final String SELECT_FACTS_FOR_UPDATE_SQL =
+            "SELECT id, status, created_at, address_id, requested_loan_amount FROM loan_applications "
+            + "WHERE id IN (%s) FOR UPDATE";
+
+    // How long to wait for another result before writing what has been collected so far
+    private static final long FLUSH_INTERVAL_MILLIS = 200;
+
+    private final LoanApplicationRepository loanApplicationRepository;
+    private final DecisionCheckService decisionCheckService;
+    private final EncryptionUtil encryptionUtil;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${decision.batch.max-in-flight:8}")
+    private int maxInFlight;
+
+    @Value("${decision.batch.write-batch-size:50}")
+    private int writeBatchSize;
+
+    @Value("${decision.batch.max-size:500}")
+    private int maxSize;
+
+    @Value("${decision.batch.timeout:PT10M}")
+    private Duration timeout;
+
+    public DecisionBatchService(LoanApplicationRepository loanApplicationRepository,
+                                DecisionCheckService decisionCheckService,
+                                EncryptionUtil encryptionUtil,
+                                JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                @Qualifier("decisionJobExecutor") ExecutorService executor,
+                                ObjectMapper objectMapper,
+                                ApplicationEventPublisher eventPublisher) {
+        this.loanApplicationRepository = loanApplicationRepository;
+        this.decisionCheckService = decisionCheckService;
+        this.encryptionUtil = encryptionUtil;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = executor;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Applications selected for a bulk check, and the requested ids that do not exist
+     */
+    public record Selection(List<LoanApplication> applications, List<Long> missingIds) {
+    }
+
+    /**
+     * Load the selected applications (with their addresses) in a single query.
+     * A status matching more than max-size applications is rejected rather than silently cut short.
+     */
+    public Selection load(BulkDecisionCheckRequest request) {
+        if (request.getIds() != null && !request.getIds().isEmpty()) {
+            List<Long> ids = request.getIds().stream().filter(Objects::nonNull).distinct().toList();
+            if (ids.size() > maxSize) {
+                throw new IllegalArgumentException("At most " + maxSize + " applications can be checked at once");
+            }
+            List<LoanApplication> applications = loanApplicationRepository.findWithAddressByIdIn(ids);
+            Set<Long> found = applications.stream().map(LoanApplication::getId).collect(Collectors.toSet());
+            return new Selection(applications, ids.stream().filter(id -> !found.contains(id)).toList());
+        }
+        if (request.getStatus() != null && !request.getStatus().isEmpty()) {
+            List<LoanApplication> applications = loanApplicationRepository.findWithAddressByStatus(
+                    request.getStatus(), PageRequest.of(0, maxSize + 1));
+            if (applications.size() > maxSize) {
+                throw new IllegalArgumentException("More than " + maxSize + " applications have status "
+                        + request.getStatus() + "; select them by ids in batches of at most " + maxSize);
+            }
+            return new Selection(applications, List.of());
+        }
+        throw new IllegalArgumentException("Either ids or status is required");
+    }
+
+    /**
+     * Run the decision checks on a background thread, writing one JSON line per application to the returned emitter
+     */
+    public ResponseBodyEmitter stream(Selection selection) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeout.toMillis());
+        executor.execute(() -> {
+            try {
+                run(selection, emitter);
+                emitter.complete();
+            } catch (Exception e) {
+                log.error("Bulk decision check failed", e);
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    void run(Selection selection, ResponseBodyEmitter emitter) throws Exception {
+        List<LoanApplication> applications = selection.applications();
+        log.info("Bulk decision check started for {} applications", applications.size());
+
+        List<DecisionOutcome> pending = new ArrayList<>();
+        for (Long id : selection.missingIds()) {
+            pending.add(DecisionOutcome.failure(id, ResponseEntity.status(404)
+                    .body(Map.of("message", "Loan application not found"))));
+        }
+        flush(pending, emitter);
+
+        ExecutorCompletionService<DecisionOutcome> completions = new ExecutorCompletionService<>(executor);
+        Iterator<LoanApplication> remaining = applications.iterator();
+        int running = 0;
+
+        while (remaining.hasNext() || running > 0) {
+            while (running < maxInFlight && remaining.hasNext()) {
+                LoanApplication application = remaining.next();
+                completions.submit(() -> evaluate(application));
+                running++;
+            }
+
+            Future<DecisionOutcome> done = completions.poll(FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            if (done == null) {
+                flush(pending, emitter);
+                continue;
+            }
+
+            running--;
+            pending.add(done.get());
+            if (pending.size() >= writeBatchSize) {
+                flush(pending, emitter);
+            }
+        }
+        flush(pending, emitter);
+
+        log.info("Bulk decision check finished for {} applications", applications.size());
+    }
+
+    private DecisionOutcome evaluate(LoanApplication application) {
+        try {
+            return decisionCheckService.evaluate(application);
+        } catch (Exception e) {
+            log.error("Error in decision check for loan application ID: {}", application.getId(), e);
+            return DecisionOutcome.failure(application.getId(), ResponseEntity.status(500)
+                    .body(Map.of("message", "Decision service error: " + e.getMessage())));
+        }
+    }
+
+    /**
+     * Persist the successful outcomes collected so far in one transaction, then report every outcome
+     */
+    private void flush(List<DecisionOutcome> pending, ResponseBodyEmitter emitter) throws Exception {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<DecisionOutcome> decided = pending.stream().filter(DecisionOutcome::isSuccessful).toList();
+        String writeError = null;
+        try {
+            if (!decided.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> write(decided));
+            }
+        } catch (Exception e) {
+            log.error("Failed to persist {} application decisions", decided.size(), e);
+            writeError = "Failed to save decision: " + e.getMessage();
+        }
+
+        for (DecisionOutcome outcome : pending) {
+            emitter.send(objectMapper.writeValueAsString(toResult(outcome, writeError)) + "\n");
+        }
+        pending.clear();
+    }
+
+    private void write(List<DecisionOutcome> decided) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(INSERT_DECISION_SQL, decided, writeBatchSize, (ps, outcome) -> {
+            ps.setLong(1, outcome.getLoanApplicationId());
+            ps.setString(2, encryptionUtil.encrypt(outcome.getRequest()));
+            ps.setString(3, encryptionUtil.encrypt(outcome.getResponse()));
+            ps.setString(4, outcome.getDecision());
+            ps.setTimestamp(5, now);
+            ps.setTimestamp(6, now);
+        });
+
+        for (DecisionOutcome outcome : decided) {
+            eventPublisher.publishEvent(new ApplicationDecisionRecorded(outcome.getLoanApplicationId(), null,
+                    outcome.getDecision(), ApplicationDecision.applicationStatusFor(outcome.getDecision()),
+                    now.toLocalDateTime()));
+        }
+
+        // Same status transition ApplicationDecision#setApplicationStatus applies for single checks
+        List<DecisionOutcome> statusChanges = decided.stream()
+                .filter(outcome -> ApplicationDecision.applicationStatusFor(outcome.getDecision()) != null)
+                .toList();
+        if (statusChanges.isEmpty()) {
+            return;
+        }
+
+        Map<Long, LoanApplicationRollupChanged.Facts> previousFacts = lockFacts(statusChanges);
+        jdbcTemplate.batchUpdate(UPDATE_STATUS_SQL, statusChanges, writeBatchSize, (ps, outcome) -> {
+            ps.setString(1, ApplicationDecision.applicationStatusFor(outcome.getDecision()));
+            ps.setTimestamp(2, now);
+            ps.setLong(3, outcome.getLoanApplicationId());
+        });
+
+        // These rows bypass the entity, so publish the events saving it would have
+        for (DecisionOutcome outcome : statusChanges) {
+            Long id = outcome.getLoanApplicationId();
+            LoanApplicationRollupChanged.Facts previous = previousFacts.get(id);
+            String status = ApplicationDecision.applicationStatusFor(outcome.getDecision());
+            if (previous == null || Objects.equals(previous.status(), status)) {
+                continue;
+            }
+            eventPublisher.publishEvent(new LoanApplicationStatusChanged(id, previous.status(), status));
+            eventPublisher.publishEvent(new LoanApplicationRollupChanged(id, previous,
+                    new LoanApplicationRollupChanged.Facts(previous.day(), status, previous.addressId(),
+                            previous.requestedAmount())));
+        }
+    }
+
+    private Map<Long, LoanApplicationRollupChanged.Facts> lockFacts(List<DecisionOutcome> outcomes) {
+        String placeholders = String.join(", ", Collections.nCopies(outcomes.size(), "?"));
+        Map<Long, LoanApplicationRollupChanged.Facts> facts = new HashMap<>();
+        jdbcTemplate.query(String.format(SELECT_FACTS_FOR_UPDATE_SQL, placeholders),
+                rs -> {
+                    facts.put(rs.getLong("id"), new LoanApplicationRollupChanged.Facts(
+                            rs.getTimestamp("created_at").toLocalDateTime().toLocalDate(),
+                            rs.getString("status"),
+                            rs.getLong("address_id"),
+                            rs.getDouble("requested_loan_amount")));
+                },
+                outcomes.stream().map(DecisionOutcome::getLoanApplicationId).toArray());
+        return facts;
+    }
+
+    private Map<String, Object> toResult(DecisionOutcome outcome, String writeError) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("id", outcome.getLoanApplicationId());
+
+        if (!outcome.isSuccessful()) {
+            result.put("status", "failed");
+            result.put("httpStatus", outcome.getError().getStatusCode().value());
+            result.put("error", outcome.getError().getBody());
+        } else if (writeError != null) {
+            result.put("status", "failed");
+            result.put("httpStatus", 500);
+            result.put("error", Map.of("message", writeError));
+        } else {
+            result.put("status", "completed");
+            result.put("httpStatus", 200);
+            result.put("decision", outcome.getDecision());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,239 @@
+package com.adminapplicationmaster.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.adminapplicationmaster.domain.entity.ApplicationDecision;
+import com.adminapplicationmaster.domain.entity.LoanApplication;
+import com.adminapplicationmaster.dto.DecisionOutcome;
+import com.adminapplicationmaster.dto.DecisionPayload;
+import com.adminapplicationmaster.dto.DecisionResult;
+import com.adminapplicationmaster.repository.ApplicationDecisionRepository;
+import com.adminapplicationmaster.repository.LoanApplicationRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs a decision check for a loan application and records the result.
+ * Shared by the synchronous endpoint and the asynchronous decision jobs.
+ */
+@Service
+@Slf4j
+public class DecisionCheckService {
+
+    private final LoanApplicationRepository loanApplicationRepository;
+    private final ApplicationDecisionRepository applicationDecisionRepository;
+    private final DecisionService decisionService;
+    private final DecisionPayloadWriter payloadWriter;
+    private final DecisionResultCache decisionResultCache;
+    private final TransactionTemplate transactionTemplate;
+
+    // Keyed by loan application id; ConcurrentHashMap locks per bin so unrelated applications never contend
+    private final ConcurrentMap<Long, CompletableFuture<ResponseEntity<?>>> inFlightChecks = new ConcurrentHashMap<>();
+
+    // Together these bound the leader's remote call, and so how long joined callers wait for it
+    @Value("${http.client.connection-request-timeout:PT5S}")
+    private Duration connectionRequestTimeout;
+
+    @Value("${http.client.connect-timeout:PT10S}")
+    private Duration connectTimeout;
+
+    @Value("${http.client.read-timeout:PT30S}")
+    private Duration readTimeout;
+
+    public DecisionCheckService(LoanApplicationRepository loanApplicationRepository,
+                                ApplicationDecisionRepository applicationDecisionRepository,
+                                DecisionService decisionService,
+                                DecisionPayloadWriter payloadWriter,
+                                DecisionResultCache decisionResultCache,
+                                TransactionTemplate transactionTemplate) {
+        this.loanApplicationRepository = loanApplicationRepository;
+        this.applicationDecisionRepository = applicationDecisionRepository;
+        this.decisionService = decisionService;
+        this.payloadWriter = payloadWriter;
+        this.decisionResultCache = decisionResultCache;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Concurrent checks for the same application share a single remote call and a single persisted decision
+     */
+    public ResponseEntity<?> check(Long id) {
+        CompletableFuture<ResponseEntity<?>> call = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<?>> inFlight = inFlightChecks.putIfAbsent(id, call);
+        if (inFlight != null) {
+            log.info("Joining in-flight decision check for loan application ID: {}", id);
+            return join(id, inFlight);
+        }
+
+        try {
+            ResponseEntity<?> response = runCheck(id);
+            call.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightChecks.remove(id, call);
+        }
+    }
+
+    /**
+     * Wait no longer than the leader's own HTTP call may take, so a hung leader cannot hold its followers forever
+     */
+    private ResponseEntity<?> join(Long id, CompletableFuture<ResponseEntity<?>> inFlight) {
+        Duration timeout = connectionRequestTimeout.plus(connectTimeout).plus(readTimeout);
+        try {
+            return inFlight.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Gave up waiting {} for in-flight decision check for loan application ID: {}", timeout, id);
+            return ResponseEntity.status(504)
+                    .body(Map.of("message", "Decision check for this application is still in progress"));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for decision check", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        }
+    }
+
+    private ResponseEntity<?> runCheck(Long id) {
+        log.info("Decision check requested for loan application ID: {}", id);
+
+        try {
+            LoanApplication loanApplication = loanApplicationRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Loan application not found"));
+
+            log.info("Found loan application: {} {}", loanApplication.getFirstName(), loanApplication.getLastName());
+
+            // Validated before the cache, so an application that no longer qualifies never gets an old decision back
+            ResponseEntity<?> invalid = validate(loanApplication);
+            if (invalid != null) {
+                return invalid;
+            }
+
+            // Inputs unchanged since the last decision - return it instead of calling the decision service again
+            byte[] requestPayload = payloadWriter.write(DecisionPayload.from(loanApplication));
+            String fingerprint = decisionResultCache.fingerprint(requestPayload);
+            Long cachedDecisionId = decisionResultCache.get(fingerprint);
+            if (cachedDecisionId != null) {
+                Optional<ApplicationDecision> cached = applicationDecisionRepository.findWithApplicationById(cachedDecisionId);
+                if (cached.isPresent()) {
+                    log.info("Returning cached decision {} for loan application ID: {}", cachedDecisionId, id);
+                    return ResponseEntity.ok(cached.get());
+                }
+                decisionResultCache.invalidate(fingerprint);
+            }
+
+            DecisionOutcome outcome = decide(loanApplication, requestPayload);
+            if (!outcome.isSuccessful()) {
+                return outcome.getError();
+            }
+
+            // Create application decision
+            ApplicationDecision decision = ApplicationDecision.builder()
+                    .loanApplication(loanApplication)
+                    .request(outcome.getRequest())
+                    .response(outcome.getResponse())
+                    .decision(outcome.getDecision())
+                    .build();
+
+            // The decision and the status it implies commit together; a concurrent edit of the application
+            // rolls both back, so no decision is left recorded (or cached) for a status that never changed
+            ApplicationDecision saved = transactionTemplate.execute(status -> {
+                ApplicationDecision inserted = applicationDecisionRepository.save(decision);
+                // Outside of a web request there is no open session holding the application,
+                // so persist the status change made by ApplicationDecision#setApplicationStatus explicitly
+                loanApplicationRepository.save(loanApplication);
+                return inserted;
+            });
+            log.info("Application decision saved with ID: {}", saved.getId());
+            decisionResultCache.put(fingerprint, saved.getId());
+
+            return ResponseEntity.ok(saved);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            log.warn("Loan application ID: {} changed during its decision check; nothing was recorded", id);
+            return ResponseEntity.status(409)
+                    .body(Map.of("message", "Loan application was changed by another request"));
+        } catch (Exception e) {
+            log.error("Error in decision check for loan application ID: {}", id, e);
+            return ResponseEntity.status(500)
+                    .body(Map.of("message", "Decision service error: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Call the decision service for an already loaded application without persisting anything
+     */
+    public DecisionOutcome evaluate(LoanApplication loanApplication) throws Exception {
+        ResponseEntity<?> invalid = validate(loanApplication);
+        if (invalid != null) {
+            return DecisionOutcome.failure(loanApplication.getId(), invalid);
+        }
+        return decide(loanApplication, payloadWriter.write(DecisionPayload.from(loanApplication)));
+    }
+
+    /**
+     * @return the 400 response for an application missing a required field, or null if it can be decided
+     */
+    private ResponseEntity<?> validate(LoanApplication loanApplication) {
+        Long id = loanApplication.getId();
+
+        if (loanApplication.getSsn() == null || loanApplication.getSsn().isEmpty()) {
+            log.error("SSN is missing for loan application ID: {}", id);
+            return ResponseEntity.status(400)
+                    .body(Map.of("message", "SSN is required for decision check"));
+        }
+
+        if (loanApplication.getAddress() == null) {
+            log.error("Address is missing for loan application ID: {}", id);
+            return ResponseEntity.status(400)
+                    .body(Map.of("message", "Address is required for decision check"));
+        }
+        return null;
+    }
+
+    /**
+     * The serialised payload is sent as the request body and stored as-is in the request audit column
+     */
+    private DecisionOutcome decide(LoanApplication loanApplication, byte[] requestPayload) throws Exception {
+        Long id = loanApplication.getId();
+
+        // Call decision service
+        log.info("Calling decision service...");
+        DecisionResult result = decisionService.decide(requestPayload);
+
+        log.info("Decision service responded with status: {}", result.getStatusCode());
+
+        if (!result.isSuccessful()) {
+            log.error("Decision service returned error status: {} with body: {}",
+                     result.getStatusCode(), result.getRawBody());
+            return DecisionOutcome.failure(id, ResponseEntity.status(result.getStatusCode())
+                    .body(Map.of("message", "Decision service error: " + result.getRawBody())));
+        }
+
+        // Check if final_decision exists
+        if (result.getFinalDecision() == null) {
+            log.error("Response missing 'final_decision' field: {}", result.getRawBody());
+            return DecisionOutcome.failure(id, ResponseEntity.status(500)
+                    .body(Map.of("message", "Invalid response from decision service")));
+        }
+
+        return DecisionOutcome.success(id, result.getFinalDecision(),
+                new String(requestPayload, StandardCharsets.UTF_8), result.getRawBody());
+    }
+}
@@ -0,0 +1,108 @@
+package com.adminapplicationmaster.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import com.adminapplicationmaster.dto.DecisionJob;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs decision checks off the request thread.
+ * Jobs are kept in memory until they have been finished for longer than the retention period.
+ */
+@Service
+@Slf4j
+public class DecisionJobService {
+
+    private final DecisionCheckService decisionCheckService;
+    private final ExecutorService executor;
+    private final RestTemplate restTemplate;
+    private final Map<String, DecisionJob> jobs = new ConcurrentHashMap<>();
+
+    @Value("${decision.jobs.retention:PT1H}")
+    private Duration retention;
+
+    @Value("${decision.jobs.callback-allowed-origins:}")
+    private String callbackAllowedOrigins;
+
+    public DecisionJobService(DecisionCheckService decisionCheckService,
+                              @Qualifier("decisionJobExecutor") ExecutorService executor,
+                              RestTemplate restTemplate) {
+        this.decisionCheckService = decisionCheckService;
+        this.executor = executor;
+        this.restTemplate = restTemplate;
+    }
+
+    public DecisionJob submit(Long loanApplicationId, String callbackUrl) {
+        if (callbackUrl != null && !isCallbackAllowed(callbackUrl)) {
+            throw new IllegalArgumentException("Callback URL is not allowed: " + callbackUrl);
+        }
+
+        DecisionJob job = new DecisionJob(UUID.randomUUID().toString(), loanApplicationId, callbackUrl);
+        jobs.put(job.getId(), job);
+        executor.execute(() -> run(job));
+
+        log.info("Decision job {} submitted for loan application ID: {}", job.getId(), loanApplicationId);
+        return job;
+    }
+
+    public Optional<DecisionJob> find(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    private void run(DecisionJob job) {
+        job.markRunning();
+        try {
+            ResponseEntity<?> response = decisionCheckService.check(job.getLoanApplicationId());
+            job.complete(response.getStatusCode().value(), response.getBody());
+        } catch (Exception e) {
+            log.error("Decision job {} failed", job.getId(), e);
+            job.complete(500, Map.of("message", "Decision service error: " + e.getMessage()));
+        }
+        log.info("Decision job {} finished with status: {}", job.getId(), job.getStatus());
+
+        if (job.getCallbackUrl() != null) {
+            notifyCallback(job);
+        }
+    }
+
+    private void notifyCallback(DecisionJob job) {
+        try {
+            restTemplate.postForEntity(job.getCallbackUrl(), job, Void.class);
+        } catch (Exception e) {
+            log.warn("Callback for decision job {} to {} failed: {}", job.getId(), job.getCallbackUrl(), e.getMessage());
+        }
+    }
+
+    private boolean isCallbackAllowed(String callbackUrl) {
+        List<String> origins = Arrays.stream(callbackAllowedOrigins.split(","))
+                .map(String::trim)
+                .filter(origin -> !origin.isEmpty())
+                .toList();
+        return origins.stream().anyMatch(origin -> callbackUrl.equals(origin) || callbackUrl.startsWith(origin + "/"));
+    }
+
+    /**
+     * Drop finished jobs once clients have had time to collect them
+     */
+    @Scheduled(fixedDelayString = "${decision.jobs.purge-interval:PT5M}")
+    public void purgeFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        jobs.values().removeIf(job -> job.isFinished() && job.getCompletedAt().isBefore(cutoff));
+    }
+}
@@ -0,0 +1,216 @@
+package com.adminapplicationmaster.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.adminapplicationmaster.domain.entity.ApplicationDecision;
+import com.adminapplicationmaster.domain.entity.DecisionOutboxEntry;
+import com.adminapplicationmaster.domain.entity.LoanApplication;
+import com.adminapplicationmaster.dto.DecisionOutcome;
+import com.adminapplicationmaster.repository.ApplicationDecisionRepository;
+import com.adminapplicationmaster.repository.DecisionOutboxRepository;
+import com.adminapplicationmaster.repository.LoanApplicationRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Durable decision requests. Entries are claimed in short transactions, the remote call runs
+ * outside any transaction, and the decision is written together with the entry's completion.
+ */
+@Service
+@Slf4j
+public class DecisionOutboxService {
+
+    private static final Set<DecisionOutboxEntry.Status> OPEN_STATUSES =
+            EnumSet.of(DecisionOutboxEntry.Status.PENDING, DecisionOutboxEntry.Status.PROCESSING);
+
+    private final DecisionOutboxRepository outboxRepository;
+    private final LoanApplicationRepository loanApplicationRepository;
+    private final ApplicationDecisionRepository applicationDecisionRepository;
+    private final DecisionCheckService decisionCheckService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${decision.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${decision.outbox.initial-backoff:PT5S}")
+    private Duration initialBackoff;
+
+    @Value("${decision.outbox.max-backoff:PT10M}")
+    private Duration maxBackoff;
+
+    // How long a claimed entry stays reserved for its worker; must exceed a batch worth of remote calls
+    @Value("${decision.outbox.lease:PT2M}")
+    private Duration lease;
+
+    public DecisionOutboxService(DecisionOutboxRepository outboxRepository,
+                                 LoanApplicationRepository loanApplicationRepository,
+                                 ApplicationDecisionRepository applicationDecisionRepository,
+                                 DecisionCheckService decisionCheckService,
+                                 TransactionTemplate transactionTemplate) {
+        this.outboxRepository = outboxRepository;
+        this.loanApplicationRepository = loanApplicationRepository;
+        this.applicationDecisionRepository = applicationDecisionRepository;
+        this.decisionCheckService = decisionCheckService;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Record a decision request. An application already waiting in the outbox is not queued twice.
+     */
+    public DecisionOutboxEntry enqueue(Long loanApplicationId) {
+        Optional<DecisionOutboxEntry> open = findOpen(loanApplicationId);
+        if (open.isPresent()) {
+            return open.get();
+        }
+
+        try {
+            DecisionOutboxEntry entry = outboxRepository.save(DecisionOutboxEntry.builder()
+                    .loanApplicationId(loanApplicationId)
+                    .nextAttemptAt(LocalDateTime.now())
+                    .build());
+            log.info("Decision request {} queued for loan application ID: {}", entry.getId(), loanApplicationId);
+            return entry;
+        } catch (DataIntegrityViolationException e) {
+            // Queued concurrently by another request or node
+            return findOpen(loanApplicationId).orElseThrow(() -> e);
+        }
+    }
+
+    public Optional<DecisionOutboxEntry> find(Long id) {
+        return outboxRepository.findById(id);
+    }
+
+    /**
+     * Reserve up to limit due entries for a worker
+     */
+    public List<DecisionOutboxEntry> claim(String workerId, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        return transactionTemplate.execute(status -> {
+            List<DecisionOutboxEntry> entries = outboxRepository.lockDueEntries(now, limit);
+            entries.forEach(entry -> entry.markProcessing(workerId, now.plus(lease)));
+            return outboxRepository.saveAll(entries);
+        });
+    }
+
+    /**
+     * Call the decision service for a claimed entry and record the outcome
+     */
+    public void process(DecisionOutboxEntry entry) {
+        try {
+            LoanApplication loanApplication = loanApplicationRepository.findById(entry.getLoanApplicationId())
+                    .orElse(null);
+            if (loanApplication == null) {
+                update(entry, current -> current.markFailed("Loan application not found"));
+                return;
+            }
+
+            DecisionOutcome outcome = decisionCheckService.evaluate(loanApplication);
+            if (outcome.isSuccessful()) {
+                complete(entry, loanApplication, outcome);
+                return;
+            }
+
+            int httpStatus = outcome.getError().getStatusCode().value();
+            String error = String.valueOf(outcome.getError().getBody());
+            if (isPermanent(httpStatus)) {
+                update(entry, current -> current.markFailed(error));
+            } else {
+                retry(entry, error);
+            }
+        } catch (Exception e) {
+            log.error("Decision request {} failed on attempt {}", entry.getId(), entry.getAttempts(), e);
+            retry(entry, "Decision service error: " + e.getMessage());
+        }
+    }
+
+    private void complete(DecisionOutboxEntry entry, LoanApplication loanApplication, DecisionOutcome outcome) {
+        boolean written = update(entry, current -> {
+            ApplicationDecision saved = applicationDecisionRepository.save(ApplicationDecision.builder()
+                    .loanApplication(loanApplication)
+                    .request(outcome.getRequest())
+                    .response(outcome.getResponse())
+                    .decision(outcome.getDecision())
+                    .build());
+            loanApplicationRepository.save(loanApplication);
+            current.markCompleted(saved.getId());
+        });
+
+        if (written) {
+            log.info("Decision request {} completed for loan application ID: {}",
+                    entry.getId(), entry.getLoanApplicationId());
+        }
+    }
+
+    private void retry(DecisionOutboxEntry entry, String error) {
+        if (entry.getAttempts() >= maxAttempts) {
+            log.warn("Decision request {} failed after {} attempts: {}", entry.getId(), entry.getAttempts(), error);
+            update(entry, current -> current.markFailed(error));
+            return;
+        }
+
+        LocalDateTime nextAttemptAt = LocalDateTime.now().plus(backoff(entry.getAttempts()));
+        update(entry, current -> current.scheduleRetry(error, nextAttemptAt));
+    }
+
+    /**
+     * Exponential backoff: initialBackoff, 2x, 4x, ... capped at maxBackoff
+     */
+    Duration backoff(int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 30);
+        Duration delay = initialBackoff.multipliedBy(1L << exponent);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private boolean isPermanent(int httpStatus) {
+        // Validation and client errors will not succeed on retry; rate limiting will
+        return httpStatus >= 400 && httpStatus < 500 && httpStatus != 429;
+    }
+
+    /**
+     * Apply a change to the entry in its own transaction, only if this worker still holds its lease.
+     * A worker whose lease expired leaves the entry to whoever claimed it next.
+     */
+    private boolean update(DecisionOutboxEntry entry, Consumer<DecisionOutboxEntry> change) {
+        Boolean updated = transactionTemplate.execute(status -> {
+            DecisionOutboxEntry current = outboxRepository.findByIdForUpdate(entry.getId()).orElse(null);
+            if (current == null
+                    || current.getStatus() != DecisionOutboxEntry.Status.PROCESSING
+                    || !entry.getLockedBy().equals(current.getLockedBy())
+                    || current.getAttempts() != entry.getAttempts()) {
+                log.warn("Decision request {} was reclaimed by another worker; discarding result", entry.getId());
+                return false;
+            }
+            change.accept(current);
+            return true;
+        });
+        return Boolean.TRUE.equals(updated);
+    }
+
+    private Optional<DecisionOutboxEntry> findOpen(Long loanApplicationId) {
+        return outboxRepository.findFirstByLoanApplicationIdAndStatusIn(loanApplicationId, OPEN_STATUSES);
+    }
+
+    /**
+     * Number of entries per status
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        for (DecisionOutboxEntry.Status status : DecisionOutboxEntry.Status.values()) {
+            snapshot.put(status.name().toLowerCase(), outboxRepository.countByStatus(status));
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,94 @@
+package com.adminapplicationmaster.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.adminapplicationmaster.domain.entity.DecisionOutboxEntry;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pool of workers draining the decision outbox.
+ * Each worker claims a small batch, processes it and claims again until nothing is due.
+ * Several nodes can run workers against the same table; SKIP LOCKED keeps their claims disjoint.
+ */
+@Component
+@Slf4j
+public class DecisionOutboxWorker {
+
+    private final DecisionOutboxService decisionOutboxService;
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+
+    @Value("${decision.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${decision.outbox.workers:4}")
+    private int workers;
+
+    @Value("${decision.outbox.batch-size:5}")
+    private int batchSize;
+
+    @Value("${decision.outbox.poll-interval:PT1S}")
+    private Duration pollInterval;
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    public DecisionOutboxWorker(DecisionOutboxService decisionOutboxService) {
+        this.decisionOutboxService = decisionOutboxService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || workers <= 0) {
+            log.info("Decision outbox workers disabled");
+            return;
+        }
+
+        running = true;
+        scheduler = Executors.newScheduledThreadPool(workers,
+                Thread.ofPlatform().name("decision-outbox-", 0).daemon().factory());
+        for (int i = 0; i < workers; i++) {
+            String workerId = nodeId + "-" + i;
+            scheduler.scheduleWithFixedDelay(() -> drain(workerId),
+                    0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        log.info("Started {} decision outbox workers on node {}", workers, nodeId);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler.awaitTermination(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private void drain(String workerId) {
+        try {
+            while (running) {
+                List<DecisionOutboxEntry> entries = decisionOutboxService.claim(workerId, batchSize);
+                if (entries == null || entries.isEmpty()) {
+                    return;
+                }
+                for (DecisionOutboxEntry entry : entries) {
+                    decisionOutboxService.process(entry);
+                }
+            }
+        } catch (Exception e) {
+            // Keep the worker scheduled; the next poll tries again
+            log.error("Decision outbox worker {} failed", workerId, e);
+        }
+    }
+}
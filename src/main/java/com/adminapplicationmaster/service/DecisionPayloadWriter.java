@@ -0,0 +1,26 @@
+package com.adminapplicationmaster.service;
+
+import org.springframework.stereotype.Component;
+
+import com.adminapplicationmaster.dto.DecisionPayload;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Serialises decision payloads with an ObjectWriter resolved once for DecisionPayload,
+ * so no serializer lookup happens per call. Jackson recycles its output buffers between calls.
+ */
+@Component
+public class DecisionPayloadWriter {
+
+    private final ObjectWriter writer;
+
+    public DecisionPayloadWriter(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writerFor(DecisionPayload.class);
+    }
+
+    public byte[] write(DecisionPayload payload) throws JsonProcessingException {
+        return writer.writeValueAsBytes(payload);
+    }
+}
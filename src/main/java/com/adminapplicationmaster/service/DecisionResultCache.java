@@ -0,0 +1,80 @@
+package com.adminapplicationmaster.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Remembers which ApplicationDecision was produced for a given decision request payload.
+ * The key is a SHA-256 fingerprint of the payload, so any change to the application inputs misses.
+ */
+@Component
+public class DecisionResultCache {
+
+    private final Cache<String, Long> decisionIds;
+    private final boolean enabled;
+
+    public DecisionResultCache(@Value("${decision.cache.enabled:true}") boolean enabled,
+                               @Value("${decision.cache.ttl:PT15M}") Duration ttl,
+                               @Value("${decision.cache.max-size:10000}") long maxSize) {
+        this.enabled = enabled;
+        this.decisionIds = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Fingerprint of the serialised payload. DecisionPayload is a record, so its field order is fixed.
+     */
+    public String fingerprint(byte[] payload) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(payload);
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Id of the decision previously stored for this fingerprint, or null
+     */
+    public Long get(String fingerprint) {
+        return enabled && fingerprint != null ? decisionIds.getIfPresent(fingerprint) : null;
+    }
+
+    public void put(String fingerprint, Long decisionId) {
+        if (enabled && fingerprint != null && decisionId != null) {
+            decisionIds.put(fingerprint, decisionId);
+        }
+    }
+
+    public void invalidate(String fingerprint) {
+        if (fingerprint != null) {
+            decisionIds.invalidate(fingerprint);
+        }
+    }
+
+    public Map<String, Object> snapshot() {
+        CacheStats stats = decisionIds.stats();
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("enabled", enabled);
+        snapshot.put("size", decisionIds.estimatedSize());
+        snapshot.put("hits", stats.hitCount());
+        snapshot.put("misses", stats.missCount());
+        snapshot.put("hitRate", stats.hitRate());
+        snapshot.put("evictions", stats.evictionCount());
+        return snapshot;
+    }
+}
@@ -1,5 +1,9 @@
 package com.adminapplicationmaster.service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -10,6 +14,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import com.adminapplicationmaster.dto.DecisionResult;
+import com.adminapplicationmaster.resilience.CallNotPermittedException;
+import com.adminapplicationmaster.resilience.DependencyGuard;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.extern.slf4j.Slf4j;
@@ -20,6 +27,7 @@ public class DecisionService {
 
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final DependencyGuard guard;
 
     @Value("${decision.service.host}")
     private String host;
@@ -27,12 +35,43 @@ public class DecisionService {
     @Value("${decision.service.api.token:}")
     private String apiToken;
 
-    public DecisionService(RestTemplate restTemplate, ObjectMapper objectMapper) {
+    public DecisionService(RestTemplate restTemplate, ObjectMapper objectMapper,
+                           @Qualifier("decisionServiceGuard") DependencyGuard guard) {
         this.restTemplate = restTemplate;
         this.objectMapper = objectMapper;
+        this.guard = guard;
+    }
+
+    /**
+     * Send an already serialised payload and parse the response in one streaming pass
+     */
+    public DecisionResult decide(byte[] payload) {
+        ResponseEntity<byte[]> response = post(() -> payload, byte[].class,
+                error -> error.getBytes(StandardCharsets.UTF_8));
+        if (response == null) {
+            return DecisionResult.of(HttpStatus.INTERNAL_SERVER_ERROR.value(), null);
+        }
+        return DecisionResult.of(response.getStatusCode().value(), response.getBody());
     }
 
+    /**
+     * Call the decision service and return the raw response body
+     */
     public ResponseEntity<String> getDecision(Object application) {
+        ResponseEntity<String> response = post(() -> objectMapper.writeValueAsString(application),
+                String.class, error -> error);
+        if (response != null) {
+            log.debug("Decision service response body: {}", response.getBody());
+        }
+        return response;
+    }
+
+    @FunctionalInterface
+    private interface RequestBodyWriter {
+        Object write() throws Exception;
+    }
+
+    private <T> ResponseEntity<T> post(RequestBodyWriter bodyWriter, Class<T> responseType, Function<String, T> errorBody) {
         try {
             String url = host + "/api/v1/decisions";
             
@@ -53,14 +92,15 @@ public class DecisionService {
                 log.warn("No API token configured - NOT sending API-TOKEN header");
             }
 
-            String requestBody = objectMapper.writeValueAsString(application);
-            log.info("Request payload: {}", requestBody);
+            Object requestBody = bodyWriter.write();
+            log.info("Request payload: {}", requestBody instanceof byte[] bytes ? bytes.length + " bytes" : requestBody);
             
-            HttpEntity<String> request = new HttpEntity<>(requestBody, headers);
+            HttpEntity<Object> request = new HttpEntity<>(requestBody, headers);
 
-            ResponseEntity<String> response = restTemplate.postForEntity(url, request, String.class);
-            log.info("Decision service response status: {}", response.getStatusCode());
-            log.debug("Decision service response body: {}", response.getBody());
+            ResponseEntity<T> response = guard.execute(() -> restTemplate.postForEntity(url, request, responseType));
+            if (response != null) {
+                log.info("Decision service response status: {}", response.getStatusCode());
+            }
             
             return response;
             
@@ -69,29 +109,34 @@ public class DecisionService {
                      e.getStatusCode(), e.getResponseBodyAsString());
             log.error("Full exception: ", e);
             return ResponseEntity.status(e.getStatusCode())
-                    .body("{\"error\": \"Decision service error: " + e.getMessage() + "\", \"details\": \"" + e.getResponseBodyAsString() + "\"}");
+                    .body(errorBody.apply("{\"error\": \"Decision service error: " + e.getMessage() + "\", \"details\": \"" + e.getResponseBodyAsString() + "\"}"));
                     
         } catch (org.springframework.web.client.HttpServerErrorException e) {
             log.error("Decision service HTTP server error - Status: {}, Response: {}", 
                      e.getStatusCode(), e.getResponseBodyAsString());
             log.error("Full exception: ", e);
             return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
-                    .body("{\"error\": \"Decision service unavailable: " + e.getMessage() + "\"}");
+                    .body(errorBody.apply("{\"error\": \"Decision service unavailable: " + e.getMessage() + "\"}"));
                     
         } catch (org.springframework.web.client.ResourceAccessException e) {
             log.error("Cannot reach decision service at: {}. Is it running?", host, e);
             return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
-                    .body("{\"error\": \"Cannot connect to decision service. Please ensure the service is running at " + host + "\"}");
+                    .body(errorBody.apply("{\"error\": \"Cannot connect to decision service. Please ensure the service is running at " + host + "\"}"));
                     
+        } catch (CallNotPermittedException e) {
+            log.warn("Decision service call rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(errorBody.apply("{\"error\": \"Decision service unavailable: " + e.getMessage() + "\"}"));
+
         } catch (RestClientException e) {
             log.error("Decision service REST error: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("{\"error\": \"Decision service error: " + e.getMessage() + "\"}");
+                    .body(errorBody.apply("{\"error\": \"Decision service error: " + e.getMessage() + "\"}"));
                     
         } catch (Exception e) {
             log.error("Error processing decision request: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("{\"error\": \"Decision service error: " + e.getMessage() + "\"}");
+                    .body(errorBody.apply("{\"error\": \"Decision service error: " + e.getMessage() + "\"}"));
         }
     }
 }
\ No newline at end of file
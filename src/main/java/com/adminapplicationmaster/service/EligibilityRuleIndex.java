@@ -0,0 +1,439 @@
+package com.adminapplicationmaster.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.adminapplicationmaster.service.AddressEligibilityCache.Outcome;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Known eligible and ineligible state/ZIP/county combinations, used to answer address checks
+ * while the location service is unavailable. Answers from here are provisional.
+ *
+ * The index is a file of fixed-width records sorted by key ("STATE|zip5|county") and memory-mapped
+ * read-only, so lookups are a binary search over the mapping. It is rebuilt periodically from the
+ * current file, location service answers observed since the last build and an optional import file.
+ * Only those authoritative sources feed it, never its own provisional answers, and an ineligible
+ * region stays ineligible until the import file says otherwise.
+ */
+@Service
+@Slf4j
+public class EligibilityRuleIndex {
+
+    private static final int MAGIC = 0x454C4731; // "ELG1"
+    private static final int HEADER_BYTES = 12;  // magic, record size, record count
+    private static final int KEY_BYTES = 63;
+    private static final int RECORD_BYTES = KEY_BYTES + 1;
+    private static final byte ELIGIBLE = 'E';
+    private static final byte INELIGIBLE = 'I';
+
+    // Trailing "IL 62701" or "IL, 62701-1234" of a free-form address
+    private static final Pattern STATE_ZIP = Pattern.compile("\\b([A-Za-z]{2})[\\s,]+(\\d{5})(?:-\\d{4})?\\s*$");
+
+    private record Mapped(MappedByteBuffer buffer, int count) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Path indexFile;
+    private final Path importFile;
+
+    // Answers seen since the last build; folded into the file and cleared by the next rebuild
+    private final ConcurrentMap<String, Outcome> observed = new ConcurrentHashMap<>();
+    private volatile Mapped mapped = new Mapped(null, 0);
+    private volatile LocalDateTime lastBuiltAt;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public EligibilityRuleIndex(ObjectMapper objectMapper,
+                                @Value("${location.fallback.enabled:true}") boolean enabled,
+                                @Value("${location.fallback.index-file:data/location-eligibility.idx}") String indexFile,
+                                @Value("${location.fallback.import-file:}") String importFile) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.indexFile = Path.of(indexFile);
+        this.importFile = importFile == null || importFile.isBlank() ? null : Path.of(importFile);
+    }
+
+    /**
+     * Remember a definitive location service answer for the next rebuild
+     */
+    public void record(Object address, ResponseEntity<String> response) {
+        if (!enabled) {
+            return;
+        }
+        Outcome outcome = AddressEligibilityCache.classify(response);
+        if (outcome != Outcome.ELIGIBLE && outcome != Outcome.INELIGIBLE) {
+            return;
+        }
+
+        try {
+            String key = null;
+            if (outcome == Outcome.ELIGIBLE) {
+                // The formatted address carries the county the input usually lacks
+                JsonNode formatted = objectMapper.readTree(response.getBody()).path("formatted_address");
+                key = key(formatted.path("state").asText(null), formatted.path("zip").asText(null),
+                        formatted.path("county").asText(null));
+            }
+            if (key == null) {
+                key = key(address);
+            }
+            if (key != null) {
+                observed.merge(key, outcome, EligibilityRuleIndex::merge);
+            }
+        } catch (Exception e) {
+            log.debug("Could not record location answer for eligibility index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Synthesised location service response for an address the index knows about, or null.
+     * Same shape as a real response plus "provisional": true.
+     */
+    public ResponseEntity<String> fallback(Object address) {
+        if (!enabled) {
+            return null;
+        }
+        Outcome outcome = lookup(address);
+        if (outcome == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("provisional", true);
+        if (outcome == Outcome.INELIGIBLE) {
+            body.put("message", "address not eligible");
+            return ResponseEntity.ok(body.toString());
+        }
+
+        body.put("message", "address_eligible");
+        ObjectNode formatted = body.putObject("formatted_address");
+        if (address instanceof Map<?, ?> fields) {
+            formatted.put("street", text(fields.get("street")));
+            formatted.put("city", text(fields.get("city")));
+            formatted.put("state", text(fields.get("state")));
+            formatted.put("zip", text(fields.get("zip")));
+            formatted.put("county", text(fields.get("county")));
+        } else {
+            String[] region = region(address);
+            formatted.put("street", text(address));
+            formatted.put("city", "");
+            formatted.put("state", region == null ? "" : region[0]);
+            formatted.put("zip", region == null ? "" : region[1]);
+            formatted.put("county", "");
+        }
+        return ResponseEntity.ok(body.toString());
+    }
+
+    /**
+     * Eligibility for the address's region. Without a county, answers only when every known
+     * county in that state and ZIP agrees.
+     */
+    Outcome lookup(Object address) {
+        String[] region = region(address);
+        if (region == null) {
+            return null;
+        }
+        String prefix = region[0] + "|" + region[1] + "|";
+
+        if (!region[2].isEmpty()) {
+            String key = prefix + region[2];
+            Outcome outcome = merge(find(mapped, key), observed.get(key));
+            if (outcome != null) {
+                return outcome;
+            }
+        }
+
+        Outcome agreed = null;
+        for (Map.Entry<String, Outcome> entry : observed.entrySet()) {
+            if (entry.getKey().startsWith(prefix)) {
+                if (agreed != null && agreed != entry.getValue()) {
+                    return null;
+                }
+                agreed = entry.getValue();
+            }
+        }
+        Mapped current = mapped;
+        byte[] prefixBytes = prefix.getBytes(StandardCharsets.US_ASCII);
+        for (int i = lowerBound(current, pad(prefixBytes)); i < current.count() && startsWith(current, i, prefixBytes); i++) {
+            Outcome outcome = outcomeAt(current, i);
+            if (agreed != null && agreed != outcome) {
+                return null;
+            }
+            agreed = outcome;
+        }
+        return agreed;
+    }
+
+    /**
+     * Merge every source into a new sorted file, swap it in atomically and map it
+     */
+    @Scheduled(fixedDelayString = "${location.fallback.rebuild-interval:PT1H}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (mapped.buffer() == null && Files.exists(indexFile)) {
+                mapped = open(indexFile);
+            }
+
+            // Fresh answers are merged into the stored file; the operator's import file has the last word
+            TreeMap<String, Outcome> entries = new TreeMap<>();
+            Mapped current = mapped;
+            for (int i = 0; i < current.count(); i++) {
+                entries.put(keyAt(current, i), outcomeAt(current, i));
+            }
+            Map<String, Outcome> folded = Map.copyOf(observed);
+            folded.forEach((key, outcome) -> entries.merge(key, outcome, EligibilityRuleIndex::merge));
+            if (importFile != null && Files.exists(importFile)) {
+                readImportFile(importFile, entries);
+            }
+
+            write(entries);
+            mapped = open(indexFile);
+            folded.forEach(observed::remove);
+            lastBuiltAt = LocalDateTime.now();
+            log.info("Eligibility rule index rebuilt with {} entries", entries.size());
+        } catch (Exception e) {
+            log.error("Failed to rebuild eligibility rule index", e);
+        }
+    }
+
+    /**
+     * One eligible address does not make its region eligible, so an ineligible answer is never overridden
+     */
+    private static Outcome merge(Outcome known, Outcome observed) {
+        if (known == null) {
+            return observed;
+        }
+        return known == Outcome.INELIGIBLE || observed == null ? known : observed;
+    }
+
+    private void readImportFile(Path file, Map<String, Outcome> entries) throws IOException {
+        // state,zip,county,eligible|ineligible - blank lines, comments and a header row are skipped
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        for (String line : lines) {
+            String[] columns = line.split(",", -1);
+            if (line.isBlank() || line.startsWith("#") || columns.length < 4) {
+                continue;
+            }
+            String key = key(columns[0], columns[1], columns[2]);
+            String verdict = columns[3].trim().toLowerCase(Locale.ROOT);
+            if (key == null || !(verdict.equals("eligible") || verdict.equals("ineligible"))) {
+                continue;
+            }
+            entries.put(key, verdict.equals("eligible") ? Outcome.ELIGIBLE : Outcome.INELIGIBLE);
+        }
+    }
+
+    private void write(TreeMap<String, Outcome> entries) throws IOException {
+        Path directory = indexFile.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, indexFile.getFileName().toString(), ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + RECORD_BYTES * 1024);
+            buffer.putInt(MAGIC).putInt(RECORD_BYTES).putInt(entries.size());
+            for (Map.Entry<String, Outcome> entry : entries.entrySet()) {
+                if (buffer.remaining() < RECORD_BYTES) {
+                    drain(buffer, channel);
+                }
+                buffer.put(pad(entry.getKey().getBytes(StandardCharsets.US_ASCII)));
+                buffer.put(entry.getValue() == Outcome.ELIGIBLE ? ELIGIBLE : INELIGIBLE);
+            }
+            drain(buffer, channel);
+            channel.force(true);
+        }
+        Files.move(temp, indexFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void drain(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static Mapped open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (channel.size() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != RECORD_BYTES) {
+                throw new IOException("Not an eligibility index file: " + file);
+            }
+            return new Mapped(buffer, buffer.getInt(8));
+        }
+    }
+
+    private static Outcome find(Mapped current, String key) {
+        byte[] padded = pad(key.getBytes(StandardCharsets.US_ASCII));
+        int index = lowerBound(current, padded);
+        if (index < current.count() && compareAt(current, index, padded) == 0) {
+            return outcomeAt(current, index);
+        }
+        return null;
+    }
+
+    // First record whose key is not below the given padded key
+    private static int lowerBound(Mapped current, byte[] padded) {
+        int low = 0;
+        int high = current.count();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareAt(current, middle, padded) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int compareAt(Mapped current, int index, byte[] padded) {
+        int offset = HEADER_BYTES + index * RECORD_BYTES;
+        for (int i = 0; i < KEY_BYTES; i++) {
+            int difference = Byte.compareUnsigned(current.buffer().get(offset + i), padded[i]);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return 0;
+    }
+
+    private static boolean startsWith(Mapped current, int index, byte[] prefix) {
+        int offset = HEADER_BYTES + index * RECORD_BYTES;
+        for (int i = 0; i < prefix.length; i++) {
+            if (current.buffer().get(offset + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String keyAt(Mapped current, int index) {
+        int offset = HEADER_BYTES + index * RECORD_BYTES;
+        byte[] key = new byte[KEY_BYTES];
+        current.buffer().get(offset, key);
+        int length = 0;
+        while (length < KEY_BYTES && key[length] != 0) {
+            length++;
+        }
+        return new String(key, 0, length, StandardCharsets.US_ASCII);
+    }
+
+    private static Outcome outcomeAt(Mapped current, int index) {
+        byte outcome = current.buffer().get(HEADER_BYTES + index * RECORD_BYTES + KEY_BYTES);
+        return outcome == ELIGIBLE ? Outcome.ELIGIBLE : Outcome.INELIGIBLE;
+    }
+
+    private static byte[] pad(byte[] key) {
+        byte[] padded = new byte[KEY_BYTES];
+        System.arraycopy(key, 0, padded, 0, Math.min(key.length, KEY_BYTES));
+        return padded;
+    }
+
+    /**
+     * State, ZIP and (possibly empty) county of an input address, or null if state or ZIP is unknown
+     */
+    static String[] region(Object address) {
+        String state;
+        String zip;
+        String county = "";
+        if (address instanceof Map<?, ?> fields) {
+            state = normalizeState(fields.get("state"));
+            zip = normalizeZip(fields.get("zip"));
+            county = normalizeCounty(fields.get("county"));
+        } else if (address instanceof String text) {
+            Matcher matcher = STATE_ZIP.matcher(text.trim());
+            if (!matcher.find()) {
+                return null;
+            }
+            state = normalizeState(matcher.group(1));
+            zip = normalizeZip(matcher.group(2));
+        } else {
+            return null;
+        }
+        return state == null || zip == null ? null : new String[] {state, zip, county};
+    }
+
+    private static String key(Object address) {
+        String[] region = region(address);
+        return region == null ? null : region[0] + "|" + region[1] + "|" + region[2];
+    }
+
+    static String key(String state, String zip, String county) {
+        String normalizedState = normalizeState(state);
+        String normalizedZip = normalizeZip(zip);
+        if (normalizedState == null || normalizedZip == null) {
+            return null;
+        }
+        return normalizedState + "|" + normalizedZip + "|" + normalizeCounty(county);
+    }
+
+    private static String normalizeState(Object state) {
+        String letters = state == null ? "" : state.toString().replaceAll("[^A-Za-z]", "").toUpperCase(Locale.ROOT);
+        return letters.length() == 2 ? letters : null;
+    }
+
+    private static String normalizeZip(Object zip) {
+        String digits = zip == null ? "" : zip.toString().replaceAll("\\D", "");
+        return digits.length() >= 5 ? digits.substring(0, 5) : null;
+    }
+
+    private static String normalizeCounty(Object county) {
+        if (county == null) {
+            return "";
+        }
+        String text = county.toString().toLowerCase(Locale.ROOT)
+                .replaceAll("[^a-z0-9 ]", "")
+                .replaceAll("\\s+county$", "")
+                .trim();
+        return text.equals("null") ? "" : text;
+    }
+
+    private static String text(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("enabled", enabled);
+        snapshot.put("entries", mapped.count());
+        snapshot.put("pendingObservations", observed.size());
+        snapshot.put("lastBuiltAt", lastBuiltAt);
+        snapshot.put("fallbackHits", hits.get());
+        snapshot.put("fallbackMisses", misses.get());
+        return snapshot;
+    }
+}
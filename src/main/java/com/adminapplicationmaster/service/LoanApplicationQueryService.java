@@ -0,0 +1,97 @@
+package com.adminapplicationmaster.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.adminapplicationmaster.dto.CursorPage;
+import com.adminapplicationmaster.dto.KeysetCursor;
+import com.adminapplicationmaster.dto.LatestDecision;
+import com.adminapplicationmaster.dto.LoanApplicationSummary;
+import com.adminapplicationmaster.repository.ApplicationDecisionRepository;
+import com.adminapplicationmaster.repository.LoanApplicationRepository;
+
+/**
+ * Read side of the loan applications list. A page costs one summary query plus one query
+ * for the latest decisions of the rows on it (and a count in offset mode), whatever the page size.
+ */
+@Service
+@Transactional(readOnly = true)
+public class LoanApplicationQueryService {
+
+    private final LoanApplicationRepository loanApplicationRepository;
+    private final ApplicationDecisionRepository applicationDecisionRepository;
+
+    public LoanApplicationQueryService(LoanApplicationRepository loanApplicationRepository,
+                                       ApplicationDecisionRepository applicationDecisionRepository) {
+        this.loanApplicationRepository = loanApplicationRepository;
+        this.applicationDecisionRepository = applicationDecisionRepository;
+    }
+
+    /**
+     * Offset page, optionally filtered by status
+     */
+    public Page<LoanApplicationSummary> page(String status, Pageable pageable) {
+        Page<LoanApplicationSummary> page = isFiltered(status)
+                ? loanApplicationRepository.findSummariesByStatus(status, pageable)
+                : loanApplicationRepository.findSummaries(pageable);
+        return new PageImpl<>(withLatestDecisions(page.getContent()), pageable, page.getTotalElements());
+    }
+
+    /**
+     * Keyset page after the given cursor (null for the first page), newest first
+     */
+    public CursorPage<LoanApplicationSummary> cursorPage(String status, KeysetCursor cursor, int size,
+                                                         boolean includeTotal) {
+        // One extra row tells whether there is a next page without counting
+        Pageable limit = PageRequest.of(0, size + 1);
+        boolean filtered = isFiltered(status);
+        List<LoanApplicationSummary> rows;
+        if (cursor == null) {
+            rows = filtered
+                    ? loanApplicationRepository.findNewestSummariesByStatus(status, limit)
+                    : loanApplicationRepository.findNewestSummaries(limit);
+        } else {
+            rows = filtered
+                    ? loanApplicationRepository.findNewestSummariesByStatusBefore(status, cursor.createdAt(), cursor.id(), limit)
+                    : loanApplicationRepository.findNewestSummariesBefore(cursor.createdAt(), cursor.id(), limit);
+        }
+
+        List<LoanApplicationSummary> content = rows.size() > size ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (rows.size() > size) {
+            LoanApplicationSummary last = content.get(content.size() - 1);
+            nextCursor = new KeysetCursor(last.createdAt(), last.id()).encode();
+        }
+        Long total = null;
+        if (includeTotal) {
+            total = filtered ? loanApplicationRepository.countByStatus(status) : loanApplicationRepository.count();
+        }
+
+        return new CursorPage<>(withLatestDecisions(content), content.size(), nextCursor, total);
+    }
+
+    private List<LoanApplicationSummary> withLatestDecisions(List<LoanApplicationSummary> rows) {
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        Map<Long, LatestDecision> latest = applicationDecisionRepository
+                .findLatestDecisions(rows.stream().map(LoanApplicationSummary::id).toList()).stream()
+                .collect(Collectors.toMap(LatestDecision::loanApplicationId, Function.identity()));
+        return rows.stream()
+                .map(row -> row.withLatestDecision(latest.get(row.id())))
+                .toList();
+    }
+
+    private static boolean isFiltered(String status) {
+        return status != null && !status.isEmpty();
+    }
+}
@@ -3,6 +3,7 @@ package com.adminapplicationmaster.service;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -15,6 +16,9 @@ import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import com.adminapplicationmaster.resilience.CallNotPermittedException;
+import com.adminapplicationmaster.resilience.DependencyGuard;
+import com.adminapplicationmaster.util.AddressNormalizer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.extern.slf4j.Slf4j;
@@ -25,6 +29,9 @@ public class LocationService {
 
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final DependencyGuard guard;
+    private final AddressEligibilityCache addressEligibilityCache;
+    private final EligibilityRuleIndex eligibilityRuleIndex;
 
     @Value("${location.service.host}")
     private String host;
@@ -32,12 +39,26 @@ public class LocationService {
     @Value("${location.service.api.token}")
     private String apiToken;
 
-    public LocationService(RestTemplate restTemplate, ObjectMapper objectMapper) {
+    public LocationService(RestTemplate restTemplate, ObjectMapper objectMapper,
+                           @Qualifier("locationServiceGuard") DependencyGuard guard,
+                           AddressEligibilityCache addressEligibilityCache,
+                           EligibilityRuleIndex eligibilityRuleIndex) {
         this.restTemplate = restTemplate;
         this.objectMapper = objectMapper;
+        this.guard = guard;
+        this.addressEligibilityCache = addressEligibilityCache;
+        this.eligibilityRuleIndex = eligibilityRuleIndex;
     }
 
     public ResponseEntity<String> getAddressInfo(Object address) {
+        // Same address typed again (in any spelling) - answer in-process
+        String addressKey = AddressNormalizer.normalize(address);
+        ResponseEntity<String> cached = addressEligibilityCache.get(addressKey);
+        if (cached != null) {
+            log.debug("Location service answer served from cache for address key: {}", addressKey);
+            return cached;
+        }
+
         try {
             String url = host + "/api/v1/address/eligibility_check";
             
@@ -60,23 +81,38 @@ public class LocationService {
             
             HttpEntity<String> request = new HttpEntity<>(requestBodyJson, headers);
 
-            ResponseEntity<String> response = restTemplate.postForEntity(url, request, String.class);
+            ResponseEntity<String> response = guard.execute(() -> restTemplate.postForEntity(url, request, String.class));
             
             log.debug("Location service response status: {}, body: {}", 
                     response.getStatusCode(), response.getBody());
-            
+
+            addressEligibilityCache.put(addressKey, response);
+            eligibilityRuleIndex.record(address, response);
             return response;
             
-        } catch (HttpClientErrorException | HttpServerErrorException e) {
-            // HTTP error responses (4xx, 5xx)
+        } catch (HttpClientErrorException e) {
+            // HTTP error responses (4xx)
             log.error("Location service HTTP error: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsString());
-            
+            ResponseEntity<String> response = ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsString());
+            addressEligibilityCache.put(addressKey, response);
+            return response;
+
+        } catch (HttpServerErrorException e) {
+            // HTTP error responses (5xx) - answer provisionally from the rule index when it knows the region
+            log.error("Location service HTTP error: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
+            ResponseEntity<String> fallback = eligibilityRuleIndex.fallback(address);
+            return fallback != null ? fallback
+                    : ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsString());
+
+        } catch (CallNotPermittedException e) {
+            // Circuit breaker open or too many calls in flight - fail fast
+            log.warn("Location service call rejected: {}", e.getMessage());
+            return unavailable(address);
+
         } catch (RestClientException e) {
             // Connection errors, timeouts, etc.
             log.error("Location service connection error: {}", e.getMessage(), e);
-            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
-                    .body("{\"message\":\"Location service unavailable\"}");
+            return unavailable(address);
                     
         } catch (Exception e) {
             // JSON processing or other errors
@@ -85,4 +121,17 @@ public class LocationService {
                     .body("{\"message\":\"Error processing location request\"}");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Provisional answer from the rule index, or 503 when it does not know the address's region
+     */
+    private ResponseEntity<String> unavailable(Object address) {
+        ResponseEntity<String> fallback = eligibilityRuleIndex.fallback(address);
+        if (fallback != null) {
+            log.info("Location service unavailable, answering provisionally from the eligibility rule index");
+            return fallback;
+        }
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body("{\"message\":\"Location service unavailable\"}");
+    }
+}
@@ -0,0 +1,314 @@
+package com.adminapplicationmaster.service;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.adminapplicationmaster.domain.entity.LoanApplication;
+import com.adminapplicationmaster.util.EncryptionUtil;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rewrites every encrypted column with the current scheme and key, e.g. after a key rotation or to
+ * retire legacy AES/ECB values, and backfills ssn_last4 on the way.
+ *
+ * Each table is walked in id ranges. A range is streamed through a JDBC cursor, re-encrypted on a
+ * worker pool, written back with batched updates and checkpointed in reencryption_progress in the
+ * same transaction, so a crashed or stopped run resumes from the last committed range.
+ * Updates only apply if the value is still the one that was read, so concurrent saves are never overwritten.
+ * A value that cannot be decrypted is logged, counted in rows_failed and left as it is; the run carries on.
+ */
+@Service
+@Slf4j
+public class ReEncryptionJob {
+
+    static final List<Target> TARGETS = List.of(
+            new Target("loan_applications", List.of(new Column("ssn", "ssn_last4"))),
+            new Target("application_decisions", List.of(
+                    new Column("encrypted_request", null),
+                    new Column("encrypted_response", null))));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EncryptionUtil encryptionUtil;
+    private final int rangeSize;
+    private final int batchSize;
+    private final int threads;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public ReEncryptionJob(JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           EncryptionUtil encryptionUtil,
+                           @Value("${encryption.reencrypt.range-size:5000}") int rangeSize,
+                           @Value("${encryption.reencrypt.batch-size:500}") int batchSize,
+                           @Value("${encryption.reencrypt.threads:0}") int threads) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.encryptionUtil = encryptionUtil;
+        this.rangeSize = rangeSize;
+        this.batchSize = batchSize;
+        // AES is CPU bound, so by default one worker per core
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Start a run in the background, resuming an unfinished one
+     *
+     * @return false if a run is already in progress on this node
+     */
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread.ofVirtual().name("reencryption-job").start(() -> {
+            try {
+                run();
+            } catch (Exception e) {
+                log.error("Re-encryption failed; starting it again resumes from the last checkpoint", e);
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * One row per table: the last id processed, rows rewritten so far, and when the run started and completed
+     */
+    public List<Map<String, Object>> progress() {
+        return jdbcTemplate.queryForList(
+                "SELECT target, last_id, rows_updated, rows_failed, started_at, updated_at, completed_at "
+                + "FROM reencryption_progress ORDER BY target");
+    }
+
+    void run() {
+        prepare();
+        try (ExecutorService workers = Executors.newFixedThreadPool(threads)) {
+            for (Target target : TARGETS) {
+                runTarget(target, workers);
+            }
+        }
+        log.info("Re-encryption completed: {}", progress());
+    }
+
+    // A finished run is started over (the next rotation); an unfinished one keeps its checkpoints
+    private void prepare() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            for (Target target : TARGETS) {
+                jdbcTemplate.update("INSERT INTO reencryption_progress (target, last_id, rows_updated, rows_failed, started_at, updated_at) "
+                        + "VALUES (?, 0, 0, 0, ?, ?) ON CONFLICT DO NOTHING", target.table(), now, now);
+            }
+            Integer unfinished = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM reencryption_progress WHERE completed_at IS NULL", Integer.class);
+            if (unfinished != null && unfinished == 0) {
+                jdbcTemplate.update("UPDATE reencryption_progress SET last_id = 0, rows_updated = 0, rows_failed = 0, "
+                        + "started_at = ?, updated_at = ?, completed_at = NULL", now, now);
+            }
+        });
+    }
+
+    private void runTarget(Target target, ExecutorService workers) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + target.table(), Long.class);
+        boolean more = true;
+        while (more) {
+            more = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                // Locking the checkpoint keeps a run started on another node off the same range
+                Map<String, Object> checkpoint = jdbcTemplate.queryForMap(
+                        "SELECT last_id, completed_at FROM reencryption_progress WHERE target = ? FOR UPDATE",
+                        target.table());
+                if (checkpoint.get("completed_at") != null) {
+                    return false;
+                }
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                long from = ((Number) checkpoint.get("last_id")).longValue();
+                if (maxId == null || from >= maxId) {
+                    // Rows added since the run started were written with the current key
+                    jdbcTemplate.update("UPDATE reencryption_progress SET updated_at = ?, completed_at = ? WHERE target = ?",
+                            now, now, target.table());
+                    return false;
+                }
+
+                long to = Math.min(from + rangeSize, maxId);
+                RangeResult result = processRange(target, from, to, workers);
+                jdbcTemplate.update("UPDATE reencryption_progress SET last_id = ?, rows_updated = rows_updated + ?, "
+                        + "rows_failed = rows_failed + ?, updated_at = ? WHERE target = ?",
+                        to, result.updated(), result.failed(), now, target.table());
+                log.debug("Re-encrypted {} rows of {} up to id {}", result.updated(), target.table(), to);
+                return true;
+            }));
+        }
+    }
+
+    private RangeResult processRange(Target target, long fromExclusive, long toInclusive, ExecutorService workers) {
+        List<Future<Rewrite>> rewrites = new ArrayList<>();
+        List<Row> rows = new ArrayList<>(batchSize);
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(target.selectSql(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // Stream the range instead of materialising it in the driver
+            ps.setFetchSize(batchSize);
+            ps.setLong(1, fromExclusive);
+            ps.setLong(2, toInclusive);
+            return ps;
+        }, rs -> {
+            Map<String, String> values = new HashMap<>();
+            for (String column : target.selectedColumns()) {
+                values.put(column, rs.getString(column));
+            }
+            rows.add(new Row(rs.getLong("id"), values));
+            if (rows.size() == batchSize) {
+                List<Row> batch = List.copyOf(rows);
+                rows.clear();
+                rewrites.add(workers.submit(() -> rewrite(target, batch)));
+            }
+        });
+        if (!rows.isEmpty()) {
+            List<Row> batch = List.copyOf(rows);
+            rewrites.add(workers.submit(() -> rewrite(target, batch)));
+        }
+
+        int updated = 0;
+        int failed = 0;
+        try {
+            for (Future<Rewrite> future : rewrites) {
+                Rewrite rewrite = future.get();
+                updated += write(rewrite.updates());
+                failed += rewrite.failed();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Re-encryption interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Re-encryption of " + target.table() + " failed", e.getCause());
+        }
+        return new RangeResult(updated, failed);
+    }
+
+    /**
+     * The updates a batch of rows needs: values not yet under the current key, and missing last-four columns.
+     * Each value is decrypted once, which both checks its key and yields the plaintext to re-encrypt.
+     */
+    Rewrite rewrite(Target target, List<Row> rows) {
+        List<Update> updates = new ArrayList<>();
+        int failed = 0;
+        for (Row row : rows) {
+            for (Column column : target.columns()) {
+                String stored = row.values().get(column.name());
+                if (stored == null || stored.isEmpty()) {
+                    continue;
+                }
+                boolean missingLastFour = column.lastFourColumn() != null
+                        && row.values().get(column.lastFourColumn()) == null;
+                // Without a previous key every value in the current format is under the current key
+                if (!missingLastFour && !encryptionUtil.hasPreviousKey() && EncryptionUtil.isCurrentFormat(stored)) {
+                    continue;
+                }
+
+                EncryptionUtil.Decrypted decrypted;
+                try {
+                    decrypted = encryptionUtil.decryptAndCheckKey(stored);
+                } catch (RuntimeException e) {
+                    log.warn("Skipping {}.{} of row {}: it cannot be decrypted with the configured keys",
+                            target.table(), column.name(), row.id());
+                    failed++;
+                    continue;
+                }
+                if (decrypted.currentKey() && !missingLastFour) {
+                    continue;
+                }
+                updates.add(new Update(target.table(), column, row.id(), stored,
+                        decrypted.currentKey() ? stored : encryptionUtil.encrypt(decrypted.plaintext()),
+                        column.lastFourColumn() == null ? null : LoanApplication.lastFourOf(decrypted.plaintext())));
+            }
+        }
+        return new Rewrite(updates, failed);
+    }
+
+    private int write(List<Update> updates) {
+        int updated = 0;
+        Map<String, List<Update>> bySql = new HashMap<>();
+        updates.forEach(update -> bySql.computeIfAbsent(update.sql(), sql -> new ArrayList<>()).add(update));
+        for (Map.Entry<String, List<Update>> group : bySql.entrySet()) {
+            int[][] counts = jdbcTemplate.batchUpdate(group.getKey(), group.getValue(), batchSize, (ps, update) -> {
+                int index = 1;
+                ps.setString(index++, update.ciphertext());
+                if (update.column().lastFourColumn() != null) {
+                    ps.setString(index++, update.lastFour());
+                }
+                ps.setLong(index++, update.id());
+                ps.setString(index, update.stored());
+            });
+            for (int[] batch : counts) {
+                for (int count : batch) {
+                    // Drivers may report success without a row count
+                    updated += count > 0 || count == Statement.SUCCESS_NO_INFO ? 1 : 0;
+                }
+            }
+        }
+        return updated;
+    }
+
+    record Target(String table, List<Column> columns) {
+
+        List<String> selectedColumns() {
+            return columns.stream()
+                    .flatMap(column -> column.lastFourColumn() == null
+                            ? Stream.of(column.name())
+                            : Stream.of(column.name(), column.lastFourColumn()))
+                    .toList();
+        }
+
+        String selectSql() {
+            return "SELECT id, " + String.join(", ", selectedColumns()) + " FROM " + table
+                    + " WHERE id > ? AND id <= ? ORDER BY id";
+        }
+    }
+
+    // lastFourColumn, when set, is backfilled from the plaintext
+    record Column(String name, String lastFourColumn) {
+    }
+
+    record Row(long id, Map<String, String> values) {
+    }
+
+    // failed counts the values that could not be decrypted and were left as they are
+    record Rewrite(List<Update> updates, int failed) {
+    }
+
+    record RangeResult(int updated, int failed) {
+    }
+
+    // Only applies while the column still holds the value that was read
+    record Update(String table, Column column, long id, String stored, String ciphertext, String lastFour) {
+
+        String sql() {
+            return "UPDATE " + table + " SET " + column.name() + " = ?"
+                    + (column.lastFourColumn() == null ? "" : ", " + column.lastFourColumn() + " = ?")
+                    + " WHERE id = ? AND " + column.name() + " = ?";
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.adminapplicationmaster.service;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.adminapplicationmaster.domain.entity.LoanApplication;
+import com.adminapplicationmaster.util.EncryptionUtil;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One-time migration encrypting SSNs that were stored as plain 9-digit strings (e.g. by seed_data.sql).
+ * Its completion is recorded in data_migrations, so startup only looks up that one row; when it is missing
+ * the migration runs in the background, and it can always be run again via POST /api/v1/encryption/ssn-migration.
+ * Plaintext rows are found in the raw column, without decrypting anything, and encrypted in keyset batches;
+ * each batch commits on its own, so an interrupted run simply continues with the rows still in plaintext.
+ */
+@Service
+@Slf4j
+public class SsnEncryptionMigration {
+
+    static final String VERSION = "001-encrypt-plaintext-ssns";
+
+    private static final String SELECT_PLAINTEXT_SQL =
+            "SELECT id, ssn FROM loan_applications WHERE id > ? AND ssn ~ '^[0-9]{9}$' ORDER BY id LIMIT ?";
+
+    // Skips rows saved (and so encrypted) by the application since they were read
+    private static final String UPDATE_SQL =
+            "UPDATE loan_applications SET ssn = ?, ssn_last4 = ? WHERE id = ? AND ssn = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EncryptionUtil encryptionUtil;
+    private final boolean runOnStartup;
+    private final int batchSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public SsnEncryptionMigration(JdbcTemplate jdbcTemplate,
+                                  EncryptionUtil encryptionUtil,
+                                  @Value("${encryption.ssn-migration.run-on-startup:true}") boolean runOnStartup,
+                                  @Value("${encryption.ssn-migration.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.encryptionUtil = encryptionUtil;
+        this.runOnStartup = runOnStartup;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!runOnStartup) {
+            return;
+        }
+        boolean completed;
+        try {
+            completed = isCompleted();
+        } catch (DataAccessException e) {
+            // e.g. data_migrations not created yet; the schema is not migrated automatically
+            log.error("Skipping SSN encryption migration on startup: could not read data_migrations", e);
+            return;
+        }
+        if (!completed) {
+            startInBackground();
+        }
+    }
+
+    /**
+     * @return false if the migration is already running on this node
+     */
+    public boolean startInBackground() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread.ofVirtual().name("ssn-encryption-migration").start(() -> {
+            try {
+                migrate();
+            } catch (Exception e) {
+                log.error("Error during SSN encryption migration", e);
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public boolean isCompleted() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM data_migrations WHERE version = ? AND completed_at IS NOT NULL)",
+                Boolean.class, VERSION));
+    }
+
+    /**
+     * @return number of SSNs encrypted
+     */
+    int migrate() {
+        log.info("Starting SSN encryption migration...");
+        jdbcTemplate.update("INSERT INTO data_migrations (version, started_at) VALUES (?, ?) "
+                + "ON CONFLICT (version) DO UPDATE SET started_at = EXCLUDED.started_at, completed_at = NULL",
+                VERSION, Timestamp.valueOf(LocalDateTime.now()));
+
+        long lastId = 0;
+        int encrypted = 0;
+        List<PlaintextSsn> batch;
+        do {
+            batch = jdbcTemplate.query(SELECT_PLAINTEXT_SQL,
+                    (rs, rowNum) -> new PlaintextSsn(rs.getLong("id"), rs.getString("ssn")), lastId, batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            int[][] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batchSize, (ps, row) -> {
+                ps.setString(1, encryptionUtil.encrypt(row.ssn()));
+                ps.setString(2, LoanApplication.lastFourOf(row.ssn()));
+                ps.setLong(3, row.id());
+                ps.setString(4, row.ssn());
+            });
+            for (int[] batchCounts : counts) {
+                for (int count : batchCounts) {
+                    encrypted += count > 0 || count == Statement.SUCCESS_NO_INFO ? 1 : 0;
+                }
+            }
+            lastId = batch.get(batch.size() - 1).id();
+        } while (batch.size() == batchSize);
+
+        jdbcTemplate.update("UPDATE data_migrations SET completed_at = ?, rows_affected = ? WHERE version = ?",
+                Timestamp.valueOf(LocalDateTime.now()), encrypted, VERSION);
+        log.info("SSN encryption migration completed. Encrypted {} records.", encrypted);
+        return encrypted;
+    }
+
+    record PlaintextSsn(long id, String ssn) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.adminapplicationmaster.stub;
+
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/**
+ * Response delay for a stub service. Samples are clamped to [min, max].
+ * FIXED always returns the median, UNIFORM spreads evenly between min and max,
+ * LOGNORMAL has the configured median and p99, giving the long right tail real services show.
+ */
+public class LatencyDistribution {
+
+    public enum Type { FIXED, UNIFORM, LOGNORMAL }
+
+    // Standard normal quantile for the 99th percentile
+    private static final double Z_99 = 2.3263;
+
+    private final Type type;
+    private final long minNanos;
+    private final long medianNanos;
+    private final long maxNanos;
+    private final double mu;
+    private final double sigma;
+
+    public LatencyDistribution(Type type, Duration min, Duration median, Duration p99, Duration max) {
+        this.type = type;
+        this.minNanos = min.toNanos();
+        this.medianNanos = median.toNanos();
+        this.maxNanos = max.toNanos();
+        this.mu = Math.log(Math.max(medianNanos, 1));
+        this.sigma = Math.max(0.0, (Math.log(Math.max(p99.toNanos(), 1)) - mu) / Z_99);
+    }
+
+    public static LatencyDistribution from(StubServiceProperties.Latency latency) {
+        return new LatencyDistribution(latency.getDistribution(), latency.getMin(), latency.getMedian(),
+                latency.getP99(), latency.getMax());
+    }
+
+    public Duration sample(RandomGenerator random) {
+        long nanos = switch (type) {
+            case FIXED -> medianNanos;
+            case UNIFORM -> minNanos + (long) (random.nextDouble() * (maxNanos - minNanos));
+            case LOGNORMAL -> (long) Math.exp(mu + sigma * random.nextGaussian());
+        };
+        return Duration.ofNanos(Math.min(Math.max(nanos, minNanos), maxNanos));
+    }
+}
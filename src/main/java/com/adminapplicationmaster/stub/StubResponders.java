@@ -0,0 +1,82 @@
+package com.adminapplicationmaster.stub;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Response bodies for the stub services, following the contracts DecisionService and LocationService consume.
+ * Outcomes are derived from a hash of the request body, so the same input always gets the same answer.
+ */
+public final class StubResponders {
+
+    private StubResponders() {
+    }
+
+    /**
+     * POST /api/v1/decisions - {"final_decision": "eligible" | "decline", ...}
+     */
+    public static Function<byte[], String> decision(ObjectMapper objectMapper, StubServiceProperties properties) {
+        return body -> {
+            try {
+                JsonNode request = objectMapper.readTree(body);
+                String decision = bucket(body) < properties.getEligibleRate() ? "eligible" : "decline";
+
+                Map<String, Object> response = new LinkedHashMap<>();
+                response.put("application_id", request.path("applicationId").isMissingNode()
+                        ? null : request.path("applicationId").asLong());
+                response.put("final_decision", decision);
+                response.put("reason", "eligible".equals(decision) ? "Stub approval" : "Stub decline");
+                return objectMapper.writeValueAsString(response);
+            } catch (Exception e) {
+                throw new IllegalArgumentException("Invalid decision request: " + e.getMessage(), e);
+            }
+        };
+    }
+
+    /**
+     * POST /api/v1/address/eligibility_check - {"message": "address_eligible", "formatted_address": {...}},
+     * {"message": "address not eligible"} or {"message": "Address Not found"}
+     */
+    public static Function<byte[], String> location(ObjectMapper objectMapper, StubServiceProperties properties) {
+        return body -> {
+            try {
+                JsonNode address = objectMapper.readTree(body).path("address");
+                if (address.isMissingNode() || address.isNull()) {
+                    return objectMapper.writeValueAsString(Map.of("message", "address missing"));
+                }
+
+                double bucket = bucket(body);
+                if (bucket < properties.getNotFoundRate()) {
+                    return objectMapper.writeValueAsString(Map.of("message", "Address Not found"));
+                }
+                if (bucket >= properties.getNotFoundRate() + properties.getEligibleRate()) {
+                    return objectMapper.writeValueAsString(Map.of("message", "address not eligible"));
+                }
+
+                Map<String, Object> formatted = new LinkedHashMap<>();
+                formatted.put("street", address.isTextual() ? address.asText() : address.path("street").asText(""));
+                formatted.put("city", address.path("city").asText("Springfield"));
+                formatted.put("zip", address.path("zip").asText("62701"));
+                formatted.put("state", address.path("state").asText("IL"));
+                formatted.put("county", address.path("county").asText("Sangamon"));
+
+                Map<String, Object> response = new LinkedHashMap<>();
+                response.put("message", "address_eligible");
+                response.put("formatted_address", formatted);
+                return objectMapper.writeValueAsString(response);
+            } catch (Exception e) {
+                throw new IllegalArgumentException("Invalid location request: " + e.getMessage(), e);
+            }
+        };
+    }
+
+    // Stable value in [0, 1) for a request body
+    private static double bucket(byte[] body) {
+        return Math.floorMod(Arrays.hashCode(body), 10_000) / 10_000.0;
+    }
+}
@@ -0,0 +1,146 @@
+package com.adminapplicationmaster.stub;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Minimal HTTP server standing in for a downstream service.
+ * Every request waits for a sampled latency, then fails, times out or is answered by the responder
+ * according to the configured rates. Requests are handled on virtual threads so slow responses
+ * do not limit concurrency.
+ */
+@Slf4j
+public class StubServer {
+
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(5);
+
+    private final String name;
+    private final String path;
+    private final StubServiceProperties properties;
+    private final LatencyDistribution latency;
+    private final Function<byte[], String> responder;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public StubServer(String name, String path, StubServiceProperties properties, Function<byte[], String> responder) {
+        this.name = name;
+        this.path = path;
+        this.properties = properties;
+        this.latency = LatencyDistribution.from(properties.getLatency());
+        this.responder = responder;
+    }
+
+    public void start() throws IOException {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress(properties.getPort()), 1024);
+        server.createContext(path, this::handle);
+        server.setExecutor(executor);
+        server.start();
+        log.info("Stub {} listening on port {} at {}", name, properties.getPort(), path);
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            // Interrupts delayed responses, which may otherwise hold shutdown for up to timeout-delay
+            executor.shutdownNow();
+            try {
+                if (!executor.awaitTermination(STOP_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                    log.warn("Stub {} still had requests in flight {} after stopping", name, STOP_TIMEOUT);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Requests served so far and how many of them were failed or timed out on purpose
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("requests", requests.sum());
+        snapshot.put("errors", errors.sum());
+        snapshot.put("timeouts", timeouts.sum());
+        return snapshot;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            requests.increment();
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, "{\"message\":\"Method not allowed\"}");
+                return;
+            }
+            byte[] body = exchange.getRequestBody().readAllBytes();
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            double roll = random.nextDouble();
+            if (roll < properties.getTimeoutRate()) {
+                timeouts.increment();
+                sleep(properties.getTimeoutDelay());
+                send(exchange, 504, "{\"message\":\"Stub timeout\"}");
+                return;
+            }
+
+            sleep(latency.sample(random));
+
+            if (roll < properties.getTimeoutRate() + properties.getErrorRate()) {
+                errors.increment();
+                send(exchange, properties.getErrorStatus(), "{\"error\":\"Stub " + name + " error\"}");
+                return;
+            }
+
+            send(exchange, 200, responder.apply(body));
+        } catch (Exception e) {
+            log.warn("Stub {} failed to handle request: {}", name, e.getMessage());
+            try {
+                send(exchange, 500, "{\"error\":\"Stub " + name + " failure\"}");
+            } catch (IOException ignored) {
+                // Response already started or client gone
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private void sleep(Duration duration) throws InterruptedException {
+        if (!duration.isZero()) {
+            Thread.sleep(duration);
+        }
+    }
+}
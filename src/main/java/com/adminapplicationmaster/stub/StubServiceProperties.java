@@ -0,0 +1,47 @@
+package com.adminapplicationmaster.stub;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+/**
+ * Behaviour of one embedded stub downstream service
+ */
+@Data
+public class StubServiceProperties {
+
+    private int port;
+
+    private Latency latency = new Latency();
+
+    // Fraction of requests answered with errorStatus after the sampled latency
+    private double errorRate = 0.0;
+
+    private int errorStatus = 503;
+
+    // Fraction of requests held for timeoutDelay before answering 504, to exercise client timeouts
+    private double timeoutRate = 0.0;
+
+    private Duration timeoutDelay = Duration.ofSeconds(60);
+
+    // Fraction of successful responses that are positive (eligible decision / eligible address)
+    private double eligibleRate = 0.8;
+
+    // Location service only: fraction of addresses reported as not found
+    private double notFoundRate = 0.05;
+
+    @Data
+    public static class Latency {
+
+        private LatencyDistribution.Type distribution = LatencyDistribution.Type.LOGNORMAL;
+
+        private Duration min = Duration.ofMillis(1);
+
+        private Duration median = Duration.ofMillis(50);
+
+        // Lognormal only: the spread is fitted so that 99% of samples fall below this value
+        private Duration p99 = Duration.ofMillis(400);
+
+        private Duration max = Duration.ofSeconds(5);
+    }
+}
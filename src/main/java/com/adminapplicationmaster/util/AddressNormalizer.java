@@ -0,0 +1,130 @@
+package com.adminapplicationmaster.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.adminapplicationmaster.domain.entity.Address;
+
+/**
+ * Canonical form of a postal address, so that spelling variants of the same address compare equal.
+ * Folds case, whitespace and punctuation, unit designators (apt, suite, #) and common
+ * USPS street-suffix and direction abbreviations.
+ */
+public final class AddressNormalizer {
+
+    private static final Pattern PUNCTUATION = Pattern.compile("[.,;:'\"()]");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern ZIP_PLUS_FOUR = Pattern.compile("(\\d{5})-\\d{4}");
+
+    private static final Map<String, String> ABBREVIATIONS = Map.ofEntries(
+            // Unit designators
+            Map.entry("apartment", "unit"), Map.entry("apt", "unit"), Map.entry("suite", "unit"),
+            Map.entry("ste", "unit"), Map.entry("number", "unit"), Map.entry("no", "unit"),
+            // Street suffixes
+            Map.entry("street", "st"), Map.entry("avenue", "ave"), Map.entry("av", "ave"),
+            Map.entry("road", "rd"), Map.entry("boulevard", "blvd"), Map.entry("drive", "dr"),
+            Map.entry("lane", "ln"), Map.entry("court", "ct"), Map.entry("place", "pl"),
+            Map.entry("circle", "cir"), Map.entry("terrace", "ter"), Map.entry("highway", "hwy"),
+            Map.entry("parkway", "pkwy"), Map.entry("square", "sq"), Map.entry("trail", "trl"),
+            // Directions
+            Map.entry("north", "n"), Map.entry("south", "s"), Map.entry("east", "e"), Map.entry("west", "w"),
+            Map.entry("northeast", "ne"), Map.entry("northwest", "nw"),
+            Map.entry("southeast", "se"), Map.entry("southwest", "sw"));
+
+    private AddressNormalizer() {
+    }
+
+    /**
+     * Normalise an address given as free text, a map of address fields, or an Address.
+     * Returns null for a null or blank address.
+     */
+    public static String normalize(Object address) {
+        if (address == null) {
+            return null;
+        }
+        if (address instanceof Address entity) {
+            return normalize(entity);
+        }
+        if (address instanceof Map<?, ?> fields) {
+            return normalize(fields);
+        }
+        return blankToNull(normalizeText(address.toString()));
+    }
+
+    public static String normalize(Address address) {
+        return join(address.getStreet(), address.getUnitNumber(), address.getCity(),
+                address.getState(), address.getZip());
+    }
+
+    /**
+     * SHA-256 hex of the normalised address, or null when the address has no content
+     */
+    public static String hash(Address address) {
+        String normalized = normalize(address);
+        if (normalized == null) {
+            return null;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(normalized.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String normalize(Map<?, ?> fields) {
+        if (fields.containsKey("street") || fields.containsKey("city") || fields.containsKey("zip")) {
+            Object unit = fields.containsKey("unitNumber") ? fields.get("unitNumber") : fields.get("unit_number");
+            return join(fields.get("street"), unit, fields.get("city"), fields.get("state"), fields.get("zip"));
+        }
+
+        // Unknown shape: use every value in key order
+        Map<String, String> sorted = new TreeMap<>();
+        fields.forEach((key, value) -> sorted.put(String.valueOf(key), normalizeText(value)));
+        String key = String.join("|", sorted.values());
+        return key.replace("|", "").isEmpty() ? null : key;
+    }
+
+    private static String join(Object street, Object unit, Object city, Object state, Object zip) {
+        String normalizedUnit = normalizeText(unit);
+        if (!normalizedUnit.isEmpty() && !normalizedUnit.startsWith("unit")) {
+            normalizedUnit = "unit " + normalizedUnit;
+        }
+        String key = String.join("|", normalizeText(street), normalizedUnit, normalizeText(city),
+                normalizeText(state), normalizeZip(zip));
+        return key.replace("|", "").isEmpty() ? null : key;
+    }
+
+    static String normalizeText(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString().toLowerCase(Locale.ROOT).replace("#", " unit ");
+        text = ZIP_PLUS_FOUR.matcher(text).replaceAll("$1");
+        text = PUNCTUATION.matcher(text).replaceAll(" ").trim();
+        if (text.isEmpty()) {
+            return "";
+        }
+        return WHITESPACE.splitAsStream(text)
+                .map(token -> ABBREVIATIONS.getOrDefault(token, token))
+                .collect(Collectors.joining(" "))
+                // "unit unit 4" from inputs like "Apt #4"
+                .replace("unit unit", "unit");
+    }
+
+    private static String normalizeZip(Object zip) {
+        String digits = zip == null ? "" : zip.toString().replaceAll("\\D", "");
+        return digits.length() > 5 ? digits.substring(0, 5) : digits;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
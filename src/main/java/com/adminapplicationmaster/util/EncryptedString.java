@@ -0,0 +1,100 @@
+package com.adminapplicationmaster.util;
+
+import org.hibernate.annotations.Immutable;
+
+/**
+ * An encrypted column value that is only decrypted when its plaintext is read.
+ * Loaded values keep their ciphertext and are written back as-is, so loading and re-saving an entity
+ * does no AES work; values created from plaintext are encrypted once, when first written.
+ *
+ * Immutable as far as Hibernate is concerned: its snapshot is the same instance, never a copy made
+ * by running the value through the converter.
+ */
+@Immutable
+public final class EncryptedString {
+
+    private final EncryptionUtil encryptionUtil;
+    private volatile String ciphertext;
+    private volatile String plaintext;
+    // Set once the ciphertext is known to be under the current key
+    private volatile boolean currentKey;
+
+    private EncryptedString(EncryptionUtil encryptionUtil, String ciphertext, String plaintext) {
+        this.encryptionUtil = encryptionUtil;
+        this.ciphertext = ciphertext;
+        this.plaintext = plaintext;
+    }
+
+    /**
+     * @return null for a null or blank value, so a required field can be checked with @NotNull without decrypting
+     */
+    public static EncryptedString of(String plaintext) {
+        return plaintext == null || plaintext.isBlank() ? null : new EncryptedString(null, null, plaintext);
+    }
+
+    public static EncryptedString fromCiphertext(String ciphertext, EncryptionUtil encryptionUtil) {
+        return ciphertext == null ? null : new EncryptedString(encryptionUtil, ciphertext, null);
+    }
+
+    /**
+     * The plaintext, decrypted on first use
+     */
+    public String value() {
+        String value = plaintext;
+        if (value == null) {
+            value = encryptionUtil.decrypt(ciphertext);
+            plaintext = value;
+        }
+        return value;
+    }
+
+    public boolean isDecrypted() {
+        return plaintext != null;
+    }
+
+    /**
+     * The stored form, encrypted on first use for values created from plaintext.
+     * A loaded value still under the legacy scheme or a previous key is re-encrypted when it is written,
+     * so saving a row during a key rotation never puts back what ReEncryptionJob already replaced.
+     */
+    public String ciphertext(EncryptionUtil encryptionUtil) {
+        String value = ciphertext;
+        if (value == null || (!currentKey && !encryptionUtil.isEncryptedWithCurrentKey(value))) {
+            value = encryptionUtil.encrypt(value());
+            ciphertext = value;
+        }
+        currentKey = true;
+        return value;
+    }
+
+    /**
+     * Equal when the ciphertexts, or else the plaintexts, are known to match; never decrypts to find out
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof EncryptedString that)) {
+            return false;
+        }
+        String thisCiphertext = ciphertext;
+        String thatCiphertext = that.ciphertext;
+        if (thisCiphertext != null && thatCiphertext != null) {
+            return thisCiphertext.equals(thatCiphertext);
+        }
+        String thisPlaintext = plaintext;
+        return thisPlaintext != null && thisPlaintext.equals(that.plaintext);
+    }
+
+    // Equality may be decided by either form, so neither can be hashed
+    @Override
+    public int hashCode() {
+        return EncryptedString.class.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "EncryptedString[****]";
+    }
+}
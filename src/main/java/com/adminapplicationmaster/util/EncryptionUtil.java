@@ -1,26 +1,65 @@
 package com.adminapplicationmaster.util;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.AEADBadTagException;
 import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
 import java.util.Base64;
 
 /**
  * Encryption utility replacing Rails attr_encrypted
  * Handles encryption/decryption of sensitive fields like SSN
+ *
+ * Values are written as "v1:" + Base64(IV | AES-GCM ciphertext and tag), a fresh 12-byte IV per value,
+ * so equal plaintexts never produce equal ciphertexts and tampering is detected on decrypt.
+ * Values without the header were written by the earlier AES/ECB scheme and are still read.
+ *
+ * To rotate keys, move the old key to encryption.previous-key and set the new one as encryption.key:
+ * values are always written with the new key, read with either, and ReEncryptionJob rewrites
+ * the stored ones so the previous key can be dropped once it completes.
  */
 @Component
 @Slf4j
 public class EncryptionUtil {
 
+    static final String GCM_HEADER = "v1:";
+
     private static final String ALGORITHM = "AES";
+    private static final String GCM_TRANSFORMATION = "AES/GCM/NoPadding";
+    // What Cipher.getInstance("AES") resolved to for the values written before the header existed
+    private static final String LEGACY_TRANSFORMATION = "AES/ECB/PKCS5Padding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH_BITS = 128;
+
     private final SecretKeySpec secretKey;
+    private final SecretKeySpec previousKey;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    // Cipher lookups are costly and instances are not thread safe, but can be re-initialised for every value
+    private final ThreadLocal<Cipher> gcmCipher = ThreadLocal.withInitial(() -> newCipher(GCM_TRANSFORMATION));
+    private final ThreadLocal<Cipher> legacyCipher = ThreadLocal.withInitial(() -> newCipher(LEGACY_TRANSFORMATION));
+
+    public EncryptionUtil(String encryptionKey) {
+        this(encryptionKey, null);
+    }
 
-    public EncryptionUtil(@Value("${encryption.key}") String encryptionKey) {
+    @Autowired
+    public EncryptionUtil(@Value("${encryption.key}") String encryptionKey,
+                          @Value("${encryption.previous-key:}") String previousEncryptionKey) {
+        this.secretKey = keySpec(encryptionKey);
+        this.previousKey = previousEncryptionKey == null || previousEncryptionKey.isEmpty()
+                ? null : keySpec(previousEncryptionKey);
+    }
+
+    private static SecretKeySpec keySpec(String encryptionKey) {
         // Ensure key is 16, 24, or 32 bytes for AES
         byte[] key = encryptionKey.getBytes(StandardCharsets.UTF_8);
         if (key.length < 32) {
@@ -32,7 +71,7 @@ public class EncryptionUtil {
             System.arraycopy(key, 0, truncatedKey, 0, 32);
             key = truncatedKey;
         }
-        this.secretKey = new SecretKeySpec(key, ALGORITHM);
+        return new SecretKeySpec(key, ALGORITHM);
     }
 
     public String encrypt(String data) {
@@ -40,10 +79,16 @@ public class EncryptionUtil {
             return data;
         }
         try {
-            Cipher cipher = Cipher.getInstance(ALGORITHM);
-            cipher.init(Cipher.ENCRYPT_MODE, secretKey);
-            byte[] encryptedBytes = cipher.doFinal(data.getBytes(StandardCharsets.UTF_8));
-            return Base64.getEncoder().encodeToString(encryptedBytes);
+            byte[] plaintext = data.getBytes(StandardCharsets.UTF_8);
+            byte[] iv = new byte[IV_LENGTH];
+            secureRandom.nextBytes(iv);
+
+            Cipher cipher = gcmCipher.get();
+            cipher.init(Cipher.ENCRYPT_MODE, secretKey, new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+            byte[] encrypted = new byte[IV_LENGTH + cipher.getOutputSize(plaintext.length)];
+            System.arraycopy(iv, 0, encrypted, 0, IV_LENGTH);
+            cipher.doFinal(plaintext, 0, plaintext.length, encrypted, IV_LENGTH);
+            return GCM_HEADER + Base64.getEncoder().encodeToString(encrypted);
         } catch (Exception e) {
             log.error("Error encrypting data", e);
             throw new RuntimeException("Encryption failed", e);
@@ -54,15 +99,92 @@ public class EncryptionUtil {
         if (encryptedData == null || encryptedData.isEmpty()) {
             return encryptedData;
         }
+        return decryptAndCheckKey(encryptedData).plaintext();
+    }
+
+    /**
+     * Decrypt and tell whether the value was written with the current scheme and key, in one pass
+     */
+    public Decrypted decryptAndCheckKey(String encryptedData) {
+        if (encryptedData == null || encryptedData.isEmpty()) {
+            return new Decrypted(encryptedData, true);
+        }
         try {
-            Cipher cipher = Cipher.getInstance(ALGORITHM);
-            cipher.init(Cipher.DECRYPT_MODE, secretKey);
-            byte[] decodedBytes = Base64.getDecoder().decode(encryptedData);
-            byte[] decryptedBytes = cipher.doFinal(decodedBytes);
-            return new String(decryptedBytes, StandardCharsets.UTF_8);
+            if (isCurrentFormat(encryptedData)) {
+                byte[] decoded = decodeGcm(encryptedData);
+                try {
+                    return new Decrypted(new String(decryptGcm(decoded, secretKey), StandardCharsets.UTF_8), true);
+                } catch (AEADBadTagException e) {
+                    if (previousKey == null) {
+                        throw e;
+                    }
+                    // Written before the last rotation and not re-encrypted yet
+                    return new Decrypted(new String(decryptGcm(decoded, previousKey), StandardCharsets.UTF_8), false);
+                }
+            }
+            // Legacy values predate key rotation, so they were written with the oldest configured key
+            Cipher cipher = legacyCipher.get();
+            cipher.init(Cipher.DECRYPT_MODE, previousKey != null ? previousKey : secretKey);
+            byte[] decryptedBytes = cipher.doFinal(Base64.getDecoder().decode(encryptedData));
+            return new Decrypted(new String(decryptedBytes, StandardCharsets.UTF_8), false);
         } catch (Exception e) {
             log.error("Error decrypting data", e);
             throw new RuntimeException("Decryption failed", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Whether values may still be under a previous key, i.e. a key rotation is in progress
+     */
+    public boolean hasPreviousKey() {
+        return previousKey != null;
+    }
+
+    /**
+     * Whether a stored value was written by the current (AES-GCM) scheme rather than the legacy one
+     */
+    public static boolean isCurrentFormat(String encryptedData) {
+        return encryptedData != null && encryptedData.startsWith(GCM_HEADER);
+    }
+
+    /**
+     * Whether a stored value is already written with the current scheme and key, so re-encrypting it would change nothing
+     */
+    public boolean isEncryptedWithCurrentKey(String encryptedData) {
+        if (!isCurrentFormat(encryptedData)) {
+            return false;
+        }
+        if (previousKey == null) {
+            return true;
+        }
+        try {
+            decryptGcm(decodeGcm(encryptedData), secretKey);
+            return true;
+        } catch (AEADBadTagException e) {
+            return false;
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("Decryption failed", e);
+        }
+    }
+
+    public record Decrypted(String plaintext, boolean currentKey) {
+    }
+
+    private static byte[] decodeGcm(String encryptedData) {
+        return Base64.getDecoder().decode(encryptedData.substring(GCM_HEADER.length()));
+    }
+
+    private byte[] decryptGcm(byte[] decoded, SecretKeySpec key) throws GeneralSecurityException {
+        Cipher cipher = gcmCipher.get();
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_BITS, decoded, 0, IV_LENGTH));
+        return cipher.doFinal(decoded, IV_LENGTH, decoded.length - IV_LENGTH);
+    }
+
+    private static Cipher newCipher(String transformation) {
+        try {
+            return Cipher.getInstance(transformation);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cipher " + transformation + " is not available", e);
+        }
+    }
+}
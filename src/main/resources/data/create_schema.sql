@@ -34,10 +34,14 @@ CREATE TABLE addresses (
     state VARCHAR(255),
     zip VARCHAR(255),
     county VARCHAR(255),
+    normalized_hash VARCHAR(64),
     created_at TIMESTAMP NOT NULL,
     updated_at TIMESTAMP NOT NULL
 );
 
+-- SHA-256 of the normalised address; one row per physical address
+CREATE UNIQUE INDEX index_addresses_on_normalized_hash ON addresses(normalized_hash);
+
 -- Create loan_applications table --
 CREATE TABLE loan_applications (
     id BIGSERIAL PRIMARY KEY,
@@ -45,6 +49,8 @@ CREATE TABLE loan_applications (
     last_name VARCHAR(255) NOT NULL,
     date_of_birth DATE NOT NULL,
     ssn VARCHAR(255) NOT NULL,
+    -- Last four SSN characters, so the masked SSN is shown without decrypting
+    ssn_last4 VARCHAR(4),
     email VARCHAR(255) NOT NULL,
     phone VARCHAR(255) NOT NULL,
     income DOUBLE PRECISION,
@@ -52,11 +58,16 @@ CREATE TABLE loan_applications (
     requested_loan_amount DOUBLE PRECISION NOT NULL,
     address_id BIGINT NOT NULL,
     status VARCHAR(255),
+    lock_version BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMP NOT NULL,
     updated_at TIMESTAMP NOT NULL,
     CONSTRAINT fk_loan_applications_address FOREIGN KEY (address_id) REFERENCES addresses(id)
 );
 
+-- Keyset pagination of the applications list, newest first, with and without a status filter
+CREATE INDEX index_loan_applications_on_created_at_and_id ON loan_applications(created_at DESC, id DESC);
+CREATE INDEX index_loan_applications_on_status_created_at_and_id ON loan_applications(status, created_at DESC, id DESC);
+
 -- Create application_decisions table --
 CREATE TABLE application_decisions (
     id BIGSERIAL PRIMARY KEY,
@@ -109,4 +120,93 @@ CREATE TABLE active_storage_variant_records (
 );
 
 CREATE UNIQUE INDEX index_active_storage_variant_records_uniqueness 
-    ON active_storage_variant_records(blob_id, variation_digest);
\ No newline at end of file
+    ON active_storage_variant_records(blob_id, variation_digest);
+-- Create decision_outbox table --
+-- Pending decision requests, claimed by workers with FOR UPDATE SKIP LOCKED
+CREATE TABLE decision_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    loan_application_id BIGINT NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    locked_by VARCHAR(255),
+    locked_until TIMESTAMP,
+    last_error TEXT,
+    application_decision_id BIGINT,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_decision_outbox_loan_application FOREIGN KEY (loan_application_id) REFERENCES loan_applications(id),
+    CONSTRAINT fk_decision_outbox_application_decision FOREIGN KEY (application_decision_id) REFERENCES application_decisions(id)
+);
+
+CREATE INDEX index_decision_outbox_on_status_and_next_attempt_at ON decision_outbox(status, next_attempt_at);
+-- At most one open request per application
+CREATE UNIQUE INDEX index_decision_outbox_open_per_application
+    ON decision_outbox(loan_application_id) WHERE status IN ('PENDING', 'PROCESSING');
+-- Create application_status_counts table --
+-- Checkpoint of the in-memory per-status counters behind the dashboard, one set of rows per node
+CREATE TABLE application_status_counts (
+    node_id VARCHAR(100) NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    application_count BIGINT NOT NULL,
+    checkpointed_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (node_id, status)
+);
+-- Create application_rollups table --
+-- Application counts and requested amounts per creation day, status, state and county,
+-- maintained as applications change so analytics never scan loan_applications
+CREATE TABLE application_rollups (
+    day DATE NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    state VARCHAR(255) NOT NULL,
+    county VARCHAR(255) NOT NULL,
+    application_count BIGINT NOT NULL,
+    requested_amount_sum DOUBLE PRECISION NOT NULL,
+    PRIMARY KEY (day, status, state, county)
+);
+
+CREATE INDEX index_application_rollups_on_state_county_day ON application_rollups(state, county, day);
+
+-- Create application_rollup_deltas table --
+-- Moves between rollup buckets queued by the transactions that changed applications, folded in by a background job
+CREATE TABLE application_rollup_deltas (
+    id BIGSERIAL PRIMARY KEY,
+    day DATE NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    state VARCHAR(255) NOT NULL,
+    county VARCHAR(255) NOT NULL,
+    application_count BIGINT NOT NULL,
+    requested_amount DOUBLE PRECISION NOT NULL
+);
+
+-- Create application_rollup_state table --
+-- Single row updated first by every fold and rebuild of the rollups, so only one runs at a time
+CREATE TABLE application_rollup_state (
+    id SMALLINT PRIMARY KEY,
+    applied_at TIMESTAMP,
+    rebuilt_at TIMESTAMP
+);
+
+INSERT INTO application_rollup_state (id) VALUES (1);
+
+-- Create reencryption_progress table --
+-- Checkpoint per table of the re-encryption job (key rotation), so a run resumes where it stopped
+CREATE TABLE reencryption_progress (
+    target VARCHAR(100) PRIMARY KEY,
+    last_id BIGINT NOT NULL,
+    rows_updated BIGINT NOT NULL,
+    -- Values that could not be decrypted and were skipped
+    rows_failed BIGINT NOT NULL DEFAULT 0,
+    started_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    completed_at TIMESTAMP
+);
+
+-- Create data_migrations table --
+-- One row per one-time data migration; completed_at marks it done so it is not run again on startup
+CREATE TABLE data_migrations (
+    version VARCHAR(100) PRIMARY KEY,
+    started_at TIMESTAMP NOT NULL,
+    completed_at TIMESTAMP,
+    rows_affected BIGINT
+);
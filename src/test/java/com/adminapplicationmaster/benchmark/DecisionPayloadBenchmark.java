@@ -0,0 +1,119 @@
+package com.adminapplicationmaster.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.adminapplicationmaster.domain.entity.Address;
+import com.adminapplicationmaster.domain.entity.LoanApplication;
+import com.adminapplicationmaster.dto.DecisionPayload;
+import com.adminapplicationmaster.service.DecisionPayloadWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares building the decision request as HashMaps serialised twice (HTTP body and audit column)
+ * with the DecisionPayload record written once by a pre-resolved ObjectWriter.
+ * Run with -prof gc to see bytes allocated per decision (gc.alloc.rate.norm):
+ *   mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.adminapplicationmaster.benchmark.DecisionPayloadBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DecisionPayloadBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final DecisionPayloadWriter payloadWriter = new DecisionPayloadWriter(objectMapper);
+
+    private LoanApplication application;
+
+    @Setup
+    public void setUp() {
+        application = LoanApplication.builder()
+                .id(42L)
+                .firstName("John")
+                .lastName("Doe")
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .ssn("123456789")
+                .email("john.doe@example.com")
+                .phone("555-1234")
+                .income(75000.0)
+                .incomeType("salary")
+                .requestedLoanAmount(25000.0)
+                .address(Address.builder()
+                        .street("123 Main St")
+                        .unitNumber("Apt 4")
+                        .city("Springfield")
+                        .state("IL")
+                        .zip("62701")
+                        .county("Sangamon")
+                        .build())
+                .build();
+    }
+
+    @Benchmark
+    public void mapSerialisedTwice(Blackhole blackhole) throws Exception {
+        Map<String, Object> payload = mapPayload(application);
+        // Once for the HTTP body in DecisionService, once more for the audit column
+        blackhole.consume(objectMapper.writeValueAsString(payload));
+        blackhole.consume(objectMapper.writeValueAsString(payload));
+    }
+
+    @Benchmark
+    public void recordWrittenOnce(Blackhole blackhole) throws Exception {
+        byte[] body = payloadWriter.write(DecisionPayload.from(application));
+        blackhole.consume(body);
+        blackhole.consume(new String(body, StandardCharsets.UTF_8));
+    }
+
+    // Payload construction previously done by the decision check
+    private static Map<String, Object> mapPayload(LoanApplication app) {
+        Map<String, Object> addressMap = new HashMap<>();
+        addressMap.put("street", app.getAddress().getStreet());
+        addressMap.put("unitNumber", app.getAddress().getUnitNumber());
+        addressMap.put("city", app.getAddress().getCity());
+        addressMap.put("state", app.getAddress().getState());
+        addressMap.put("zip", app.getAddress().getZip());
+        addressMap.put("county", app.getAddress().getCounty());
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("applicationId", app.getId());
+        payload.put("firstName", app.getFirstName());
+        payload.put("lastName", app.getLastName());
+        payload.put("dateOfBirth", app.getDateOfBirth() != null ? app.getDateOfBirth().toString() : null);
+        payload.put("ssn", app.getSsn());
+        payload.put("email", app.getEmail());
+        payload.put("phone", app.getPhone());
+        payload.put("income", app.getIncome());
+        payload.put("incomeType", app.getIncomeType());
+        payload.put("requestedLoanAmount", app.getRequestedLoanAmount());
+        payload.put("address", addressMap);
+        return payload;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(DecisionPayloadBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,72 @@
+package com.adminapplicationmaster.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.adminapplicationmaster.dto.DecisionResult;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares the previous String + readTree handling of decision responses with the streaming parse.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.adminapplicationmaster.benchmark.DecisionResponseParseBenchmark
+ * (add -prof gc to the JMH options to compare allocation per call)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DecisionResponseParseBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private byte[] responseBytes;
+
+    @Setup
+    public void setUp() {
+        StringBuilder rules = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            rules.append(i == 0 ? "" : ",")
+                    .append("{\"rule\":\"rule-").append(i).append("\",\"passed\":true,\"score\":").append(i * 7).append('}');
+        }
+        String response = "{\"application_id\":42,\"rules\":[" + rules + "],"
+                + "\"scores\":{\"credit\":712,\"income\":0.83,\"debt\":0.21},"
+                + "\"final_decision\":\"eligible\",\"reason\":\"All rules passed\"}";
+        responseBytes = response.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String stringAndReadTree() throws Exception {
+        // Previous path: body decoded to a String, then a full tree built to read one field
+        String body = new String(responseBytes, StandardCharsets.UTF_8);
+        JsonNode node = objectMapper.readTree(body);
+        return node.get("final_decision").asText();
+    }
+
+    @Benchmark
+    public String streamingParse() {
+        return DecisionResult.of(200, responseBytes).getFinalDecision();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(DecisionResponseParseBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,116 @@
+package com.adminapplicationmaster.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.adminapplicationmaster.util.EncryptionUtil;
+
+/**
+ * Encrypt and decrypt throughput per encrypted field: the SSN column and a decision response blob.
+ * Compares the previous AES/ECB code, which looked up a new Cipher for every value, with the
+ * AES-GCM scheme and its per-thread Cipher instances, and also legacy ECB rows read through EncryptionUtil.
+ * Run with -prof gc to see bytes allocated per value (gc.alloc.rate.norm):
+ *   mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.adminapplicationmaster.benchmark.EncryptionBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class EncryptionBenchmark {
+
+    private static final String KEY = "benchmark-encryption-key";
+
+    @Param({"ssn", "decisionResponse"})
+    public String field;
+
+    private final EncryptionUtil encryptionUtil = new EncryptionUtil(KEY);
+    private SecretKeySpec legacyKey;
+
+    private String plaintext;
+    private String gcmValue;
+    private String ecbValue;
+
+    @Setup
+    public void setUp() throws Exception {
+        byte[] key = new byte[32];
+        byte[] keyBytes = KEY.getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(keyBytes, 0, key, 0, keyBytes.length);
+        legacyKey = new SecretKeySpec(key, "AES");
+
+        plaintext = "ssn".equals(field) ? "123-45-6789" : decisionResponse();
+        gcmValue = encryptionUtil.encrypt(plaintext);
+        ecbValue = perCallEcbEncrypt();
+    }
+
+    @Benchmark
+    public String perCallEcbEncrypt() throws Exception {
+        Cipher cipher = Cipher.getInstance("AES");
+        cipher.init(Cipher.ENCRYPT_MODE, legacyKey);
+        return Base64.getEncoder().encodeToString(cipher.doFinal(plaintext.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Benchmark
+    public String perCallEcbDecrypt() throws Exception {
+        Cipher cipher = Cipher.getInstance("AES");
+        cipher.init(Cipher.DECRYPT_MODE, legacyKey);
+        return new String(cipher.doFinal(Base64.getDecoder().decode(ecbValue)), StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String gcmEncrypt() {
+        return encryptionUtil.encrypt(plaintext);
+    }
+
+    @Benchmark
+    public String gcmDecrypt() {
+        return encryptionUtil.decrypt(gcmValue);
+    }
+
+    @Benchmark
+    public String legacyValueDecrypt() {
+        return encryptionUtil.decrypt(ecbValue);
+    }
+
+    // Roughly the size of a stored decision service response
+    private static String decisionResponse() {
+        StringBuilder response = new StringBuilder("{\"final_decision\":\"eligible\",\"rules\":[");
+        for (int i = 0; i < 12; i++) {
+            if (i > 0) {
+                response.append(',');
+            }
+            response.append("{\"rule\":\"rule_").append(i)
+                    .append("\",\"result\":\"pass\",\"detail\":\"Income and requested amount within limits\"}");
+        }
+        return response.append("]}").toString();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(EncryptionBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
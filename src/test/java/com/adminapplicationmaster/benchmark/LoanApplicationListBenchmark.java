@@ -0,0 +1,163 @@
+package com.adminapplicationmaster.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import com.adminapplicationmaster.domain.entity.Address;
+import com.adminapplicationmaster.domain.entity.ApplicationDecision;
+import com.adminapplicationmaster.domain.entity.LoanApplication;
+import com.adminapplicationmaster.dto.LatestDecision;
+import com.adminapplicationmaster.dto.LoanApplicationSummary;
+import com.adminapplicationmaster.util.EncryptionUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+/**
+ * CPU and bytes for one page of the applications list, after the rows come back from the database.
+ * The entity path decrypts every SSN and every decision request/response (what EncryptionConverter
+ * does on load) and serialises the full graph; it also costs a query per row for the EAGER decisions.
+ * The summary path builds the list rows and serialises them; it costs two queries per page.
+ * Response bytes per page are reported as the responseBytes secondary result. Run with -prof gc for
+ * bytes allocated per page:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.adminapplicationmaster.benchmark.LoanApplicationListBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoanApplicationListBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int DECISIONS_PER_APPLICATION = 3;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final EncryptionUtil encryptionUtil = new EncryptionUtil("benchmark-encryption-key");
+
+    private final List<StoredApplication> rows = new ArrayList<>();
+
+    /**
+     * Column values of one application as stored, with its decisions still encrypted
+     */
+    private record StoredApplication(long id, String encryptedSsn, List<String[]> encryptedDecisions,
+                                     LocalDateTime createdAt) {
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        String request = "{\"applicationId\":1,\"firstName\":\"John\",\"income\":75000,\"address\":{\"street\":\"123 Main St\"}}"
+                .repeat(8);
+        String response = "{\"final_decision\":\"approved\",\"reasons\":[\"income\",\"history\"],\"score\":712}".repeat(8);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            List<String[]> decisions = new ArrayList<>();
+            for (int i = 0; i < DECISIONS_PER_APPLICATION; i++) {
+                decisions.add(new String[] {encryptionUtil.encrypt(request), encryptionUtil.encrypt(response)});
+            }
+            rows.add(new StoredApplication(id, encryptionUtil.encrypt("123-45-6789"), decisions, createdAt));
+        }
+    }
+
+    /**
+     * Size of the page serialised by the benchmark, reported next to its timing
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ResponseSize {
+        public long responseBytes;
+    }
+
+    @Benchmark
+    public byte[] entityPage(ResponseSize size) throws Exception {
+        byte[] page = serialiseEntityPage();
+        size.responseBytes = page.length;
+        return page;
+    }
+
+    @Benchmark
+    public byte[] summaryPage(ResponseSize size) throws Exception {
+        byte[] page = serialiseSummaryPage();
+        size.responseBytes = page.length;
+        return page;
+    }
+
+    private byte[] serialiseEntityPage() throws Exception {
+        List<LoanApplication> content = new ArrayList<>(PAGE_SIZE);
+        for (StoredApplication row : rows) {
+            LoanApplication application = application(row);
+            application.setSsn(encryptionUtil.decrypt(row.encryptedSsn()));
+            List<ApplicationDecision> decisions = new ArrayList<>();
+            for (String[] decision : row.encryptedDecisions()) {
+                decisions.add(ApplicationDecision.builder()
+                        .request(encryptionUtil.decrypt(decision[0]))
+                        .response(encryptionUtil.decrypt(decision[1]))
+                        .decision("approved")
+                        .createdAt(row.createdAt())
+                        .updatedAt(row.createdAt())
+                        .build());
+            }
+            application.setApplicationDecisions(decisions);
+            content.add(application);
+        }
+        return objectMapper.writeValueAsBytes(new PageImpl<>(content, PageRequest.of(0, PAGE_SIZE), 1000));
+    }
+
+    private byte[] serialiseSummaryPage() throws Exception {
+        List<LoanApplicationSummary> content = new ArrayList<>(PAGE_SIZE);
+        for (StoredApplication row : rows) {
+            content.add(new LoanApplicationSummary(row.id(), "John", "Doe", "john.doe" + row.id() + "@example.com",
+                    "555-1234", "approved", 25000.0, row.createdAt())
+                    .withLatestDecision(new LatestDecision(row.id(), "approved", row.createdAt())));
+        }
+        return objectMapper.writeValueAsBytes(new PageImpl<>(content, PageRequest.of(0, PAGE_SIZE), 1000));
+    }
+
+    // Plain columns as Hibernate would hydrate them
+    private static LoanApplication application(StoredApplication row) {
+        return LoanApplication.builder()
+                .id(row.id())
+                .firstName("John")
+                .lastName("Doe")
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .email("john.doe" + row.id() + "@example.com")
+                .phone("555-1234")
+                .income(75000.0)
+                .incomeType("salary")
+                .requestedLoanAmount(25000.0)
+                .status("approved")
+                .createdAt(row.createdAt())
+                .updatedAt(row.createdAt())
+                .address(Address.builder().id(row.id()).street("123 Main St").city("Springfield")
+                        .state("IL").zip("62701").county("Sangamon").build())
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(LoanApplicationListBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,90 @@
+package com.adminapplicationmaster.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InstrumentedConnectionManagerTest {
+
+    private static final HttpRoute DECISION_ROUTE = new HttpRoute(new HttpHost("localhost", 8082));
+    private static final HttpRoute LOCATION_ROUTE = new HttpRoute(new HttpHost("localhost", 8081));
+
+    private InstrumentedConnectionManager connectionManager;
+
+    @BeforeEach
+    void setUp() {
+        PoolingHttpClientConnectionManager pool = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(10)
+                .setMaxConnPerRoute(1)
+                .build();
+        connectionManager = new InstrumentedConnectionManager(pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionManager.close(CloseMode.IMMEDIATE);
+    }
+
+    @Test
+    void snapshot_shouldReportPoolTotalsBeforeAnyLease() {
+        Map<String, Object> snapshot = connectionManager.snapshot();
+
+        Map<?, ?> total = (Map<?, ?>) snapshot.get("total");
+        assertEquals(10, total.get("max"));
+        assertEquals(0, total.get("leased"));
+        assertTrue(((Map<?, ?>) snapshot.get("routes")).isEmpty());
+    }
+
+    @Test
+    void lease_shouldRecordLeasesPerRoute() throws Exception {
+        ConnectionEndpoint decision = lease(DECISION_ROUTE, Timeout.ofSeconds(1));
+        ConnectionEndpoint location = lease(LOCATION_ROUTE, Timeout.ofSeconds(1));
+
+        Map<?, ?> routes = (Map<?, ?>) connectionManager.snapshot().get("routes");
+        Map<?, ?> decisionStats = (Map<?, ?>) routes.get("http://localhost:8082");
+        assertEquals(2, routes.size());
+        assertEquals(1L, decisionStats.get("leases"));
+        assertEquals(1, decisionStats.get("leased"));
+        assertEquals(1, decisionStats.get("max"));
+        assertEquals(0L, decisionStats.get("leaseTimeouts"));
+
+        connectionManager.release(decision, null, TimeValue.ZERO_MILLISECONDS);
+        connectionManager.release(location, null, TimeValue.ZERO_MILLISECONDS);
+        Map<?, ?> released = (Map<?, ?>) ((Map<?, ?>) connectionManager.snapshot().get("routes")).get("http://localhost:8082");
+        assertEquals(0, released.get("leased"));
+        assertEquals(1L, released.get("leases"));
+    }
+
+    @Test
+    void lease_shouldCountTimeoutsWhenRouteIsExhausted() throws Exception {
+        ConnectionEndpoint held = lease(DECISION_ROUTE, Timeout.ofSeconds(1));
+
+        assertThrows(TimeoutException.class, () -> lease(DECISION_ROUTE, Timeout.ofMilliseconds(50)));
+
+        Map<?, ?> decisionStats = (Map<?, ?>) ((Map<?, ?>) connectionManager.snapshot().get("routes"))
+                .get("http://localhost:8082");
+        assertEquals(1L, decisionStats.get("leases"));
+        assertEquals(1L, decisionStats.get("leaseTimeouts"));
+        assertTrue((double) decisionStats.get("maxLeaseWaitMillis") >= 0.0);
+        connectionManager.release(held, null, TimeValue.ZERO_MILLISECONDS);
+    }
+
+    private ConnectionEndpoint lease(HttpRoute route, Timeout timeout) throws Exception {
+        return connectionManager.lease("test", route, timeout, null).get(timeout);
+    }
+}
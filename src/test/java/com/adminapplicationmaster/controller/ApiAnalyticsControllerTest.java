@@ -0,0 +1,92 @@
+package com.adminapplicationmaster.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.http.ResponseEntity;
+
+import com.adminapplicationmaster.dto.RollupBucket;
+import com.adminapplicationmaster.service.ApplicationRollupService;
+
+@ExtendWith(MockitoExtension.class)
+class ApiAnalyticsControllerTest {
+
+    @Mock
+    private ApplicationRollupService applicationRollupService;
+
+    @InjectMocks
+    private ApiAnalyticsController controller;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void applications_shouldDefaultToLastThirtyDays() {
+        LocalDate today = LocalDate.now();
+        RollupBucket bucket = new RollupBucket(today, null, null, null, 3, 75000.0);
+        when(applicationRollupService.query(List.of("day"), today.minusDays(29), today, null, null, null))
+                .thenReturn(List.of(bucket));
+
+        ResponseEntity<?> response = controller.applications(List.of("day"), null, null, null, null, null);
+
+        assertEquals(200, response.getStatusCode().value());
+        Map<String, Object> body = (Map<String, Object>) response.getBody();
+        assertEquals(today.minusDays(29), body.get("from"));
+        assertEquals(today, body.get("to"));
+        assertEquals(List.of(bucket), body.get("buckets"));
+    }
+
+    @Test
+    void applications_shouldPassFiltersThrough() {
+        LocalDate from = LocalDate.of(2026, 3, 1);
+        LocalDate to = LocalDate.of(2026, 3, 31);
+
+        controller.applications(List.of("county"), from, to, "approved", "IL", null);
+
+        verify(applicationRollupService).query(List.of("county"), from, to, "approved", "IL", null);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void applications_shouldReturnBadRequestForInvalidQuery() {
+        when(applicationRollupService.query(anyList(), any(), any(), isNull(), isNull(), isNull()))
+                .thenThrow(new IllegalArgumentException("Unknown groupBy dimension: zip"));
+
+        ResponseEntity<?> response = controller.applications(List.of("zip"), null, null, null, null, null);
+
+        assertEquals(400, response.getStatusCode().value());
+        assertEquals("Unknown groupBy dimension: zip", ((Map<String, Object>) response.getBody()).get("message"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rebuild_shouldReturnBucketCount() {
+        when(applicationRollupService.rebuild()).thenReturn(12);
+
+        ResponseEntity<?> response = controller.rebuild();
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(12, ((Map<String, Object>) response.getBody()).get("buckets"));
+    }
+
+    @Test
+    void rebuild_shouldReturnServerErrorWhenItFails() {
+        when(applicationRollupService.rebuild()).thenThrow(new PessimisticLockingFailureException("collided"));
+
+        ResponseEntity<?> response = controller.rebuild();
+
+        assertEquals(500, response.getStatusCode().value());
+    }
+}
@@ -1,11 +1,14 @@
 package com.adminapplicationmaster.controller;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,11 +16,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyMap;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -26,14 +31,21 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import com.adminapplicationmaster.domain.entity.Address;
 import com.adminapplicationmaster.domain.entity.ApplicationDecision;
+import com.adminapplicationmaster.domain.entity.DecisionOutboxEntry;
 import com.adminapplicationmaster.domain.entity.LoanApplication;
-import com.adminapplicationmaster.repository.ApplicationDecisionRepository;
+import com.adminapplicationmaster.dto.CursorPage;
+import com.adminapplicationmaster.dto.DecisionJob;
+import com.adminapplicationmaster.dto.KeysetCursor;
+import com.adminapplicationmaster.dto.LoanApplicationSummary;
 import com.adminapplicationmaster.repository.LoanApplicationRepository;
-import com.adminapplicationmaster.service.DecisionService;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.adminapplicationmaster.service.DecisionCheckService;
+import com.adminapplicationmaster.service.DecisionJobService;
+import com.adminapplicationmaster.service.DecisionOutboxService;
+import com.adminapplicationmaster.service.LoanApplicationQueryService;
 
 @ExtendWith(MockitoExtension.class)
 class ApiApplicationServiceControllerTest {
@@ -42,19 +54,23 @@ class ApiApplicationServiceControllerTest {
     private LoanApplicationRepository loanApplicationRepository;
 
     @Mock
-    private ApplicationDecisionRepository applicationDecisionRepository;
+    private DecisionCheckService decisionCheckService;
 
     @Mock
-    private DecisionService decisionService;
+    private DecisionJobService decisionJobService;
 
     @Mock
-    private ObjectMapper objectMapper;
+    private DecisionOutboxService decisionOutboxService;
+
+    @Mock
+    private LoanApplicationQueryService loanApplicationQueryService;
 
     @InjectMocks
     private ApiApplicationServiceController controller;
 
     private LoanApplication testApplication;
     private Address testAddress;
+    private LoanApplicationSummary testSummary;
 
     @BeforeEach
     void setUp() {
@@ -81,33 +97,37 @@ class ApiApplicationServiceControllerTest {
                 .requestedLoanAmount(Double.valueOf("25000"))
                 .address(testAddress)
                 .build();
+
+        testSummary = new LoanApplicationSummary(1L, "John", "Doe", "john.doe@example.com", "555-1234",
+                "pending", 25000.0, LocalDateTime.of(2024, 1, 1, 9, 0));
     }
 
     @Test
     void index_shouldReturnAllLoanApplications() {
         // Create a Page object with test data
-        Page<LoanApplication> page = new PageImpl<>(Arrays.asList(testApplication));
+        Page<LoanApplicationSummary> page = new PageImpl<>(Arrays.asList(testSummary));
         
-        when(loanApplicationRepository.findAll(any(Pageable.class))).thenReturn(page);
+        when(loanApplicationQueryService.page(isNull(), any(Pageable.class))).thenReturn(page);
 
         ResponseEntity<?> response = controller.index(null, 0, 20);
 
         assertEquals(200, response.getStatusCodeValue());
         assertNotNull(response.getBody());
         
-        // The response body is now a Page object
-        Page<LoanApplication> resultPage = (Page<LoanApplication>) response.getBody();
+        // The response body is a Page of list rows
+        Page<LoanApplicationSummary> resultPage = (Page<LoanApplicationSummary>) response.getBody();
         assertEquals(1, resultPage.getContent().size());
-        assertEquals(testApplication, resultPage.getContent().get(0));
+        assertEquals(testSummary, resultPage.getContent().get(0));
         
-        verify(loanApplicationRepository).findAll(any(Pageable.class));
+        verify(loanApplicationQueryService).page(isNull(), any(Pageable.class));
+        verify(loanApplicationRepository, never()).findAll(any(Pageable.class));
     }
 
     @Test
     void index_shouldFilterByStatus() {
-        Page<LoanApplication> page = new PageImpl<>(Arrays.asList(testApplication));
+        Page<LoanApplicationSummary> page = new PageImpl<>(Arrays.asList(testSummary));
         
-        when(loanApplicationRepository.findByStatus(eq("pending"), any(Pageable.class)))
+        when(loanApplicationQueryService.page(eq("pending"), any(Pageable.class)))
             .thenReturn(page);
 
         ResponseEntity<?> response = controller.index("pending", 0, 20);
@@ -115,44 +135,73 @@ class ApiApplicationServiceControllerTest {
         assertEquals(200, response.getStatusCodeValue());
         assertNotNull(response.getBody());
         
-        Page<LoanApplication> resultPage = (Page<LoanApplication>) response.getBody();
+        Page<LoanApplicationSummary> resultPage = (Page<LoanApplicationSummary>) response.getBody();
         assertEquals(1, resultPage.getContent().size());
         
-        verify(loanApplicationRepository).findByStatus(eq("pending"), any(Pageable.class));
-        verify(loanApplicationRepository, never()).findAll(any(Pageable.class));
+        verify(loanApplicationQueryService).page(eq("pending"), any(Pageable.class));
     }
 
     @Test
     void index_shouldHandleEmptyStatus() {
-        Page<LoanApplication> page = new PageImpl<>(Arrays.asList(testApplication));
+        Page<LoanApplicationSummary> page = new PageImpl<>(Arrays.asList(testSummary));
         
-        when(loanApplicationRepository.findAll(any(Pageable.class))).thenReturn(page);
+        when(loanApplicationQueryService.page(eq(""), any(Pageable.class))).thenReturn(page);
 
         ResponseEntity<?> response = controller.index("", 0, 20);
 
         assertEquals(200, response.getStatusCodeValue());
-        verify(loanApplicationRepository).findAll(any(Pageable.class));
-        verify(loanApplicationRepository, never()).findByStatus(anyString(), any(Pageable.class));
+        verify(loanApplicationQueryService).page(eq(""), any(Pageable.class));
     }
 
     @Test
     void index_shouldHandlePaginationParameters() {
-        Page<LoanApplication> page = new PageImpl<>(Arrays.asList(testApplication));
+        Page<LoanApplicationSummary> page = new PageImpl<>(Arrays.asList(testSummary));
         
-        when(loanApplicationRepository.findAll(any(Pageable.class))).thenReturn(page);
+        when(loanApplicationQueryService.page(isNull(), any(Pageable.class))).thenReturn(page);
 
         ResponseEntity<?> response = controller.index(null, 2, 50);
 
         assertEquals(200, response.getStatusCodeValue());
         
         ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
-        verify(loanApplicationRepository).findAll(pageableCaptor.capture());
+        verify(loanApplicationQueryService).page(isNull(), pageableCaptor.capture());
         
         Pageable capturedPageable = pageableCaptor.getValue();
         assertEquals(2, capturedPageable.getPageNumber());
         assertEquals(50, capturedPageable.getPageSize());
     }
 
+    @Test
+    void indexByCursor_shouldStartFromFirstPageWithEmptyCursor() {
+        CursorPage<LoanApplicationSummary> page = new CursorPage<>(List.of(testSummary), 1, null, null);
+        when(loanApplicationQueryService.cursorPage(null, null, 20, false)).thenReturn(page);
+
+        ResponseEntity<?> response = controller.indexByCursor(null, "", 20, false);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(page, response.getBody());
+    }
+
+    @Test
+    void indexByCursor_shouldDecodeCursorAndCapPageSize() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2024, 1, 2, 10, 0), 2L);
+        CursorPage<LoanApplicationSummary> page = new CursorPage<>(List.of(testSummary), 1, null, 5L);
+        when(loanApplicationQueryService.cursorPage("pending", cursor, 100, true)).thenReturn(page);
+
+        ResponseEntity<?> response = controller.indexByCursor("pending", cursor.encode(), 10_000, true);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(page, response.getBody());
+    }
+
+    @Test
+    void indexByCursor_shouldRejectMalformedCursor() {
+        ResponseEntity<?> response = controller.indexByCursor(null, "not-a-cursor", 20, false);
+
+        assertEquals(400, response.getStatusCode().value());
+        verify(loanApplicationQueryService, never()).cursorPage(any(), any(), anyInt(), anyBoolean());
+    }
+
     @Test
     void create_shouldSaveLoanApplication() {
         when(loanApplicationRepository.save(any(LoanApplication.class))).thenReturn(testApplication);
@@ -239,53 +288,130 @@ class ApiApplicationServiceControllerTest {
     }
 
     @Test
-    void decisionCheck_shouldCreateApplicationDecisionOnSuccess() throws Exception {
-        String decisionResponse = "{\"final_decision\":\"approved\",\"reason\":\"Good credit\"}";
-        
-        when(loanApplicationRepository.findById(1L)).thenReturn(Optional.of(testApplication));
-        when(decisionService.getDecision(anyMap())).thenReturn(ResponseEntity.ok(decisionResponse));
-        when(objectMapper.readTree(decisionResponse)).thenReturn(
-                new ObjectMapper().readTree(decisionResponse)
-        );
-        when(objectMapper.writeValueAsString(anyMap())).thenReturn("{}");
-        
+    void decisionCheck_shouldDelegateToDecisionCheckService() {
         ApplicationDecision savedDecision = ApplicationDecision.builder()
                 .id(1L)
                 .loanApplication(testApplication)
                 .decision("approved")
                 .build();
-        
-        when(applicationDecisionRepository.save(any(ApplicationDecision.class)))
-                .thenReturn(savedDecision);
+
+        doReturn(ResponseEntity.ok(savedDecision)).when(decisionCheckService).check(1L);
 
         ResponseEntity<?> response = controller.decisionCheck(1L);
 
         assertEquals(200, response.getStatusCodeValue());
-        verify(loanApplicationRepository).findById(1L);
-        verify(decisionService).getDecision(anyMap());
-        verify(applicationDecisionRepository).save(any(ApplicationDecision.class));
+        assertEquals(savedDecision, response.getBody());
+        verify(decisionCheckService).check(1L);
     }
 
     @Test
-    void decisionCheck_shouldReturn400OnDecisionServiceError() {
-        when(loanApplicationRepository.findById(1L)).thenReturn(Optional.of(testApplication));
-        when(decisionService.getDecision(anyMap())).thenReturn(ResponseEntity.status(500).body("Error"));
+    void submitDecisionCheck_shouldReturn202WithJob() {
+        DecisionJob job = new DecisionJob("job-1", 1L, null);
 
-        ResponseEntity<?> response = controller.decisionCheck(1L);
+        when(loanApplicationRepository.existsById(1L)).thenReturn(true);
+        when(decisionJobService.submit(1L, null)).thenReturn(job);
+
+        ResponseEntity<?> response = controller.submitDecisionCheck(1L, null);
+
+        assertEquals(202, response.getStatusCodeValue());
+        assertEquals(job, response.getBody());
+        assertEquals("/api/v1/application_services/decision_jobs/job-1",
+                response.getHeaders().getFirst("Location"));
+        verify(decisionCheckService, never()).check(any());
+    }
+
+    @Test
+    void submitDecisionCheck_shouldReturn400WhenApplicationNotFound() {
+        when(loanApplicationRepository.existsById(1L)).thenReturn(false);
+
+        ResponseEntity<?> response = controller.submitDecisionCheck(1L, null);
 
         assertEquals(400, response.getStatusCodeValue());
         assertTrue(response.getBody() instanceof Map);
-        verify(applicationDecisionRepository, never()).save(any());
+        verify(decisionJobService, never()).submit(any(), any());
     }
 
     @Test
-    void decisionCheck_shouldReturn500OnException() {
-        when(loanApplicationRepository.findById(1L))
-                .thenThrow(new RuntimeException("Database error"));
+    void submitDecisionCheck_shouldReturn400ForDisallowedCallback() {
+        when(loanApplicationRepository.existsById(1L)).thenReturn(true);
+        when(decisionJobService.submit(1L, "http://evil.example.com"))
+                .thenThrow(new IllegalArgumentException("Callback URL is not allowed"));
 
-        ResponseEntity<?> response = controller.decisionCheck(1L);
+        ResponseEntity<?> response = controller.submitDecisionCheck(1L, "http://evil.example.com");
 
-        assertEquals(500, response.getStatusCodeValue());
-        assertTrue(response.getBody() instanceof Map);
+        assertEquals(400, response.getStatusCodeValue());
+    }
+
+    @Test
+    void decisionJob_shouldReturnJobWhenFound() {
+        DecisionJob job = new DecisionJob("job-1", 1L, null);
+        job.complete(200, Map.of("decision", "approved"));
+
+        when(decisionJobService.find("job-1")).thenReturn(Optional.of(job));
+
+        DeferredResult<ResponseEntity<?>> result = controller.decisionJob("job-1", 0);
+
+        ResponseEntity<?> response = (ResponseEntity<?>) result.getResult();
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(job, response.getBody());
+        assertEquals(DecisionJob.Status.COMPLETED, job.getStatus());
+    }
+
+    @Test
+    void decisionJob_shouldWaitForRunningJob() {
+        DecisionJob job = new DecisionJob("job-1", 1L, null);
+
+        when(decisionJobService.find("job-1")).thenReturn(Optional.of(job));
+
+        DeferredResult<ResponseEntity<?>> result = controller.decisionJob("job-1", 10);
+        assertFalse(result.hasResult());
+
+        job.complete(200, Map.of("decision", "approved"));
+
+        assertTrue(result.hasResult());
+        assertEquals(200, ((ResponseEntity<?>) result.getResult()).getStatusCodeValue());
+    }
+
+    @Test
+    void decisionJob_shouldReturn404WhenNotFound() {
+        when(decisionJobService.find("missing")).thenReturn(Optional.empty());
+
+        DeferredResult<ResponseEntity<?>> result = controller.decisionJob("missing", 0);
+
+        assertEquals(404, ((ResponseEntity<?>) result.getResult()).getStatusCodeValue());
+    }
+
+    @Test
+    void requestDecision_shouldReturn202WithOutboxEntry() {
+        DecisionOutboxEntry entry = DecisionOutboxEntry.builder().id(5L).loanApplicationId(1L).build();
+
+        when(loanApplicationRepository.existsById(1L)).thenReturn(true);
+        when(decisionOutboxService.enqueue(1L)).thenReturn(entry);
+
+        ResponseEntity<?> response = controller.requestDecision(1L);
+
+        assertEquals(202, response.getStatusCodeValue());
+        assertEquals(entry, response.getBody());
+        assertEquals("/api/v1/application_services/decision_requests/5",
+                response.getHeaders().getFirst("Location"));
+    }
+
+    @Test
+    void requestDecision_shouldReturn400WhenApplicationNotFound() {
+        when(loanApplicationRepository.existsById(1L)).thenReturn(false);
+
+        ResponseEntity<?> response = controller.requestDecision(1L);
+
+        assertEquals(400, response.getStatusCodeValue());
+        verify(decisionOutboxService, never()).enqueue(any());
+    }
+
+    @Test
+    void decisionRequest_shouldReturn404WhenNotFound() {
+        when(decisionOutboxService.find(9L)).thenReturn(Optional.empty());
+
+        ResponseEntity<?> response = controller.decisionRequest(9L);
+
+        assertEquals(404, response.getStatusCodeValue());
     }
-}
\ No newline at end of file
+}
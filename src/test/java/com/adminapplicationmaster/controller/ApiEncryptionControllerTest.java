@@ -0,0 +1,100 @@
+package com.adminapplicationmaster.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+import com.adminapplicationmaster.service.ReEncryptionJob;
+import com.adminapplicationmaster.service.SsnEncryptionMigration;
+
+@ExtendWith(MockitoExtension.class)
+class ApiEncryptionControllerTest {
+
+    @Mock
+    private ReEncryptionJob reEncryptionJob;
+
+    @Mock
+    private SsnEncryptionMigration ssnEncryptionMigration;
+
+    @InjectMocks
+    private ApiEncryptionController controller;
+
+    @Test
+    void reencrypt_shouldAcceptWhenJobStarts() {
+        when(reEncryptionJob.start()).thenReturn(true);
+
+        ResponseEntity<?> response = controller.reencrypt();
+
+        assertEquals(202, response.getStatusCode().value());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reencrypt_shouldReturnConflictWhileJobIsRunning() {
+        when(reEncryptionJob.start()).thenReturn(false);
+
+        ResponseEntity<?> response = controller.reencrypt();
+
+        assertEquals(409, response.getStatusCode().value());
+        assertEquals("Re-encryption is already running", ((Map<String, Object>) response.getBody()).get("message"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void progress_shouldReportRunningStateAndCheckpoints() {
+        List<Map<String, Object>> checkpoints = List.of(Map.of("target", "loan_applications", "last_id", 500L));
+        when(reEncryptionJob.isRunning()).thenReturn(true);
+        when(reEncryptionJob.progress()).thenReturn(checkpoints);
+
+        ResponseEntity<?> response = controller.progress();
+
+        assertEquals(200, response.getStatusCode().value());
+        Map<String, Object> body = (Map<String, Object>) response.getBody();
+        assertEquals(true, body.get("running"));
+        assertEquals(checkpoints, body.get("progress"));
+    }
+
+    @Test
+    void migrateSsns_shouldAcceptWhenMigrationStarts() {
+        when(ssnEncryptionMigration.startInBackground()).thenReturn(true);
+
+        ResponseEntity<?> response = controller.migrateSsns();
+
+        assertEquals(202, response.getStatusCode().value());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void migrateSsns_shouldReturnConflictWhileMigrationIsRunning() {
+        when(ssnEncryptionMigration.startInBackground()).thenReturn(false);
+
+        ResponseEntity<?> response = controller.migrateSsns();
+
+        assertEquals(409, response.getStatusCode().value());
+        assertEquals("SSN encryption migration is already running",
+                ((Map<String, Object>) response.getBody()).get("message"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void ssnMigrationStatus_shouldReportRunningAndCompleted() {
+        when(ssnEncryptionMigration.isRunning()).thenReturn(false);
+        when(ssnEncryptionMigration.isCompleted()).thenReturn(true);
+
+        ResponseEntity<?> response = controller.ssnMigrationStatus();
+
+        assertEquals(200, response.getStatusCode().value());
+        Map<String, Object> body = (Map<String, Object>) response.getBody();
+        assertEquals(false, body.get("running"));
+        assertEquals(true, body.get("completed"));
+    }
+}
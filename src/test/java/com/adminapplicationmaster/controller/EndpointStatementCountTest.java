@@ -0,0 +1,268 @@
+package com.adminapplicationmaster.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import com.adminapplicationmaster.config.EncryptionConverter;
+import com.adminapplicationmaster.domain.entity.Address;
+import com.adminapplicationmaster.domain.entity.ApplicationDecision;
+import com.adminapplicationmaster.domain.entity.DecisionOutboxEntry;
+import com.adminapplicationmaster.domain.entity.LoanApplication;
+import com.adminapplicationmaster.dto.BulkDecisionCheckRequest;
+import com.adminapplicationmaster.dto.DecisionResult;
+import com.adminapplicationmaster.repository.ApplicationDecisionRepository;
+import com.adminapplicationmaster.repository.ApplicationStatusCountRepository;
+import com.adminapplicationmaster.repository.LoanApplicationRepository;
+import com.adminapplicationmaster.service.ApplicationStatusCounters;
+import com.adminapplicationmaster.service.DashboardEventBus;
+import com.adminapplicationmaster.service.DashboardService;
+import com.adminapplicationmaster.service.DecisionBatchService;
+import com.adminapplicationmaster.service.DecisionCheckService;
+import com.adminapplicationmaster.service.DecisionJobService;
+import com.adminapplicationmaster.service.DecisionOutboxService;
+import com.adminapplicationmaster.service.DecisionPayloadWriter;
+import com.adminapplicationmaster.service.DecisionResultCache;
+import com.adminapplicationmaster.service.DecisionService;
+import com.adminapplicationmaster.service.LoanApplicationQueryService;
+import com.adminapplicationmaster.util.EncryptionUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+/**
+ * Pins the number of SQL statements each endpoint issues, including any lazy loads
+ * triggered while the response body is serialised. A growing count means an N+1 crept back in.
+ * The decision service and background executors are mocked; everything touching the database is real.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({EncryptionConverter.class})
+class EndpointStatementCountTest {
+
+    private static final int APPLICATIONS_PER_STATUS = 4;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private LoanApplicationRepository loanApplicationRepository;
+
+    @Autowired
+    private ApplicationDecisionRepository applicationDecisionRepository;
+
+    @Autowired
+    private ApplicationStatusCountRepository applicationStatusCountRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private EncryptionUtil encryptionUtil;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private DecisionService decisionService;
+    private ApiApplicationServiceController applicationController;
+    private ApiDashboardController dashboardController;
+    private ApplicationStatusCounters applicationStatusCounters;
+    private Statistics statistics;
+    private Address address;
+    private List<LoanApplication> applications;
+
+    @BeforeEach
+    void setUp() {
+        // Mock encryption behavior - passthrough for tests
+        when(encryptionUtil.encrypt(anyString()))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+        when(encryptionUtil.decrypt(anyString()))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        decisionService = mock(DecisionService.class);
+        ExecutorService executor = mock(ExecutorService.class);
+        DecisionOutboxService decisionOutboxService = mock(DecisionOutboxService.class);
+        when(decisionOutboxService.enqueue(anyLong())).thenAnswer(invocation -> DecisionOutboxEntry.builder()
+                .id(1L)
+                .loanApplicationId(invocation.getArgument(0))
+                .build());
+
+        DecisionCheckService decisionCheckService = new DecisionCheckService(loanApplicationRepository,
+                applicationDecisionRepository, decisionService, new DecisionPayloadWriter(objectMapper),
+                new DecisionResultCache(false, Duration.ofMinutes(15), 100), transactionTemplate);
+        DecisionBatchService decisionBatchService = new DecisionBatchService(loanApplicationRepository,
+                decisionCheckService, encryptionUtil, null, null, executor, objectMapper, null);
+        ReflectionTestUtils.setField(decisionBatchService, "maxSize", 500);
+        ReflectionTestUtils.setField(decisionBatchService, "timeout", Duration.ofMinutes(1));
+
+        applicationController = new ApiApplicationServiceController(loanApplicationRepository,
+                decisionCheckService,
+                new DecisionJobService(decisionCheckService, executor, null),
+                decisionBatchService,
+                decisionOutboxService,
+                new LoanApplicationQueryService(loanApplicationRepository, applicationDecisionRepository));
+        applicationStatusCounters = new ApplicationStatusCounters(loanApplicationRepository,
+                applicationStatusCountRepository, false, "test");
+        dashboardController = new ApiDashboardController(
+                new DashboardService(loanApplicationRepository, applicationStatusCounters),
+                mock(DashboardEventBus.class));
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        address = entityManager.persist(Address.builder()
+                .street("123 Main St")
+                .city("Springfield")
+                .state("IL")
+                .zip("62701")
+                .county("Sangamon")
+                .build());
+
+        applications = new ArrayList<>();
+        for (String status : List.of("pending", "approved", "rejected")) {
+            for (int i = 0; i < APPLICATIONS_PER_STATUS; i++) {
+                LoanApplication application = entityManager.persist(application(status + i, status));
+                // "review" leaves the application status unchanged
+                entityManager.persist(ApplicationDecision.builder()
+                        .loanApplication(application)
+                        .request("{}")
+                        .response("{}")
+                        .decision("review")
+                        .build());
+                applications.add(application);
+            }
+        }
+    }
+
+    @Test
+    void index_shouldSelectPageCountAndLatestDecisions() throws Exception {
+        assertThat(statementsFor(() -> applicationController.index(null, 0, 2))).isEqualTo(3);
+        assertThat(statementsFor(() -> applicationController.index("pending", 0, 2))).isEqualTo(3);
+    }
+
+    @Test
+    void indexByCursor_shouldSelectRowsAndLatestDecisionsOnly() throws Exception {
+        assertThat(statementsFor(() -> applicationController.indexByCursor(null, "", 2, false))).isEqualTo(2);
+        assertThat(statementsFor(() -> applicationController.indexByCursor("approved", "", 2, false))).isEqualTo(2);
+        assertThat(statementsFor(() -> applicationController.indexByCursor(null, "", 2, true))).isEqualTo(3);
+    }
+
+    @Test
+    void show_shouldLoadApplicationAddressAndDecisionsInOneStatement() throws Exception {
+        assertThat(statementsFor(() -> applicationController.show(firstApplicationId()))).isEqualTo(1);
+    }
+
+    @Test
+    void create_shouldOnlyInsert() throws Exception {
+        LoanApplication request = application("new", null);
+        request.setAddress(Address.builder().id(address.getId()).build());
+
+        assertThat(statementsFor(() -> applicationController.create(request))).isEqualTo(1);
+    }
+
+    @Test
+    void update_shouldSelectOnceAndUpdateOnce() throws Exception {
+        LoanApplication request = application("changed", null);
+        request.setAddress(null);
+
+        assertThat(statementsFor(() -> applicationController.update(firstApplicationId(), request))).isEqualTo(2);
+    }
+
+    @Test
+    void decisionCheck_shouldSelectInsertDecisionAndUpdateStatus() throws Exception {
+        when(decisionService.decide(any(byte[].class)))
+                .thenReturn(DecisionResult.of(200, "{\"final_decision\":\"eligible\"}".getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(statementsFor(() -> applicationController.decisionCheck(firstApplicationId()))).isEqualTo(3);
+    }
+
+    @Test
+    void submitDecisionCheck_shouldOnlyCheckExistence() throws Exception {
+        assertThat(statementsFor(() -> applicationController.submitDecisionCheck(firstApplicationId(), null)))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void requestDecision_shouldOnlyCheckExistence() throws Exception {
+        assertThat(statementsFor(() -> applicationController.requestDecision(firstApplicationId()))).isEqualTo(1);
+    }
+
+    @Test
+    void bulkDecisionCheck_shouldLoadApplicationsWithAddressesInOneStatement() throws Exception {
+        BulkDecisionCheckRequest request = BulkDecisionCheckRequest.builder()
+                .ids(applications.stream().map(LoanApplication::getId).toList())
+                .build();
+
+        assertThat(statementsFor(() -> applicationController.bulkDecisionCheck(request))).isEqualTo(1);
+    }
+
+    @Test
+    void dashboard_shouldOnlySelectRecentApplications() throws Exception {
+        applicationStatusCounters.reconcile();
+
+        // Counts are served from memory
+        assertThat(statementsFor(() -> dashboardController.index())).isEqualTo(1);
+    }
+
+    /**
+     * Run the endpoint against an empty persistence context and count every statement up to the serialised body
+     */
+    private long statementsFor(Supplier<ResponseEntity<?>> endpoint) throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        ResponseEntity<?> response = endpoint.get();
+        assertThat(response.getStatusCode().is2xxSuccessful()).isTrue();
+        if (!(response.getBody() instanceof ResponseBodyEmitter)) {
+            objectMapper.writeValueAsString(response.getBody());
+        }
+        entityManager.flush();
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Long firstApplicationId() {
+        return applications.get(0).getId();
+    }
+
+    private LoanApplication application(String firstName, String status) {
+        return LoanApplication.builder()
+                .firstName(firstName)
+                .lastName("Doe")
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .ssn("123-45-6789")
+                .email(firstName + "@example.com")
+                .phone("555-1234")
+                .income(75000.0)
+                .incomeType("salary")
+                .requestedLoanAmount(25000.0)
+                .status(status)
+                .address(address)
+                .build();
+    }
+}
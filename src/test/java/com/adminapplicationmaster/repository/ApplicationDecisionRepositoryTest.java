@@ -1,6 +1,7 @@
 package com.adminapplicationmaster.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 
@@ -8,6 +9,8 @@ import com.adminapplicationmaster.config.EncryptionConverter;
 import com.adminapplicationmaster.domain.entity.Address;
 import com.adminapplicationmaster.domain.entity.ApplicationDecision;
 import com.adminapplicationmaster.domain.entity.LoanApplication;
+import com.adminapplicationmaster.domain.event.ApplicationDecisionRecorded;
+import com.adminapplicationmaster.dto.LatestDecision;
 import com.adminapplicationmaster.util.EncryptionUtil;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -18,6 +21,8 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -26,8 +31,12 @@ import java.util.Optional;
 @DataJpaTest
 @ActiveProfiles("test")
 @Import({EncryptionConverter.class}) 
+@RecordApplicationEvents
 class ApplicationDecisionRepositoryTest {
 
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
     @Autowired
     private TestEntityManager entityManager;
 
@@ -323,4 +332,34 @@ class ApplicationDecisionRepositoryTest {
         assertThat(saved.getDecision()).isEqualTo("approved");
         // request and response might be null depending on entity constraints
     }
-}
\ No newline at end of file
+
+    @Test
+    void findLatestDecisions_shouldReturnMostRecentDecisionPerApplication() {
+        List<LatestDecision> latest = applicationDecisionRepository.findLatestDecisions(List.of(testLoanApplication.getId()));
+
+        assertThat(latest).hasSize(1);
+        assertThat(latest.get(0).loanApplicationId()).isEqualTo(testLoanApplication.getId());
+        assertThat(latest.get(0).decision()).isEqualTo("approved");
+        assertThat(latest.get(0).decidedAt()).isNotNull();
+    }
+
+    @Test
+    void save_shouldPublishDecisionRecordedOnlyWhenFirstSaved() {
+        applicationEvents.clear();
+        ApplicationDecision saved = applicationDecisionRepository.save(ApplicationDecision.builder()
+                .loanApplication(testLoanApplication)
+                .decision("eligible")
+                .build());
+
+        assertThat(applicationEvents.stream(ApplicationDecisionRecorded.class))
+                .extracting(ApplicationDecisionRecorded::loanApplicationId, ApplicationDecisionRecorded::decisionId,
+                        ApplicationDecisionRecorded::applicationStatus)
+                .containsExactly(tuple(testLoanApplication.getId(), saved.getId(), "approved"));
+
+        applicationEvents.clear();
+        saved.setResponse("{}");
+        applicationDecisionRepository.save(saved);
+
+        assertThat(applicationEvents.stream(ApplicationDecisionRecorded.class)).isEmpty();
+    }
+}
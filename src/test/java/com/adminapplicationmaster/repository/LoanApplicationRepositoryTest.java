@@ -1,10 +1,15 @@
 package com.adminapplicationmaster.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -21,18 +26,30 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 
 import com.adminapplicationmaster.config.EncryptionConverter;
 import com.adminapplicationmaster.domain.entity.Address;
 import com.adminapplicationmaster.domain.entity.LoanApplication;
+import com.adminapplicationmaster.domain.event.LoanApplicationRollupChanged;
+import com.adminapplicationmaster.domain.event.LoanApplicationStatusChanged;
+import com.adminapplicationmaster.dto.LoanApplicationSummary;
+import com.adminapplicationmaster.dto.RecentApplication;
+import com.adminapplicationmaster.dto.StatusCount;
 import com.adminapplicationmaster.util.EncryptionUtil;
 
 @DataJpaTest
 @ActiveProfiles("test")
 @Import({EncryptionConverter.class}) 
+@RecordApplicationEvents
 class LoanApplicationRepositoryTest {
 
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
     @Autowired
     private TestEntityManager entityManager;
 
@@ -338,4 +355,154 @@ class LoanApplicationRepositoryTest {
         // Verify decrypt was called when reading from database
         verify(encryptionUtil, atLeastOnce()).decrypt(anyString());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findById_shouldNotDecryptSsnUntilItIsRead() {
+        entityManager.clear();
+        clearInvocations(encryptionUtil);
+
+        LoanApplication app = loanApplicationRepository.findById(pendingApplication.getId()).get();
+
+        assertThat(app.getSsnDisplay()).isEqualTo("***-**-6789");
+        verify(encryptionUtil, never()).decrypt(anyString());
+
+        assertThat(app.getSsn()).isEqualTo("123-45-6789");
+        assertThat(app.getSsn()).isEqualTo("123-45-6789");
+        verify(encryptionUtil, times(1)).decrypt(anyString());
+    }
+
+    @Test
+    void save_shouldKeepStoredCiphertextForUnchangedSsn() {
+        when(encryptionUtil.isEncryptedWithCurrentKey(anyString())).thenReturn(true);
+        entityManager.clear();
+        LoanApplication app = loanApplicationRepository.findById(pendingApplication.getId()).get();
+        clearInvocations(encryptionUtil);
+
+        app.setIncome(90000.0);
+        loanApplicationRepository.saveAndFlush(app);
+
+        verify(encryptionUtil, never()).encrypt(anyString());
+        verify(encryptionUtil, never()).decrypt(anyString());
+    }
+
+    @Test
+    void findNewestSummaries_shouldWalkAllApplicationsByKeyset() {
+        List<LoanApplicationSummary> firstPage = loanApplicationRepository.findNewestSummaries(PageRequest.of(0, 2));
+        assertThat(firstPage).hasSize(2);
+
+        LoanApplicationSummary last = firstPage.get(1);
+        List<LoanApplicationSummary> secondPage =
+                loanApplicationRepository.findNewestSummariesBefore(last.createdAt(), last.id(), PageRequest.of(0, 2));
+
+        assertThat(secondPage).hasSize(1);
+        assertThat(firstPage).extracting(LoanApplicationSummary::id).doesNotContain(secondPage.get(0).id());
+        assertThat(firstPage.get(0).createdAt()).isAfterOrEqualTo(firstPage.get(1).createdAt());
+    }
+
+    @Test
+    void findNewestSummariesByStatus_shouldOnlySeekWithinStatus() {
+        List<LoanApplicationSummary> pending =
+                loanApplicationRepository.findNewestSummariesByStatus("pending", PageRequest.of(0, 10));
+        assertThat(pending).extracting(LoanApplicationSummary::id).containsExactly(pendingApplication.getId());
+
+        LoanApplicationSummary only = pending.get(0);
+        assertThat(loanApplicationRepository.findNewestSummariesByStatusBefore(
+                "pending", only.createdAt(), only.id(), PageRequest.of(0, 10))).isEmpty();
+        assertThat(loanApplicationRepository.countByStatus("pending")).isEqualTo(1);
+    }
+
+    @Test
+    void findSummaries_shouldNotDecryptSsn() {
+        entityManager.clear();
+        clearInvocations(encryptionUtil);
+
+        Page<LoanApplicationSummary> page = loanApplicationRepository.findSummaries(PageRequest.of(0, 20));
+
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(LoanApplicationSummary::email)
+                .contains("john.doe@example.com", "jane.smith@example.com", "bob.johnson@example.com");
+        verify(encryptionUtil, never()).decrypt(anyString());
+    }
+
+    @Test
+    void countGroupedByStatus_shouldCountEveryStatusInOneQuery() {
+        List<StatusCount> counts = loanApplicationRepository.countGroupedByStatus();
+
+        assertThat(counts).extracting(StatusCount::status, StatusCount::count)
+                .containsExactlyInAnyOrder(
+                        tuple("pending", 1L),
+                        tuple("approved", 1L),
+                        tuple("rejected", 1L));
+    }
+
+    @Test
+    void findRecentApplications_shouldReturnNewestFirstWithoutDecryptingSsn() {
+        entityManager.clear();
+        clearInvocations(encryptionUtil);
+
+        List<RecentApplication> recent = loanApplicationRepository.findRecentApplications(PageRequest.of(0, 2));
+
+        assertThat(recent).hasSize(2);
+        assertThat(recent.get(0).createdAt()).isAfterOrEqualTo(recent.get(1).createdAt());
+        assertThat(recent).extracting(RecentApplication::phone).doesNotContainNull();
+        verify(encryptionUtil, never()).decrypt(anyString());
+    }
+
+    @Test
+    void save_shouldPublishCreationAndStatusChanges() {
+        assertThat(applicationEvents.stream(LoanApplicationStatusChanged.class))
+                .contains(new LoanApplicationStatusChanged(pendingApplication.getId(), null, "pending"));
+
+        entityManager.clear();
+        LoanApplication app = loanApplicationRepository.findById(pendingApplication.getId()).get();
+        app.setStatus("approved");
+        loanApplicationRepository.save(app);
+
+        assertThat(applicationEvents.stream(LoanApplicationStatusChanged.class))
+                .contains(new LoanApplicationStatusChanged(app.getId(), "pending", "approved"));
+    }
+
+    @Test
+    void save_shouldRejectStatusChangeOverConcurrentChange() {
+        entityManager.flush();
+        entityManager.clear();
+        LoanApplication stale = loanApplicationRepository.findById(pendingApplication.getId()).get();
+        entityManager.detach(stale);
+        LoanApplication current = loanApplicationRepository.findById(pendingApplication.getId()).get();
+        current.setStatus("approved");
+        loanApplicationRepository.saveAndFlush(current);
+        applicationEvents.clear();
+
+        stale.setStatus("rejected");
+
+        assertThatThrownBy(() -> loanApplicationRepository.saveAndFlush(stale))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(applicationEvents.stream(LoanApplicationStatusChanged.class)).isEmpty();
+    }
+
+    @Test
+    void save_shouldNotPublishWhenStatusIsUnchanged() {
+        applicationEvents.clear();
+
+        pendingApplication.setIncome(90000.0);
+        loanApplicationRepository.save(pendingApplication);
+
+        assertThat(applicationEvents.stream(LoanApplicationStatusChanged.class)).isEmpty();
+    }
+
+    @Test
+    void save_shouldPublishRollupChangeWhenRequestedAmountChanges() {
+        applicationEvents.clear();
+
+        pendingApplication.setRequestedLoanAmount(30000.0);
+        loanApplicationRepository.save(pendingApplication);
+
+        List<LoanApplicationRollupChanged> changes =
+                applicationEvents.stream(LoanApplicationRollupChanged.class).toList();
+        assertThat(changes).hasSize(1);
+        assertThat(changes.get(0).previous().requestedAmount()).isEqualTo(25000.0);
+        assertThat(changes.get(0).current().requestedAmount()).isEqualTo(30000.0);
+        assertThat(changes.get(0).current().addressId()).isEqualTo(testAddress.getId());
+        assertThat(applicationEvents.stream(LoanApplicationStatusChanged.class)).isEmpty();
+    }
+}
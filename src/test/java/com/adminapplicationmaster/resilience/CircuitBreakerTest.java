@@ -0,0 +1,179 @@
+package com.adminapplicationmaster.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+class CircuitBreakerTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(10).toNanos();
+
+    private DependencyGuardProperties properties;
+    private AtomicLong clock;
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        properties = new DependencyGuardProperties();
+        properties.setSlidingWindowSize(10);
+        properties.setMinimumCalls(4);
+        properties.setFailureRateThreshold(50);
+        properties.setSlowCallRateThreshold(80);
+        properties.setSlowCallDuration(Duration.ofSeconds(1));
+        properties.setWaitDurationInOpenState(Duration.ofSeconds(30));
+        properties.setPermittedCallsInHalfOpenState(2);
+
+        clock = new AtomicLong();
+        circuitBreaker = new CircuitBreaker("test", properties, clock::get);
+    }
+
+    private void call(boolean failed, long durationNanos) {
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.onResult(failed, durationNanos);
+    }
+
+    @Test
+    void shouldStayClosedBelowMinimumCalls() {
+        call(true, FAST);
+        call(true, FAST);
+        call(true, FAST);
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void shouldOpenWhenFailureRateReachesThreshold() {
+        call(false, FAST);
+        call(false, FAST);
+        call(true, FAST);
+        call(true, FAST);
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+        assertEquals(1L, circuitBreaker.snapshot().get("notPermittedCalls"));
+    }
+
+    @Test
+    void shouldOpenWhenSlowCallRateReachesThreshold() {
+        for (int i = 0; i < 5; i++) {
+            call(false, SLOW);
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void shouldForgetCallsThatLeaveTheWindow() {
+        call(true, FAST);
+        for (int i = 0; i < 20; i++) {
+            call(false, FAST);
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(10, circuitBreaker.snapshot().get("bufferedCalls"));
+        assertEquals(0, circuitBreaker.snapshot().get("failedCalls"));
+    }
+
+    @Test
+    void shouldHalfOpenAfterWaitAndCloseOnSuccessfulTrials() {
+        for (int i = 0; i < 4; i++) {
+            call(true, FAST);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        // Only two trial calls are allowed while half-open
+        assertFalse(circuitBreaker.tryAcquirePermission());
+
+        circuitBreaker.onResult(false, FAST);
+        circuitBreaker.onResult(false, FAST);
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void shouldReopenWhenTrialCallsFail() {
+        for (int i = 0; i < 4; i++) {
+            call(true, FAST);
+        }
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        call(true, FAST);
+        call(false, FAST);
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void guardShouldFailFastWhenOpen() {
+        properties.setMinimumCalls(1);
+        properties.setSlidingWindowSize(1);
+        DependencyGuard guard = new DependencyGuard("guarded", properties);
+
+        assertThrows(ResourceAccessException.class, () -> guard.execute(() -> {
+            throw new ResourceAccessException("Connection refused");
+        }));
+
+        assertThrows(CallNotPermittedException.class, () -> guard.execute(() -> "not called"));
+    }
+
+    @Test
+    void guardShouldNotCountClientErrorsAsFailures() {
+        properties.setMinimumCalls(1);
+        properties.setSlidingWindowSize(1);
+        DependencyGuard guard = new DependencyGuard("guarded", properties);
+
+        assertThrows(HttpClientErrorException.class, () -> guard.execute(() -> {
+            throw new HttpClientErrorException(HttpStatus.BAD_REQUEST);
+        }));
+
+        assertEquals("ok", guard.execute(() -> "ok"));
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getCircuitBreaker().getState());
+    }
+
+    @Test
+    void guardShouldReleaseHalfOpenTrialThatThrowsError() {
+        properties.setMinimumCalls(1);
+        properties.setSlidingWindowSize(1);
+        properties.setWaitDurationInOpenState(Duration.ZERO);
+        properties.setPermittedCallsInHalfOpenState(1);
+        DependencyGuard guard = new DependencyGuard("guarded", properties);
+        assertThrows(ResourceAccessException.class, () -> guard.execute(() -> {
+            throw new ResourceAccessException("Connection refused");
+        }));
+
+        assertThrows(StackOverflowError.class, () -> guard.execute(() -> {
+            throw new StackOverflowError();
+        }));
+
+        // The failed trial reopened the breaker; the next trial is permitted again
+        assertEquals("ok", guard.execute(() -> "ok"));
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getCircuitBreaker().getState());
+    }
+
+    @Test
+    void bulkheadShouldRejectWhenFull() {
+        properties.setMaxConcurrentCalls(1);
+        Bulkhead bulkhead = new Bulkhead(properties);
+
+        assertTrue(bulkhead.tryAcquire());
+        assertFalse(bulkhead.tryAcquire());
+        bulkhead.release();
+        assertTrue(bulkhead.tryAcquire());
+        assertEquals(1L, bulkhead.snapshot().get("rejectedCalls"));
+    }
+}
@@ -0,0 +1,151 @@
+package com.adminapplicationmaster.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import org.mockito.Mock;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import com.adminapplicationmaster.domain.entity.Address;
+import com.adminapplicationmaster.util.AddressNormalizer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+class AddressBatchServiceTest {
+
+    private static final String ELIGIBLE_RESPONSE = """
+            {"message":"address_eligible","formatted_address":{"street":"123 Main St","city":"Springfield","zip":"62701","state":"IL","county":"Sangamon"}}
+            """;
+
+    private static final String NOT_ELIGIBLE_RESPONSE = "{\"message\":\"address not eligible\"}";
+
+    @Mock
+    private LocationService locationService;
+
+    @Mock
+    private AddressService addressService;
+
+    @Mock
+    private ResponseBodyEmitter emitter;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AddressEligibilityCache addressEligibilityCache = new AddressEligibilityCache(true,
+            Duration.ofHours(24), Duration.ofHours(6), Duration.ofMinutes(10), 1000);
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final List<JsonNode> lines = new ArrayList<>();
+
+    private AddressBatchService addressBatchService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        addressBatchService = new AddressBatchService(locationService, addressEligibilityCache,
+                addressService, executor, objectMapper);
+        ReflectionTestUtils.setField(addressBatchService, "maxInFlight", 2);
+
+        doAnswer(invocation -> lines.add(objectMapper.readTree((String) invocation.getArgument(0))))
+                .when(emitter).send(any(Object.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private Map<String, Object> address(String street) {
+        return Map.of("street", street, "city", "Springfield", "state", "IL", "zip", "62701");
+    }
+
+    @Test
+    void run_DuplicatesLookedUpOnceAndResultsInInputOrder() throws Exception {
+        Map<String, Object> main = address("123 Main Street");
+        Map<String, Object> mainAgain = address("123 MAIN ST.");
+        Map<String, Object> oak = address("9 Oak Avenue");
+        when(locationService.getAddressInfo(main)).thenReturn(ResponseEntity.ok(ELIGIBLE_RESPONSE));
+        when(locationService.getAddressInfo(oak)).thenReturn(ResponseEntity.ok(NOT_ELIGIBLE_RESPONSE));
+
+        Address saved = Address.builder().id(5L).street("123 Main St").city("Springfield").state("IL").zip("62701").build();
+        when(addressService.findOrCreateAll(anyList()))
+                .thenReturn(Map.of(AddressNormalizer.hash(saved), saved));
+
+        addressBatchService.run(Arrays.asList(main, oak, mainAgain, null), emitter);
+
+        verify(locationService, times(1)).getAddressInfo(main);
+        verify(locationService, never()).getAddressInfo(mainAgain);
+        verify(addressService).findOrCreateAll(argThat(list -> list.size() == 1));
+
+        assertEquals(4, lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            assertEquals(i, lines.get(i).get("index").asInt());
+        }
+        assertEquals(200, lines.get(0).get("httpStatus").asInt());
+        assertEquals(5L, lines.get(0).get("address").get("id").asLong());
+        assertEquals(404, lines.get(1).get("httpStatus").asInt());
+        assertEquals("address not eligible", lines.get(1).get("message").asText());
+        assertEquals(200, lines.get(2).get("httpStatus").asInt());
+        assertEquals(400, lines.get(3).get("httpStatus").asInt());
+    }
+
+    @Test
+    void run_CachedAddressAnsweredWithoutRemoteCall() throws Exception {
+        Map<String, Object> oak = address("9 Oak Avenue");
+        addressEligibilityCache.put(AddressNormalizer.normalize(oak), ResponseEntity.ok(NOT_ELIGIBLE_RESPONSE));
+
+        addressBatchService.run(List.of(oak), emitter);
+
+        verify(locationService, never()).getAddressInfo(any());
+        verify(addressService, never()).findOrCreateAll(anyList());
+        assertEquals(1, lines.size());
+        assertEquals(404, lines.get(0).get("httpStatus").asInt());
+    }
+
+    @Test
+    void run_SaveFailureReportedForEligibleAddresses() throws Exception {
+        Map<String, Object> main = address("123 Main Street");
+        when(locationService.getAddressInfo(main)).thenReturn(ResponseEntity.ok(ELIGIBLE_RESPONSE));
+        when(addressService.findOrCreateAll(anyList())).thenThrow(new RuntimeException("database down"));
+
+        addressBatchService.run(List.of(main), emitter);
+
+        assertEquals(1, lines.size());
+        assertEquals(500, lines.get(0).get("httpStatus").asInt());
+        assertEquals("Failed to save address: database down", lines.get(0).get("message").asText());
+    }
+
+    @Test
+    void run_ProvisionalEligibleAnswerReturnedWithoutSaving() throws Exception {
+        Map<String, Object> main = address("123 Main Street");
+        when(locationService.getAddressInfo(main)).thenReturn(ResponseEntity.ok(
+                ELIGIBLE_RESPONSE.replace("{\"message\"", "{\"provisional\":true,\"message\"")));
+
+        addressBatchService.run(List.of(main), emitter);
+
+        assertEquals(1, lines.size());
+        assertEquals(200, lines.get(0).get("httpStatus").asInt());
+        assertTrue(lines.get(0).get("provisional").asBoolean());
+        assertEquals("123 Main St", lines.get(0).get("address").get("street").asText());
+        verify(addressService, never()).findOrCreateAll(anyList());
+    }
+}
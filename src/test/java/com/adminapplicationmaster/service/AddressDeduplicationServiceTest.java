@@ -0,0 +1,208 @@
+package com.adminapplicationmaster.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.adminapplicationmaster.config.EncryptionConverter;
+import com.adminapplicationmaster.domain.entity.Address;
+import com.adminapplicationmaster.domain.entity.LoanApplication;
+import com.adminapplicationmaster.util.EncryptionUtil;
+
+/**
+ * Runs the merge against H2: rows are hashed, duplicates are re-pointed and deleted,
+ * both within a batch and across batches and against rows hashed before the run.
+ * application_rollup_deltas has no entity, so it is created from the reference schema's definition.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({EncryptionConverter.class})
+@Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS, statements =
+        "CREATE TABLE IF NOT EXISTS application_rollup_deltas (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "day DATE NOT NULL, status VARCHAR(50) NOT NULL, state VARCHAR(255) NOT NULL, "
+                + "county VARCHAR(255) NOT NULL, application_count BIGINT NOT NULL, requested_amount DOUBLE PRECISION NOT NULL)")
+class AddressDeduplicationServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private EncryptionUtil encryptionUtil;
+
+    private AddressDeduplicationService deduplicationService;
+
+    @BeforeEach
+    void setUp() {
+        // Mock encryption behavior - passthrough for tests
+        when(encryptionUtil.encrypt(anyString()))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        deduplicationService = new AddressDeduplicationService(jdbcTemplate, transactionTemplate,
+                new ApplicationRollupService(jdbcTemplate, transactionTemplate, 731, 1000));
+        // Small batches so duplicates also meet survivors from earlier batches
+        ReflectionTestUtils.setField(deduplicationService, "batchSize", 2);
+    }
+
+    @Test
+    void run_shouldHashAddressesAndMergeDuplicates() {
+        Address original = address("123 Main St", "Springfield", "IL", "62701");
+        Address sameBatchDuplicate = address("123 Main Street", "springfield", "IL", "62701");
+        Address other = address("456 Oak Ave", "Chicago", "IL", "60601");
+        Address laterBatchDuplicate = address("123 MAIN ST.", "SPRINGFIELD", "IL", "62701-1234");
+        Address alreadyHashed = address("789 Elm St", "Peoria", "IL", "61602");
+        Address duplicateOfHashed = address("789 Elm Street", "Peoria", "IL", "61602");
+        LoanApplication onSameBatchDuplicate = application("first", sameBatchDuplicate);
+        LoanApplication onLaterBatchDuplicate = application("second", laterBatchDuplicate);
+        LoanApplication onDuplicateOfHashed = application("third", duplicateOfHashed);
+        entityManager.flush();
+        // Rows stored before normalized_hash existed
+        jdbcTemplate.update("UPDATE addresses SET normalized_hash = NULL WHERE id <> ?", alreadyHashed.getId());
+
+        deduplicationService.run();
+        entityManager.clear();
+
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM addresses ORDER BY id", Long.class))
+                .containsExactly(original.getId(), other.getId(), alreadyHashed.getId());
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM addresses WHERE normalized_hash IS NULL", Integer.class)).isZero();
+        assertThat(addressIdOf(onSameBatchDuplicate)).isEqualTo(original.getId());
+        assertThat(addressIdOf(onLaterBatchDuplicate)).isEqualTo(original.getId());
+        assertThat(addressIdOf(onDuplicateOfHashed)).isEqualTo(alreadyHashed.getId());
+
+        Map<String, Object> snapshot = deduplicationService.snapshot();
+        assertThat(snapshot.get("scanned")).isEqualTo(5L);
+        assertThat(snapshot.get("hashed")).isEqualTo(2L);
+        assertThat(snapshot.get("merged")).isEqualTo(3L);
+    }
+
+    @Test
+    void run_shouldQueueRollupMovesAndBumpVersionOfRepointedApplications() {
+        Address original = address("123 Main St", "Springfield", "IL", "62701");
+        Address duplicate = entityManager.persist(Address.builder()
+                .street("123 Main Street")
+                .city("Springfield")
+                .state("IL")
+                .zip("62701")
+                .county("Menard")
+                .build());
+        LoanApplication moved = application("moved", duplicate);
+        application("stays", original);
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE addresses SET normalized_hash = NULL WHERE id = ?", duplicate.getId());
+
+        deduplicationService.run();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT lock_version FROM loan_applications WHERE id = ?",
+                Long.class, moved.getId())).isEqualTo(moved.getVersion() + 1);
+        // Out of the duplicate's county, into the survivor's
+        assertThat(queuedMoves("Menard")).isEqualTo(-1L);
+        assertThat(queuedMoves("Sangamon")).isEqualTo(1L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT SUM(requested_amount) FROM application_rollup_deltas WHERE county = 'Sangamon'",
+                Double.class)).isEqualTo(25000.0);
+    }
+
+    @Test
+    void run_shouldLeaveAlreadyHashedAddressesAlone() {
+        Address address = address("123 Main St", "Springfield", "IL", "62701");
+        entityManager.flush();
+
+        deduplicationService.run();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT normalized_hash FROM addresses WHERE id = ?",
+                String.class, address.getId())).isEqualTo(address.getNormalizedHash());
+        assertThat(deduplicationService.snapshot().get("scanned")).isEqualTo(0L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void start_shouldRefuseSecondRunWhileOneIsInProgress() throws Exception {
+        CountDownLatch scanning = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        JdbcTemplate blockingJdbcTemplate = mock(JdbcTemplate.class);
+        when(blockingJdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class)))
+                .thenAnswer(invocation -> {
+                    scanning.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return List.of();
+                });
+        AddressDeduplicationService blocked = new AddressDeduplicationService(blockingJdbcTemplate, transactionTemplate,
+                mock(ApplicationRollupService.class));
+
+        assertThat(blocked.start()).isTrue();
+        assertThat(scanning.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(blocked.start()).isFalse();
+        assertThat(blocked.snapshot().get("running")).isEqualTo(true);
+
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (Boolean.TRUE.equals(blocked.snapshot().get("running")) && System.nanoTime() < deadline) {
+            Thread.yield();
+        }
+        assertThat(blocked.start()).isTrue();
+    }
+
+    private Long queuedMoves(String county) {
+        return jdbcTemplate.queryForObject(
+                "SELECT SUM(application_count) FROM application_rollup_deltas WHERE county = ?", Long.class, county);
+    }
+
+    private Long addressIdOf(LoanApplication application) {
+        return jdbcTemplate.queryForObject("SELECT address_id FROM loan_applications WHERE id = ?",
+                Long.class, application.getId());
+    }
+
+    private Address address(String street, String city, String state, String zip) {
+        return entityManager.persist(Address.builder()
+                .street(street)
+                .city(city)
+                .state(state)
+                .zip(zip)
+                .county("Sangamon")
+                .build());
+    }
+
+    private LoanApplication application(String firstName, Address address) {
+        return entityManager.persist(LoanApplication.builder()
+                .firstName(firstName)
+                .lastName("Doe")
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .ssn("123-45-6789")
+                .email(firstName + "@example.com")
+                .phone("555-1234")
+                .income(75000.0)
+                .incomeType("salary")
+                .requestedLoanAmount(25000.0)
+                .status("pending")
+                .address(address)
+                .build());
+    }
+}
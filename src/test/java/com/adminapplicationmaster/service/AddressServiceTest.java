@@ -0,0 +1,116 @@
+package com.adminapplicationmaster.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.adminapplicationmaster.domain.entity.Address;
+import com.adminapplicationmaster.repository.AddressRepository;
+import com.adminapplicationmaster.util.AddressNormalizer;
+
+@ExtendWith(MockitoExtension.class)
+class AddressServiceTest {
+
+    @Mock
+    private AddressRepository addressRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private AddressService addressService;
+
+    private Address address() {
+        return Address.builder()
+                .street("123 Main Street")
+                .city("Springfield")
+                .state("IL")
+                .zip("62701")
+                .build();
+    }
+
+    @Test
+    void findOrCreate_ReturnsExistingRowForSameNormalisedAddress() {
+        Address existing = Address.builder().id(7L).street("123 Main St").city("Springfield").state("IL").zip("62701").build();
+        String hash = AddressNormalizer.hash(address());
+        when(addressRepository.findByNormalizedHash(hash)).thenReturn(Optional.of(existing));
+
+        Address result = addressService.findOrCreate(address());
+
+        assertSame(existing, result);
+        verify(addressRepository, never()).save(any());
+    }
+
+    @Test
+    void findOrCreate_SavesNewAddress() {
+        Address address = address();
+        when(addressRepository.findByNormalizedHash(AddressNormalizer.hash(address))).thenReturn(Optional.empty());
+        when(addressRepository.save(address)).thenReturn(address);
+
+        assertSame(address, addressService.findOrCreate(address));
+    }
+
+    @Test
+    void findOrCreate_ConcurrentInsert_ReturnsWinningRow() {
+        Address address = address();
+        Address winner = Address.builder().id(9L).build();
+        String hash = AddressNormalizer.hash(address);
+        when(addressRepository.findByNormalizedHash(hash))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(winner));
+        when(addressRepository.save(address)).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        assertSame(winner, addressService.findOrCreate(address));
+    }
+
+    @Test
+    void findOrCreateAll_InsertsOnlyNewAddressesInOneBatch() {
+        Address known = address();
+        Address fresh = Address.builder().street("9 Oak Avenue").city("Springfield").state("IL").zip("62701").build();
+        String knownHash = AddressNormalizer.hash(known);
+        String freshHash = AddressNormalizer.hash(fresh);
+
+        Address storedKnown = Address.builder().id(1L).normalizedHash(knownHash).build();
+        Address storedFresh = Address.builder().id(2L).normalizedHash(freshHash).build();
+        when(addressRepository.findByNormalizedHashIn(anyCollection()))
+                .thenReturn(List.of(storedKnown))
+                .thenReturn(List.of(storedKnown, storedFresh));
+
+        Map<String, Address> result = addressService.findOrCreateAll(List.of(known, fresh, address()));
+
+        verify(jdbcTemplate).batchUpdate(anyString(), argThat((List<Object> rows) -> rows.size() == 1), eq(1), any());
+        assertEquals(2, result.size());
+        assertSame(storedFresh, result.get(freshHash));
+    }
+
+    @Test
+    void findOrCreateAll_AllKnown_SkipsInsert() {
+        Address known = address();
+        Address stored = Address.builder().id(1L).normalizedHash(AddressNormalizer.hash(known)).build();
+        when(addressRepository.findByNormalizedHashIn(anyCollection())).thenReturn(List.of(stored));
+
+        Map<String, Address> result = addressService.findOrCreateAll(List.of(known));
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(List.class), anyInt(), any());
+        assertSame(stored, result.get(AddressNormalizer.hash(known)));
+    }
+}
@@ -0,0 +1,182 @@
+package com.adminapplicationmaster.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.adminapplicationmaster.config.EncryptionConverter;
+import com.adminapplicationmaster.domain.entity.Address;
+import com.adminapplicationmaster.domain.entity.LoanApplication;
+import com.adminapplicationmaster.domain.event.LoanApplicationRollupChanged;
+import com.adminapplicationmaster.dto.RollupBucket;
+import com.adminapplicationmaster.util.EncryptionUtil;
+
+/**
+ * Runs the queue, fold and rebuild SQL against H2 in PostgreSQL mode and checks the resulting buckets.
+ * The rollup tables have no entities, so they are created from the reference schema's definitions.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({EncryptionConverter.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:rollups;MODE=PostgreSQL;NON_KEYWORDS=DAY")
+@Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS, statements = {
+        "CREATE TABLE IF NOT EXISTS application_rollups (day DATE NOT NULL, status VARCHAR(50) NOT NULL, "
+                + "state VARCHAR(255) NOT NULL, county VARCHAR(255) NOT NULL, application_count BIGINT NOT NULL, "
+                + "requested_amount_sum DOUBLE PRECISION NOT NULL, PRIMARY KEY (day, status, state, county))",
+        "CREATE TABLE IF NOT EXISTS application_rollup_deltas (id BIGSERIAL PRIMARY KEY, day DATE NOT NULL, "
+                + "status VARCHAR(50) NOT NULL, state VARCHAR(255) NOT NULL, county VARCHAR(255) NOT NULL, "
+                + "application_count BIGINT NOT NULL, requested_amount DOUBLE PRECISION NOT NULL)",
+        "CREATE TABLE IF NOT EXISTS application_rollup_state (id SMALLINT PRIMARY KEY, applied_at TIMESTAMP, "
+                + "rebuilt_at TIMESTAMP)",
+        "INSERT INTO application_rollup_state (id) SELECT 1 WHERE NOT EXISTS (SELECT 1 FROM application_rollup_state)"
+})
+class ApplicationRollupServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 2);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private EncryptionUtil encryptionUtil;
+
+    private ApplicationRollupService service;
+    private Address address;
+
+    @BeforeEach
+    void setUp() {
+        // Mock encryption behavior - passthrough for tests
+        when(encryptionUtil.encrypt(anyString()))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        service = new ApplicationRollupService(jdbcTemplate, transactionTemplate, 31, 2);
+        address = entityManager.persist(Address.builder()
+                .street("123 Main St")
+                .city("Springfield")
+                .state(" il ")
+                .zip("62701")
+                .county("Sangamon ")
+                .build());
+    }
+
+    @Test
+    void onRollupChanged_shouldOnlyQueueMovesUntilTheyAreApplied() {
+        service.onRollupChanged(new LoanApplicationRollupChanged(1L, null, facts("pending", 25000.0)));
+
+        assertThat(rollupRows()).isZero();
+        assertThat(queuedMoves()).isEqualTo(1);
+    }
+
+    @Test
+    void applyQueued_shouldMoveApplicationsBetweenBuckets() {
+        service.onRollupChanged(new LoanApplicationRollupChanged(1L, null, facts("pending", 25000.0)));
+        service.onRollupChanged(new LoanApplicationRollupChanged(2L, null, facts("pending", 10000.0)));
+        service.onRollupChanged(new LoanApplicationRollupChanged(1L,
+                facts("pending", 25000.0), facts("approved", 25000.0)));
+
+        // Four moves in batches of two
+        assertThat(service.applyQueued()).isEqualTo(4);
+
+        assertThat(queuedMoves()).isZero();
+        assertThat(service.query(List.of("status", "state", "county"), DAY, DAY, null, null, null))
+                .containsExactly(
+                        new RollupBucket(null, "approved", "IL", "Sangamon", 1, 25000.0),
+                        new RollupBucket(null, "pending", "IL", "Sangamon", 1, 10000.0));
+    }
+
+    @Test
+    void rebuild_shouldRecountApplicationsAndDropMovesItAlreadyIncludes() {
+        application("pending", 25000.0);
+        application("approved", 10000.0);
+        application("approved", 5000.0);
+        entityManager.flush();
+        service.onRollupChanged(new LoanApplicationRollupChanged(9L, null, facts("rejected", 1000.0)));
+        jdbcTemplate.update("INSERT INTO application_rollups VALUES (?, 'stale', 'IL', 'Sangamon', 7, 7.0)", DAY);
+
+        assertThat(service.rebuild()).isEqualTo(2);
+
+        assertThat(queuedMoves()).isZero();
+        LocalDate today = LocalDate.now();
+        assertThat(service.query(List.of("status"), today, today, null, "il", null))
+                .containsExactly(
+                        new RollupBucket(null, "approved", null, null, 2, 15000.0),
+                        new RollupBucket(null, "pending", null, null, 1, 25000.0));
+        assertThat(service.query(List.of("status"), DAY, DAY, null, null, null)).isEmpty();
+    }
+
+    @Test
+    void query_shouldDrillDownWithinFilteredBucket() {
+        service.onRollupChanged(new LoanApplicationRollupChanged(1L, null, facts("pending", 25000.0)));
+        service.onRollupChanged(new LoanApplicationRollupChanged(2L, null, facts("approved", 10000.0)));
+        service.applyQueued();
+
+        assertThat(service.query(List.of("county", "day"), DAY, DAY.plusDays(6), "approved", " il ", null))
+                .containsExactly(new RollupBucket(DAY, null, null, "Sangamon", 1, 10000.0));
+        assertThat(service.query(List.of("state"), DAY, DAY, null, "CA", null)).isEmpty();
+    }
+
+    @Test
+    void query_shouldRejectUnknownDimensionsAndRanges() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.query(List.of("zip"), DAY, DAY, null, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.query(List.of(), DAY, DAY, null, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.query(List.of("day"), DAY, DAY.minusDays(1), null, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.query(List.of("day"), DAY, DAY.plusDays(31), null, null, null));
+    }
+
+    private LoanApplicationRollupChanged.Facts facts(String status, double requestedAmount) {
+        return new LoanApplicationRollupChanged.Facts(DAY, status, address.getId(), requestedAmount);
+    }
+
+    private void application(String status, double requestedAmount) {
+        entityManager.persist(LoanApplication.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .ssn("123-45-6789")
+                .email("john.doe@example.com")
+                .phone("555-1234")
+                .income(75000.0)
+                .incomeType("salary")
+                .requestedLoanAmount(requestedAmount)
+                .status(status)
+                .address(address)
+                .build());
+    }
+
+    private int rollupRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM application_rollups", Integer.class);
+    }
+
+    private int queuedMoves() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM application_rollup_deltas", Integer.class);
+    }
+}
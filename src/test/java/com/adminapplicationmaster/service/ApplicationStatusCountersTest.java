@@ -0,0 +1,180 @@
+package com.adminapplicationmaster.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.adminapplicationmaster.domain.entity.ApplicationStatusCount;
+import com.adminapplicationmaster.domain.event.LoanApplicationStatusChanged;
+import com.adminapplicationmaster.dto.StatusCount;
+import com.adminapplicationmaster.repository.ApplicationStatusCountRepository;
+import com.adminapplicationmaster.repository.LoanApplicationRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ApplicationStatusCountersTest {
+
+    private static final String NODE_ID = "node-1";
+
+    @Mock
+    private LoanApplicationRepository loanApplicationRepository;
+
+    @Mock
+    private ApplicationStatusCountRepository checkpointRepository;
+
+    private ApplicationStatusCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        counters = new ApplicationStatusCounters(loanApplicationRepository, checkpointRepository, false, NODE_ID);
+    }
+
+    @Test
+    void onStatusChanged_shouldMoveApplicationBetweenStatuses() {
+        counters.onStatusChanged(new LoanApplicationStatusChanged(1L, null, "pending"));
+        counters.onStatusChanged(new LoanApplicationStatusChanged(2L, null, "pending"));
+        counters.onStatusChanged(new LoanApplicationStatusChanged(1L, "pending", "approved"));
+
+        assertEquals(1, counters.count("pending"));
+        assertEquals(1, counters.count("approved"));
+        assertEquals(0, counters.count("rejected"));
+        assertEquals(2, counters.total());
+    }
+
+    @Test
+    void start_shouldRestoreCheckpointWithoutCounting() {
+        when(checkpointRepository.findByNodeId(NODE_ID)).thenReturn(List.of(
+                new ApplicationStatusCount(NODE_ID, "pending", 7, LocalDateTime.now()),
+                new ApplicationStatusCount(NODE_ID, "approved", 3, LocalDateTime.now())));
+
+        counters.start();
+
+        assertEquals(7, counters.count("pending"));
+        assertEquals(10, counters.total());
+        verify(loanApplicationRepository, never()).countGroupedByStatus();
+        counters.checkpoint();
+        verify(checkpointRepository, never()).saveAll(anyList());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void start_shouldBorrowNewestCheckpointOfAnotherNodeAndCheckpointItAsItsOwn() {
+        ApplicationStatusCount other = new ApplicationStatusCount("node-2", "pending", 5, LocalDateTime.now());
+        when(checkpointRepository.findByNodeId(NODE_ID)).thenReturn(List.of());
+        when(checkpointRepository.findFirstByOrderByCheckpointedAtDesc()).thenReturn(Optional.of(other));
+        when(checkpointRepository.findByNodeId("node-2")).thenReturn(List.of(other));
+
+        counters.start();
+        counters.checkpoint();
+
+        assertEquals(5, counters.count("pending"));
+        verify(loanApplicationRepository, never()).countGroupedByStatus();
+        ArgumentCaptor<List<ApplicationStatusCount>> saved = ArgumentCaptor.forClass(List.class);
+        verify(checkpointRepository).saveAll(saved.capture());
+        assertEquals(NODE_ID, saved.getValue().get(0).getNodeId());
+        assertEquals(5, saved.getValue().get(0).getApplicationCount());
+    }
+
+    @Test
+    void start_shouldCountTableWhenThereIsNoCheckpoint() {
+        when(checkpointRepository.findByNodeId(NODE_ID)).thenReturn(List.of());
+        when(checkpointRepository.findFirstByOrderByCheckpointedAtDesc()).thenReturn(Optional.empty());
+        when(loanApplicationRepository.countGroupedByStatus())
+                .thenReturn(List.of(new StatusCount("pending", 4L), new StatusCount("rejected", 1L)));
+
+        counters.start();
+
+        assertEquals(4, counters.count("pending"));
+        assertEquals(1, counters.count("rejected"));
+        verify(checkpointRepository).saveAll(anyList());
+    }
+
+    @Test
+    void reconcile_shouldCorrectDrift() {
+        counters.onStatusChanged(new LoanApplicationStatusChanged(1L, null, "pending"));
+        counters.onStatusChanged(new LoanApplicationStatusChanged(2L, null, "withdrawn"));
+        when(loanApplicationRepository.countGroupedByStatus())
+                .thenReturn(List.of(new StatusCount("pending", 3L), new StatusCount("approved", 2L)));
+
+        counters.reconcile();
+
+        assertEquals(3, counters.count("pending"));
+        assertEquals(2, counters.count("approved"));
+        assertEquals(0, counters.count("withdrawn"));
+        assertEquals(5, counters.total());
+    }
+
+    @Test
+    void reconcile_shouldCountAgainWhenChangeCommitsDuringCount() {
+        counters.onStatusChanged(new LoanApplicationStatusChanged(1L, null, "pending"));
+        when(loanApplicationRepository.countGroupedByStatus())
+                .thenAnswer(invocation -> {
+                    // Committed before the count read the table, its event applied while the count runs
+                    counters.onStatusChanged(new LoanApplicationStatusChanged(2L, null, "pending"));
+                    return List.of(new StatusCount("pending", 2L));
+                })
+                .thenReturn(List.of(new StatusCount("pending", 2L), new StatusCount("approved", 1L)));
+
+        counters.reconcile();
+
+        assertEquals(2, counters.count("pending"));
+        assertEquals(1, counters.count("approved"));
+        verify(loanApplicationRepository, times(2)).countGroupedByStatus();
+    }
+
+    @Test
+    void reconcile_shouldKeepCountsWhenEveryCountOverlapsChange() {
+        counters.onStatusChanged(new LoanApplicationStatusChanged(1L, null, "pending"));
+        when(loanApplicationRepository.countGroupedByStatus()).thenAnswer(invocation -> {
+            counters.onStatusChanged(new LoanApplicationStatusChanged(2L, null, "pending"));
+            return List.of(new StatusCount("pending", 40L));
+        });
+
+        counters.reconcile();
+
+        assertEquals(4, counters.count("pending"));
+        verify(loanApplicationRepository, times(3)).countGroupedByStatus();
+    }
+
+    @Test
+    void reconcileAndCheckpoint_shouldPickUpChangesMadeByOtherNodes() {
+        counters.onStatusChanged(new LoanApplicationStatusChanged(1L, null, "pending"));
+        when(loanApplicationRepository.countGroupedByStatus())
+                .thenReturn(List.of(new StatusCount("pending", 1L), new StatusCount("approved", 4L)));
+
+        counters.reconcileAndCheckpoint();
+
+        assertEquals(4, counters.count("approved"));
+        verify(checkpointRepository).saveAll(anyList());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void checkpoint_shouldOnlyWriteAfterChanges() {
+        counters.checkpoint();
+        verify(checkpointRepository, never()).saveAll(anyList());
+
+        counters.onStatusChanged(new LoanApplicationStatusChanged(1L, null, "pending"));
+        counters.checkpoint();
+
+        ArgumentCaptor<List<ApplicationStatusCount>> saved = ArgumentCaptor.forClass(List.class);
+        verify(checkpointRepository).saveAll(saved.capture());
+        assertEquals(1, saved.getValue().size());
+        assertEquals(NODE_ID, saved.getValue().get(0).getNodeId());
+        assertEquals("pending", saved.getValue().get(0).getStatus());
+        assertEquals(1, saved.getValue().get(0).getApplicationCount());
+    }
+}
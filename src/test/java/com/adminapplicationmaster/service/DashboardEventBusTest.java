@@ -0,0 +1,205 @@
+package com.adminapplicationmaster.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.adminapplicationmaster.domain.event.ApplicationDecisionRecorded;
+import com.adminapplicationmaster.domain.event.LoanApplicationStatusChanged;
+import com.adminapplicationmaster.dto.RecentApplication;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardEventBusTest {
+
+    @Mock
+    private DashboardService dashboardService;
+
+    private DashboardEventBus bus;
+
+    @BeforeEach
+    void setUp() {
+        bus = new DashboardEventBus(dashboardService, JsonMapper.builder().findAndAddModules().build(),
+                Duration.ofMinutes(30), Duration.ZERO, 2, 100, 10);
+    }
+
+    @Test
+    void dispatch_shouldCoalesceBatchIntoOneSetOfEventsForAllSubscribers() {
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        bus.register(first);
+        bus.register(second);
+
+        Map<String, Long> statistics = new LinkedHashMap<>();
+        statistics.put("total", 3L);
+        when(dashboardService.statistics()).thenReturn(statistics);
+        when(dashboardService.recentApplications(List.of(1L))).thenReturn(List.of(new RecentApplication(
+                1L, "John", "Doe", "john.doe@example.com", "555-1234", "pending", 25000.0, LocalDateTime.now())));
+
+        bus.dispatch(List.of(
+                new LoanApplicationStatusChanged(1L, null, "pending"),
+                new LoanApplicationStatusChanged(2L, "pending", "approved"),
+                new LoanApplicationStatusChanged(3L, "pending", "rejected"),
+                new ApplicationDecisionRecorded(2L, 9L, "eligible", "approved", LocalDateTime.now())));
+
+        for (RecordingEmitter emitter : List.of(first, second)) {
+            awaitFrames(emitter, 3);
+            assertEquals(3, emitter.frames.size());
+            assertTrue(emitter.frames.get(0).startsWith("event:applications-created\n"));
+            assertTrue(emitter.frames.get(0).contains("\"email\":\"john.doe@example.com\""));
+            assertTrue(emitter.frames.get(1).contains(
+                    "{\"deltas\":{\"approved\":1,\"pending\":-1,\"rejected\":1},\"statistics\":{\"total\":3}}"));
+            assertTrue(emitter.frames.get(2).startsWith("event:decisions-completed\n"));
+            assertTrue(emitter.frames.get(2).contains("\"decision\":\"eligible\""));
+        }
+        // Loaded once however many dashboards are open
+        verify(dashboardService, times(1)).recentApplications(List.of(1L));
+        verify(dashboardService, times(1)).statistics();
+    }
+
+    @Test
+    void dispatch_shouldSkipCountsWhenChangesCancelOut() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        bus.register(emitter);
+
+        bus.dispatch(List.of(
+                new LoanApplicationStatusChanged(1L, "pending", "approved"),
+                new LoanApplicationStatusChanged(1L, "approved", "pending")));
+
+        assertTrue(emitter.frames.isEmpty());
+        verifyNoInteractions(dashboardService);
+    }
+
+    @Test
+    void dispatch_shouldDisconnectSlowSubscriberWithoutHoldingUpOthers() throws Exception {
+        bus = new DashboardEventBus(dashboardService, JsonMapper.builder().findAndAddModules().build(),
+                Duration.ofMinutes(30), Duration.ZERO, 2, 100, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        SlowEmitter slow = new SlowEmitter(release);
+        RecordingEmitter healthy = new RecordingEmitter();
+        bus.register(slow);
+        bus.register(healthy);
+        when(dashboardService.statistics()).thenReturn(Map.of("total", 1L));
+
+        // The slow writer takes the first event and blocks; the second fills its queue of one
+        bus.dispatch(List.of(new LoanApplicationStatusChanged(1L, "pending", "approved")));
+        assertTrue(slow.sending.await(5, TimeUnit.SECONDS));
+        awaitFrames(healthy, 1);
+        bus.dispatch(List.of(new LoanApplicationStatusChanged(2L, "pending", "approved")));
+        awaitFrames(healthy, 2);
+        bus.dispatch(List.of(new LoanApplicationStatusChanged(3L, "pending", "approved")));
+
+        awaitFrames(healthy, 3);
+        assertEquals(1, bus.subscriberCount());
+        assertTrue(slow.completed);
+        release.countDown();
+    }
+
+    @Test
+    void dispatch_shouldDropSubscribersThatCannotBeWritten() {
+        RecordingEmitter healthy = new RecordingEmitter();
+        bus.register(healthy);
+        bus.register(new BrokenEmitter());
+        when(dashboardService.statistics()).thenReturn(Map.of("total", 1L));
+
+        bus.dispatch(List.of(new LoanApplicationStatusChanged(1L, "pending", "approved")));
+
+        awaitFrames(healthy, 1);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (bus.subscriberCount() > 1 && System.nanoTime() < deadline) {
+            Thread.yield();
+        }
+        assertEquals(1, bus.subscriberCount());
+    }
+
+    @Test
+    void dispatch_shouldDoNothingWithoutSubscribers() {
+        bus.dispatch(List.of(new LoanApplicationStatusChanged(1L, null, "pending")));
+
+        verifyNoInteractions(dashboardService);
+    }
+
+    @Test
+    void subscribe_shouldRejectBeyondMaxSubscribers() {
+        bus.register(new RecordingEmitter());
+        bus.register(new RecordingEmitter());
+
+        assertThrows(IllegalStateException.class, () -> bus.subscribe());
+    }
+
+    private static void awaitFrames(RecordingEmitter emitter, int count) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (emitter.frames.size() < count && System.nanoTime() < deadline) {
+            Thread.yield();
+        }
+        assertEquals(count, emitter.frames.size());
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        // Written by the subscriber's own thread
+        final List<String> frames = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            StringBuilder frame = new StringBuilder();
+            builder.build().forEach(part -> frame.append(part.getData()));
+            frames.add(frame.toString());
+        }
+    }
+
+    private static class SlowEmitter extends SseEmitter {
+
+        final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch release;
+        volatile boolean completed;
+
+        SlowEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+
+    private static class BrokenEmitter extends SseEmitter {
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            throw new IOException("Broken pipe");
+        }
+    }
+}
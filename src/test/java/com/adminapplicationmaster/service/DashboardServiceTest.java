@@ -0,0 +1,66 @@
+package com.adminapplicationmaster.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import com.adminapplicationmaster.dto.RecentApplication;
+import com.adminapplicationmaster.repository.LoanApplicationRepository;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceTest {
+
+    @Mock
+    private LoanApplicationRepository loanApplicationRepository;
+
+    @Mock
+    private ApplicationStatusCounters applicationStatusCounters;
+
+    @InjectMocks
+    private DashboardService dashboardService;
+
+    @Test
+    void statistics_shouldReadCountersWithoutQuerying() {
+        when(applicationStatusCounters.total()).thenReturn(10L);
+        when(applicationStatusCounters.count("pending")).thenReturn(5L);
+        when(applicationStatusCounters.count("approved")).thenReturn(3L);
+        when(applicationStatusCounters.count("rejected")).thenReturn(0L);
+
+        Map<String, Long> statistics = dashboardService.statistics();
+
+        assertEquals(10L, statistics.get("total"));
+        assertEquals(5L, statistics.get("pending"));
+        assertEquals(3L, statistics.get("approved"));
+        assertEquals(0L, statistics.get("rejected"));
+        assertEquals(4, statistics.size());
+        verifyNoInteractions(loanApplicationRepository);
+    }
+
+    @Test
+    void recentApplications_shouldRequestTenNewest() {
+        RecentApplication recent = new RecentApplication(1L, "John", "Doe", "john.doe@example.com",
+                "555-1234", "pending", 25000.0, LocalDateTime.now());
+        when(loanApplicationRepository.findRecentApplications(any(Pageable.class))).thenReturn(List.of(recent));
+
+        assertEquals(List.of(recent), dashboardService.recentApplications());
+
+        ArgumentCaptor<Pageable> limit = ArgumentCaptor.forClass(Pageable.class);
+        verify(loanApplicationRepository).findRecentApplications(limit.capture());
+        assertEquals(0, limit.getValue().getPageNumber());
+        assertEquals(DashboardService.RECENT_APPLICATIONS, limit.getValue().getPageSize());
+    }
+}
@@ -0,0 +1,175 @@
+package com.adminapplicationmaster.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import com.adminapplicationmaster.domain.entity.LoanApplication;
+import com.adminapplicationmaster.dto.BulkDecisionCheckRequest;
+import com.adminapplicationmaster.dto.DecisionOutcome;
+import com.adminapplicationmaster.repository.LoanApplicationRepository;
+import com.adminapplicationmaster.util.EncryptionUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+@ExtendWith(MockitoExtension.class)
+class DecisionBatchServiceTest {
+
+    private static final int MAX_SIZE = 3;
+
+    @Mock
+    private LoanApplicationRepository loanApplicationRepository;
+
+    @Mock
+    private DecisionCheckService decisionCheckService;
+
+    @Mock
+    private EncryptionUtil encryptionUtil;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private ExecutorService executor;
+    private DecisionBatchService decisionBatchService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        decisionBatchService = new DecisionBatchService(loanApplicationRepository, decisionCheckService,
+                encryptionUtil, jdbcTemplate, transactionTemplate, executor, objectMapper, eventPublisher);
+        ReflectionTestUtils.setField(decisionBatchService, "maxInFlight", 2);
+        ReflectionTestUtils.setField(decisionBatchService, "writeBatchSize", 50);
+        ReflectionTestUtils.setField(decisionBatchService, "maxSize", MAX_SIZE);
+        ReflectionTestUtils.setField(decisionBatchService, "timeout", Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void load_shouldReportIdsThatDoNotExist() {
+        when(loanApplicationRepository.findWithAddressByIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(application(1L)));
+
+        DecisionBatchService.Selection selection = decisionBatchService.load(BulkDecisionCheckRequest.builder()
+                .ids(Arrays.asList(1L, 2L, 1L, null))
+                .build());
+
+        assertEquals(1, selection.applications().size());
+        assertEquals(List.of(2L), selection.missingIds());
+    }
+
+    @Test
+    void load_shouldRejectTooManyIds() {
+        BulkDecisionCheckRequest request = BulkDecisionCheckRequest.builder().ids(List.of(1L, 2L, 3L, 4L)).build();
+
+        assertThrows(IllegalArgumentException.class, () -> decisionBatchService.load(request));
+    }
+
+    @Test
+    void load_shouldRejectStatusMatchingMoreThanMaxSize() {
+        when(loanApplicationRepository.findWithAddressByStatus("pending", PageRequest.of(0, MAX_SIZE + 1)))
+                .thenReturn(List.of(application(1L), application(2L), application(3L), application(4L)));
+        BulkDecisionCheckRequest request = BulkDecisionCheckRequest.builder().status("pending").build();
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> decisionBatchService.load(request));
+        assertTrue(error.getMessage().contains("More than " + MAX_SIZE));
+    }
+
+    @Test
+    void load_shouldSelectEveryApplicationWithStatusUpToMaxSize() {
+        when(loanApplicationRepository.findWithAddressByStatus("pending", PageRequest.of(0, MAX_SIZE + 1)))
+                .thenReturn(List.of(application(1L), application(2L), application(3L)));
+
+        DecisionBatchService.Selection selection = decisionBatchService.load(
+                BulkDecisionCheckRequest.builder().status("pending").build());
+
+        assertEquals(3, selection.applications().size());
+        assertTrue(selection.missingIds().isEmpty());
+    }
+
+    @Test
+    void load_shouldRequireIdsOrStatus() {
+        assertThrows(IllegalArgumentException.class,
+                () -> decisionBatchService.load(new BulkDecisionCheckRequest()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void run_shouldStreamMissingIdsAsNotFoundAndPersistDecisions() throws Exception {
+        LoanApplication application = application(1L);
+        when(decisionCheckService.evaluate(application))
+                .thenReturn(DecisionOutcome.success(1L, "review", "{}", "{}"));
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        List<String> lines = new ArrayList<>();
+
+        decisionBatchService.run(new DecisionBatchService.Selection(List.of(application), List.of(2L)),
+                new ResponseBodyEmitter() {
+                    @Override
+                    public void send(Object object) {
+                        lines.add((String) object);
+                    }
+                });
+
+        assertEquals(2, lines.size());
+        Map<String, Object> missing = objectMapper.readValue(lines.get(0), Map.class);
+        assertEquals(2, missing.get("id"));
+        assertEquals("failed", missing.get("status"));
+        assertEquals(404, missing.get("httpStatus"));
+        Map<String, Object> completed = objectMapper.readValue(lines.get(1), Map.class);
+        assertEquals(1, completed.get("id"));
+        assertEquals("completed", completed.get("status"));
+        assertEquals("review", completed.get("decision"));
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO application_decisions"), anyList(), eq(50),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    private static LoanApplication application(Long id) {
+        return LoanApplication.builder().id(id).status("pending").build();
+    }
+}
@@ -0,0 +1,132 @@
+package com.adminapplicationmaster.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.adminapplicationmaster.config.EncryptionConverter;
+import com.adminapplicationmaster.domain.entity.Address;
+import com.adminapplicationmaster.domain.entity.ApplicationDecision;
+import com.adminapplicationmaster.domain.entity.LoanApplication;
+import com.adminapplicationmaster.dto.DecisionResult;
+import com.adminapplicationmaster.repository.AddressRepository;
+import com.adminapplicationmaster.repository.ApplicationDecisionRepository;
+import com.adminapplicationmaster.repository.LoanApplicationRepository;
+import com.adminapplicationmaster.util.EncryptionUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * A cached decision is returned by decision jobs and only serialised when the job is polled, long after the
+ * repository call. Not transactional, so nothing holds a session open the way open-in-view does for the endpoint.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({EncryptionConverter.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DecisionCheckServiceCachedDecisionTest {
+
+    @Autowired
+    private LoanApplicationRepository loanApplicationRepository;
+
+    @Autowired
+    private ApplicationDecisionRepository applicationDecisionRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private EncryptionUtil encryptionUtil;
+
+    private final DecisionService decisionService = mock(DecisionService.class);
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private DecisionCheckService decisionCheckService;
+
+    @BeforeEach
+    void setUp() {
+        // Mock encryption behavior - passthrough for tests
+        when(encryptionUtil.encrypt(anyString()))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+        when(encryptionUtil.decrypt(anyString()))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        decisionCheckService = new DecisionCheckService(loanApplicationRepository, applicationDecisionRepository,
+                decisionService, new DecisionPayloadWriter(new ObjectMapper()),
+                new DecisionResultCache(true, Duration.ofMinutes(15), 100), transactionTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        applicationDecisionRepository.deleteAll();
+        loanApplicationRepository.deleteAll();
+        addressRepository.deleteAll();
+    }
+
+    @Test
+    void check_shouldReturnCachedDecisionThatSerialisesWithoutSession() throws Exception {
+        when(decisionService.decide(any(byte[].class))).thenReturn(
+                DecisionResult.of(200, "{\"final_decision\":\"eligible\"}".getBytes(StandardCharsets.UTF_8)));
+        LoanApplication application = application();
+
+        ResponseEntity<?> first = decisionCheckService.check(application.getId());
+        ResponseEntity<?> cached = decisionCheckService.check(application.getId());
+
+        verify(decisionService, times(1)).decide(any(byte[].class));
+        assertThat(cached.getStatusCode().value()).isEqualTo(200);
+        assertThat(((ApplicationDecision) cached.getBody()).getId())
+                .isEqualTo(((ApplicationDecision) first.getBody()).getId());
+        String json = objectMapper.writeValueAsString(cached.getBody());
+        assertThat(json).contains("\"decision\":\"eligible\"", "\"firstName\":\"John\"", "\"city\":\"Springfield\"");
+    }
+
+    private LoanApplication application() {
+        Address address = addressRepository.save(Address.builder()
+                .street("123 Main St")
+                .city("Springfield")
+                .state("IL")
+                .zip("62701")
+                .county("Sangamon")
+                .build());
+        return loanApplicationRepository.save(LoanApplication.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .ssn("123-45-6789")
+                .email("john.doe@example.com")
+                .phone("555-1234")
+                .income(75000.0)
+                .incomeType("salary")
+                .requestedLoanAmount(25000.0)
+                .status("pending")
+                .address(address)
+                .build());
+    }
+}
@@ -0,0 +1,336 @@
+package com.adminapplicationmaster.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.adminapplicationmaster.domain.entity.Address;
+import com.adminapplicationmaster.domain.entity.ApplicationDecision;
+import com.adminapplicationmaster.domain.entity.LoanApplication;
+import com.adminapplicationmaster.dto.DecisionResult;
+import com.adminapplicationmaster.repository.ApplicationDecisionRepository;
+import com.adminapplicationmaster.repository.LoanApplicationRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+class DecisionCheckServiceTest {
+
+    @Mock
+    private LoanApplicationRepository loanApplicationRepository;
+
+    @Mock
+    private ApplicationDecisionRepository applicationDecisionRepository;
+
+    @Mock
+    private DecisionService decisionService;
+
+    @Spy
+    private DecisionPayloadWriter payloadWriter = new DecisionPayloadWriter(new ObjectMapper());
+
+    @Mock
+    private DecisionResultCache decisionResultCache;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private DecisionCheckService decisionCheckService;
+
+    private LoanApplication testApplication;
+
+    @BeforeEach
+    void setUp() {
+        Address testAddress = Address.builder()
+                .id(1L)
+                .street("123 Main St")
+                .unitNumber("Apt 4")
+                .city("Springfield")
+                .state("IL")
+                .zip("62701")
+                .county("Sangamon")
+                .build();
+
+        testApplication = LoanApplication.builder()
+                .id(1L)
+                .firstName("John")
+                .lastName("Doe")
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .ssn("123-45-6789")
+                .email("john.doe@example.com")
+                .phone("555-1234")
+                .income(Double.valueOf("75000"))
+                .incomeType("salary")
+                .requestedLoanAmount(Double.valueOf("25000"))
+                .address(testAddress)
+                .build();
+
+        setJoinTimeout(Duration.ofSeconds(5));
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void check_shouldCreateApplicationDecisionOnSuccess() throws Exception {
+        String decisionResponse = "{\"final_decision\":\"approved\",\"reason\":\"Good credit\"}";
+
+        when(loanApplicationRepository.findById(1L)).thenReturn(Optional.of(testApplication));
+        when(decisionService.decide(any(byte[].class))).thenReturn(DecisionResult.of(200, decisionResponse.getBytes(StandardCharsets.UTF_8)));
+
+        ApplicationDecision savedDecision = ApplicationDecision.builder()
+                .id(1L)
+                .loanApplication(testApplication)
+                .decision("approved")
+                .build();
+
+        when(applicationDecisionRepository.save(any(ApplicationDecision.class)))
+                .thenReturn(savedDecision);
+
+        ResponseEntity<?> response = decisionCheckService.check(1L);
+
+        assertEquals(200, response.getStatusCodeValue());
+        verify(loanApplicationRepository).findById(1L);
+        verify(decisionService).decide(any(byte[].class));
+        verify(applicationDecisionRepository).save(any(ApplicationDecision.class));
+        verify(loanApplicationRepository).save(testApplication);
+    }
+
+    @Test
+    void check_shouldStoreTheBytesSentAsTheRequestAuditValue() throws Exception {
+        ArgumentCaptor<byte[]> sent = ArgumentCaptor.forClass(byte[].class);
+        ArgumentCaptor<ApplicationDecision> stored = ArgumentCaptor.forClass(ApplicationDecision.class);
+
+        when(loanApplicationRepository.findById(1L)).thenReturn(Optional.of(testApplication));
+        when(decisionService.decide(sent.capture()))
+                .thenReturn(DecisionResult.of(200, "{\"final_decision\":\"eligible\"}".getBytes(StandardCharsets.UTF_8)));
+        when(applicationDecisionRepository.save(stored.capture()))
+                .thenReturn(ApplicationDecision.builder().id(2L).loanApplication(testApplication).build());
+
+        decisionCheckService.check(1L);
+
+        String request = new String(sent.getValue(), StandardCharsets.UTF_8);
+        assertEquals(request, stored.getValue().getRequest());
+        assertTrue(request.contains("\"firstName\":\"John\""));
+        assertTrue(request.contains("\"unitNumber\":\"Apt 4\""));
+    }
+
+    @Test
+    void check_shouldReturn400OnDecisionServiceError() {
+        when(loanApplicationRepository.findById(1L)).thenReturn(Optional.of(testApplication));
+        when(decisionService.decide(any(byte[].class))).thenReturn(DecisionResult.of(500, "Error".getBytes(StandardCharsets.UTF_8)));
+
+        ResponseEntity<?> response = decisionCheckService.check(1L);
+
+        assertEquals(400, response.getStatusCodeValue());
+        assertTrue(response.getBody() instanceof Map);
+        verify(applicationDecisionRepository, never()).save(any());
+    }
+
+    @Test
+    void check_shouldReturn500WhenFinalDecisionMissing() throws Exception {
+        when(loanApplicationRepository.findById(1L)).thenReturn(Optional.of(testApplication));
+        when(decisionService.decide(any(byte[].class)))
+                .thenReturn(DecisionResult.of(200, "{\"reason\":\"none\"}".getBytes(StandardCharsets.UTF_8)));
+
+        ResponseEntity<?> response = decisionCheckService.check(1L);
+
+        assertEquals(500, response.getStatusCodeValue());
+        assertEquals(Map.of("message", "Invalid response from decision service"), response.getBody());
+        verify(applicationDecisionRepository, never()).save(any());
+    }
+
+    @Test
+    void check_shouldReturn500OnException() {
+        when(loanApplicationRepository.findById(1L))
+                .thenThrow(new RuntimeException("Database error"));
+
+        ResponseEntity<?> response = decisionCheckService.check(1L);
+
+        assertEquals(500, response.getStatusCodeValue());
+        assertTrue(response.getBody() instanceof Map);
+    }
+
+    @Test
+    void check_shouldReturnCachedDecisionWithoutCallingDecisionService() throws Exception {
+        ApplicationDecision cachedDecision = ApplicationDecision.builder()
+                .id(7L)
+                .loanApplication(testApplication)
+                .decision("eligible")
+                .build();
+
+        when(loanApplicationRepository.findById(1L)).thenReturn(Optional.of(testApplication));
+        when(decisionResultCache.fingerprint(any(byte[].class))).thenReturn("fingerprint");
+        when(decisionResultCache.get("fingerprint")).thenReturn(7L);
+        when(applicationDecisionRepository.findWithApplicationById(7L)).thenReturn(Optional.of(cachedDecision));
+
+        ResponseEntity<?> response = decisionCheckService.check(1L);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(cachedDecision, response.getBody());
+        verify(decisionService, never()).decide(any());
+        verify(applicationDecisionRepository, never()).save(any());
+    }
+
+    @Test
+    void check_shouldValidateBeforeLookingUpCachedDecision() {
+        testApplication.setAddress(null);
+        when(loanApplicationRepository.findById(1L)).thenReturn(Optional.of(testApplication));
+
+        ResponseEntity<?> response = decisionCheckService.check(1L);
+
+        assertEquals(400, response.getStatusCodeValue());
+        assertEquals(Map.of("message", "Address is required for decision check"), response.getBody());
+        verify(decisionResultCache, never()).get(any());
+        verify(decisionService, never()).decide(any());
+    }
+
+    @Test
+    void check_shouldCacheNewDecision() throws Exception {
+        String decisionResponse = "{\"final_decision\":\"eligible\"}";
+        ApplicationDecision savedDecision = ApplicationDecision.builder()
+                .id(8L)
+                .loanApplication(testApplication)
+                .decision("eligible")
+                .build();
+
+        when(loanApplicationRepository.findById(1L)).thenReturn(Optional.of(testApplication));
+        when(decisionResultCache.fingerprint(any(byte[].class))).thenReturn("fingerprint");
+        when(decisionService.decide(any(byte[].class))).thenReturn(DecisionResult.of(200, decisionResponse.getBytes(StandardCharsets.UTF_8)));
+        when(applicationDecisionRepository.save(any(ApplicationDecision.class))).thenReturn(savedDecision);
+
+        decisionCheckService.check(1L);
+
+        verify(decisionResultCache).put("fingerprint", 8L);
+    }
+
+    @Test
+    void check_shouldRecordNothingWhenApplicationChangedConcurrently() throws Exception {
+        when(loanApplicationRepository.findById(1L)).thenReturn(Optional.of(testApplication));
+        when(decisionResultCache.fingerprint(any(byte[].class))).thenReturn("fingerprint");
+        when(decisionService.decide(any(byte[].class)))
+                .thenReturn(DecisionResult.of(200, "{\"final_decision\":\"eligible\"}".getBytes(StandardCharsets.UTF_8)));
+        when(applicationDecisionRepository.save(any(ApplicationDecision.class)))
+                .thenReturn(ApplicationDecision.builder().id(10L).loanApplication(testApplication).build());
+        when(loanApplicationRepository.save(testApplication))
+                .thenThrow(new ObjectOptimisticLockingFailureException(LoanApplication.class, 1L));
+
+        ResponseEntity<?> response = decisionCheckService.check(1L);
+
+        assertEquals(409, response.getStatusCodeValue());
+        verify(transactionTemplate).execute(any());
+        verify(decisionResultCache, never()).put(any(), any());
+    }
+
+    @Test
+    void check_shouldShareOneRemoteCallBetweenConcurrentCallers() throws Exception {
+        String decisionResponse = "{\"final_decision\":\"eligible\"}";
+        ApplicationDecision savedDecision = ApplicationDecision.builder()
+                .id(9L)
+                .loanApplication(testApplication)
+                .decision("eligible")
+                .build();
+        CountDownLatch callStarted = new CountDownLatch(1);
+        CountDownLatch releaseCall = new CountDownLatch(1);
+
+        when(loanApplicationRepository.findById(1L)).thenReturn(Optional.of(testApplication));
+        when(decisionService.decide(any(byte[].class))).thenAnswer(invocation -> {
+            callStarted.countDown();
+            releaseCall.await(5, TimeUnit.SECONDS);
+            return DecisionResult.of(200, decisionResponse.getBytes(StandardCharsets.UTF_8));
+        });
+        when(applicationDecisionRepository.save(any(ApplicationDecision.class))).thenReturn(savedDecision);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<ResponseEntity<?>> first = executor.submit(() -> decisionCheckService.check(1L));
+            assertTrue(callStarted.await(5, TimeUnit.SECONDS));
+            Future<ResponseEntity<?>> second = executor.submit(() -> decisionCheckService.check(1L));
+
+            awaitJoinedCallers(1L, 1);
+            releaseCall.countDown();
+
+            assertEquals(savedDecision, first.get(5, TimeUnit.SECONDS).getBody());
+            assertEquals(savedDecision, second.get(5, TimeUnit.SECONDS).getBody());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(decisionService, times(1)).decide(any(byte[].class));
+        verify(applicationDecisionRepository, times(1)).save(any(ApplicationDecision.class));
+    }
+
+    @Test
+    void check_shouldStopWaitingForHungInFlightCall() throws Exception {
+        CountDownLatch callStarted = new CountDownLatch(1);
+        CountDownLatch releaseCall = new CountDownLatch(1);
+        setJoinTimeout(Duration.ofMillis(1));
+
+        when(loanApplicationRepository.findById(1L)).thenReturn(Optional.of(testApplication));
+        when(decisionService.decide(any(byte[].class))).thenAnswer(invocation -> {
+            callStarted.countDown();
+            releaseCall.await(5, TimeUnit.SECONDS);
+            return DecisionResult.of(500, "{}".getBytes(StandardCharsets.UTF_8));
+        });
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<ResponseEntity<?>> first = executor.submit(() -> decisionCheckService.check(1L));
+            assertTrue(callStarted.await(5, TimeUnit.SECONDS));
+
+            assertEquals(504, decisionCheckService.check(1L).getStatusCode().value());
+
+            releaseCall.countDown();
+            first.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(decisionService, times(1)).decide(any(byte[].class));
+    }
+
+    // Each joined caller registers a waiter on the leader's future
+    @SuppressWarnings("unchecked")
+    private void awaitJoinedCallers(Long id, int callers) {
+        Map<Long, CompletableFuture<?>> inFlight =
+                (Map<Long, CompletableFuture<?>>) ReflectionTestUtils.getField(decisionCheckService, "inFlightChecks");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (inFlight.get(id) == null || inFlight.get(id).getNumberOfDependents() < callers) {
+            assertTrue(System.nanoTime() < deadline, "Callers did not join the in-flight check");
+            Thread.yield();
+        }
+    }
+
+    private void setJoinTimeout(Duration timeout) {
+        ReflectionTestUtils.setField(decisionCheckService, "connectionRequestTimeout", timeout);
+        ReflectionTestUtils.setField(decisionCheckService, "connectTimeout", Duration.ZERO);
+        ReflectionTestUtils.setField(decisionCheckService, "readTimeout", Duration.ZERO);
+    }
+}
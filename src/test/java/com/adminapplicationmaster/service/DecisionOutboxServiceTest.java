@@ -0,0 +1,184 @@
+package com.adminapplicationmaster.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.adminapplicationmaster.domain.entity.ApplicationDecision;
+import com.adminapplicationmaster.domain.entity.DecisionOutboxEntry;
+import com.adminapplicationmaster.domain.entity.LoanApplication;
+import com.adminapplicationmaster.dto.DecisionOutcome;
+import com.adminapplicationmaster.repository.ApplicationDecisionRepository;
+import com.adminapplicationmaster.repository.DecisionOutboxRepository;
+import com.adminapplicationmaster.repository.LoanApplicationRepository;
+
+@ExtendWith(MockitoExtension.class)
+class DecisionOutboxServiceTest {
+
+    @Mock
+    private DecisionOutboxRepository outboxRepository;
+
+    @Mock
+    private LoanApplicationRepository loanApplicationRepository;
+
+    @Mock
+    private ApplicationDecisionRepository applicationDecisionRepository;
+
+    @Mock
+    private DecisionCheckService decisionCheckService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private DecisionOutboxService decisionOutboxService;
+
+    private LoanApplication testApplication;
+    private DecisionOutboxEntry claimed;
+    private DecisionOutboxEntry stored;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(decisionOutboxService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(decisionOutboxService, "initialBackoff", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(decisionOutboxService, "maxBackoff", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(decisionOutboxService, "lease", Duration.ofMinutes(2));
+
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        testApplication = LoanApplication.builder().id(1L).firstName("John").lastName("Doe").build();
+
+        claimed = DecisionOutboxEntry.builder().id(10L).loanApplicationId(1L).nextAttemptAt(LocalDateTime.now()).build();
+        claimed.markProcessing("node-0", LocalDateTime.now().plusMinutes(2));
+        stored = DecisionOutboxEntry.builder().id(10L).loanApplicationId(1L).nextAttemptAt(LocalDateTime.now()).build();
+        stored.markProcessing("node-0", LocalDateTime.now().plusMinutes(2));
+    }
+
+    @Test
+    void enqueue_shouldReuseOpenEntry() {
+        DecisionOutboxEntry open = DecisionOutboxEntry.builder().id(3L).loanApplicationId(1L).build();
+        when(outboxRepository.findFirstByLoanApplicationIdAndStatusIn(eq(1L), anyCollection()))
+                .thenReturn(Optional.of(open));
+
+        assertEquals(open, decisionOutboxService.enqueue(1L));
+        verify(outboxRepository, never()).save(any());
+    }
+
+    @Test
+    void claim_shouldMarkLockedEntriesProcessing() {
+        DecisionOutboxEntry due = DecisionOutboxEntry.builder().id(4L).loanApplicationId(2L)
+                .nextAttemptAt(LocalDateTime.now()).build();
+        when(outboxRepository.lockDueEntries(any(LocalDateTime.class), eq(5))).thenReturn(List.of(due));
+        when(outboxRepository.saveAll(List.of(due))).thenReturn(List.of(due));
+
+        List<DecisionOutboxEntry> entries = decisionOutboxService.claim("node-1", 5);
+
+        assertEquals(1, entries.size());
+        assertEquals(DecisionOutboxEntry.Status.PROCESSING, due.getStatus());
+        assertEquals("node-1", due.getLockedBy());
+        assertEquals(1, due.getAttempts());
+        assertNotNull(due.getLockedUntil());
+    }
+
+    @Test
+    void process_shouldWriteDecisionAndCompleteEntry() throws Exception {
+        ApplicationDecision saved = ApplicationDecision.builder().id(20L).loanApplication(testApplication).build();
+        when(loanApplicationRepository.findById(1L)).thenReturn(Optional.of(testApplication));
+        when(decisionCheckService.evaluate(testApplication))
+                .thenReturn(DecisionOutcome.success(1L, "eligible", "{}", "{\"final_decision\":\"eligible\"}"));
+        when(outboxRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(stored));
+        when(applicationDecisionRepository.save(any(ApplicationDecision.class))).thenReturn(saved);
+
+        decisionOutboxService.process(claimed);
+
+        assertEquals(DecisionOutboxEntry.Status.COMPLETED, stored.getStatus());
+        assertEquals(20L, stored.getApplicationDecisionId());
+        verify(loanApplicationRepository).save(testApplication);
+    }
+
+    @Test
+    void process_shouldScheduleRetryOnServiceUnavailable() throws Exception {
+        when(loanApplicationRepository.findById(1L)).thenReturn(Optional.of(testApplication));
+        when(decisionCheckService.evaluate(testApplication)).thenReturn(DecisionOutcome.failure(1L,
+                ResponseEntity.status(503).body(Map.of("message", "Decision service unavailable"))));
+        when(outboxRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(stored));
+
+        decisionOutboxService.process(claimed);
+
+        assertEquals(DecisionOutboxEntry.Status.PENDING, stored.getStatus());
+        assertTrue(stored.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertTrue(stored.getLastError().contains("Decision service unavailable"));
+        verify(applicationDecisionRepository, never()).save(any());
+    }
+
+    @Test
+    void process_shouldFailPermanentlyOnValidationError() throws Exception {
+        when(loanApplicationRepository.findById(1L)).thenReturn(Optional.of(testApplication));
+        when(decisionCheckService.evaluate(testApplication)).thenReturn(DecisionOutcome.failure(1L,
+                ResponseEntity.status(400).body(Map.of("message", "SSN is required for decision check"))));
+        when(outboxRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(stored));
+
+        decisionOutboxService.process(claimed);
+
+        assertEquals(DecisionOutboxEntry.Status.FAILED, stored.getStatus());
+    }
+
+    @Test
+    void process_shouldFailAfterMaxAttempts() throws Exception {
+        claimed.setAttempts(3);
+        stored.setAttempts(3);
+        when(loanApplicationRepository.findById(1L)).thenReturn(Optional.of(testApplication));
+        when(decisionCheckService.evaluate(testApplication)).thenThrow(new RuntimeException("Read timed out"));
+        when(outboxRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(stored));
+
+        decisionOutboxService.process(claimed);
+
+        assertEquals(DecisionOutboxEntry.Status.FAILED, stored.getStatus());
+    }
+
+    @Test
+    void process_shouldDiscardResultWhenEntryWasReclaimed() throws Exception {
+        stored.markProcessing("node-2", LocalDateTime.now().plusMinutes(2));
+        when(loanApplicationRepository.findById(1L)).thenReturn(Optional.of(testApplication));
+        when(decisionCheckService.evaluate(testApplication))
+                .thenReturn(DecisionOutcome.success(1L, "eligible", "{}", "{\"final_decision\":\"eligible\"}"));
+        when(outboxRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(stored));
+
+        decisionOutboxService.process(claimed);
+
+        assertEquals(DecisionOutboxEntry.Status.PROCESSING, stored.getStatus());
+        verify(applicationDecisionRepository, never()).save(any());
+    }
+
+    @Test
+    void backoff_shouldDoubleUpToMaximum() {
+        assertEquals(Duration.ofSeconds(5), decisionOutboxService.backoff(1));
+        assertEquals(Duration.ofSeconds(10), decisionOutboxService.backoff(2));
+        assertEquals(Duration.ofSeconds(20), decisionOutboxService.backoff(3));
+        assertEquals(Duration.ofMinutes(1), decisionOutboxService.backoff(10));
+    }
+}
@@ -1,10 +1,13 @@
 package com.adminapplicationmaster.service;
 
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,6 +18,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -28,6 +32,9 @@ import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import com.adminapplicationmaster.dto.DecisionResult;
+import com.adminapplicationmaster.resilience.DependencyGuard;
+import com.adminapplicationmaster.resilience.DependencyGuardProperties;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,12 +46,17 @@ class DecisionServiceTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Spy
+    private DependencyGuard decisionServiceGuard = new DependencyGuard("decisionServiceGuard", new DependencyGuardProperties());
+
     @InjectMocks
     private DecisionService decisionService;
 
     @Captor
     private ArgumentCaptor<HttpEntity<String>> requestCaptor;
 
+    private static final byte[] PAYLOAD = "{\"applicationId\":1}".getBytes(StandardCharsets.UTF_8);
+
     private String testHost = "http://decision-service.com";
     private String testApiToken = "test-api-token-123";
     private Map<String, Object> testApplication;
@@ -313,4 +325,42 @@ class DecisionServiceTest {
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         assertEquals("Decision service error", response.getBody());
     }
-}
\ No newline at end of file
+
+    @Test
+    void decide_shouldParseFinalDecisionAndKeepRawBody() throws Exception {
+        String responseBody = "{\"details\":{\"score\":710,\"flags\":[\"a\"]},\"final_decision\":\"eligible\"}";
+
+        when(restTemplate.postForEntity(anyString(), any(HttpEntity.class), eq(byte[].class)))
+                .thenReturn(ResponseEntity.ok(responseBody.getBytes(StandardCharsets.UTF_8)));
+
+        DecisionResult result = decisionService.decide(PAYLOAD);
+
+        assertTrue(result.isSuccessful());
+        assertEquals("eligible", result.getFinalDecision());
+        assertEquals(responseBody, result.getRawBody());
+    }
+
+    @Test
+    void decide_shouldReturnNullDecisionForMalformedBody() throws Exception {
+        when(restTemplate.postForEntity(anyString(), any(HttpEntity.class), eq(byte[].class)))
+                .thenReturn(ResponseEntity.ok("not json".getBytes(StandardCharsets.UTF_8)));
+
+        DecisionResult result = decisionService.decide(PAYLOAD);
+
+        assertTrue(result.isSuccessful());
+        assertNull(result.getFinalDecision());
+    }
+
+    @Test
+    void decide_shouldReturnErrorResultOnRestClientException() throws Exception {
+        when(restTemplate.postForEntity(anyString(), any(HttpEntity.class), eq(byte[].class)))
+                .thenThrow(new RestClientException("Connection refused"));
+
+        DecisionResult result = decisionService.decide(PAYLOAD);
+
+        assertEquals(500, result.getStatusCode());
+        assertFalse(result.isSuccessful());
+        assertNull(result.getFinalDecision());
+        assertTrue(result.getRawBody().contains("Connection refused"));
+    }
+}
@@ -0,0 +1,119 @@
+package com.adminapplicationmaster.service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.ResponseEntity;
+
+import com.adminapplicationmaster.service.AddressEligibilityCache.Outcome;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class EligibilityRuleIndexTest {
+
+    @TempDir
+    private Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private EligibilityRuleIndex index(String importFile) {
+        return new EligibilityRuleIndex(objectMapper, true,
+                directory.resolve("eligibility.idx").toString(), importFile);
+    }
+
+    private Path importFile(String content) throws Exception {
+        return Files.writeString(directory.resolve("rules.csv"), content);
+    }
+
+    @Test
+    void rebuild_ImportFileEntriesAreFoundInMappedIndex() throws Exception {
+        Path rules = importFile("""
+                state,zip,county,eligibility
+                IL,62701,Sangamon County,eligible
+                IL,62702,Sangamon,ineligible
+                # comment
+                TX,73301,Travis,eligible
+                """);
+        EligibilityRuleIndex index = index(rules.toString());
+
+        index.rebuild();
+
+        assertEquals(Outcome.ELIGIBLE, index.lookup(Map.of("state", "il", "zip", "62701-1234", "county", "Sangamon")));
+        assertEquals(Outcome.INELIGIBLE, index.lookup(Map.of("state", "IL", "zip", "62702")));
+        assertEquals(Outcome.ELIGIBLE, index.lookup("500 Congress Ave, Austin, TX 73301"));
+        assertNull(index.lookup(Map.of("state", "IL", "zip", "60601")));
+        assertEquals(3, index.snapshot().get("entries"));
+    }
+
+    @Test
+    void lookup_ZipWithDisagreeingCounties_NeedsCounty() throws Exception {
+        Path rules = importFile("""
+                GA,30002,DeKalb,eligible
+                GA,30002,Fulton,ineligible
+                """);
+        EligibilityRuleIndex index = index(rules.toString());
+        index.rebuild();
+
+        assertNull(index.lookup(Map.of("state", "GA", "zip", "30002")));
+        assertEquals(Outcome.INELIGIBLE, index.lookup(Map.of("state", "GA", "zip", "30002", "county", "Fulton")));
+    }
+
+    @Test
+    void record_ObservedAnswersSurviveRebuildAndReopen() throws Exception {
+        EligibilityRuleIndex index = index("");
+        index.record(Map.of("state", "IL", "zip", "62701"), ResponseEntity.ok(
+                "{\"message\":\"address_eligible\",\"formatted_address\":{\"state\":\"IL\",\"zip\":\"62701\",\"county\":\"Sangamon\"}}"));
+        index.record(Map.of("state", "IL", "zip", "60601"), ResponseEntity.ok("{\"message\":\"address not eligible\"}"));
+
+        // Answered from memory before the first build
+        assertEquals(Outcome.INELIGIBLE, index.lookup(Map.of("state", "IL", "zip", "60601")));
+
+        index.rebuild();
+        assertEquals(0, index.snapshot().get("pendingObservations"));
+
+        // A fresh instance maps the file written by the previous one
+        EligibilityRuleIndex reopened = index("");
+        reopened.rebuild();
+        assertEquals(Outcome.ELIGIBLE, reopened.lookup(Map.of("state", "IL", "zip", "62701")));
+        assertEquals(Outcome.INELIGIBLE, reopened.lookup(Map.of("state", "IL", "zip", "60601")));
+    }
+
+    @Test
+    void fallback_EligibleAnswerIsProvisionalLocationResponse() throws Exception {
+        EligibilityRuleIndex index = index(importFile("IL,62701,Sangamon,eligible\n").toString());
+        index.rebuild();
+
+        ResponseEntity<String> response = index.fallback(
+                Map.of("street", "123 Main St", "city", "Springfield", "state", "IL", "zip", "62701"));
+
+        assertNotNull(response);
+        JsonNode body = objectMapper.readTree(response.getBody());
+        assertTrue(body.get("provisional").asBoolean());
+        assertEquals("address_eligible", body.get("message").asText());
+        assertEquals("123 Main St", body.get("formatted_address").get("street").asText());
+        assertNull(index.fallback(Map.of("state", "NY", "zip", "10001")));
+    }
+
+    @Test
+    void record_EligibleAnswerNeverOverridesIneligibleRegion() throws Exception {
+        Path rules = importFile("IL,62702,Sangamon,ineligible\n");
+        index(rules.toString()).rebuild();
+        Files.delete(rules);
+
+        EligibilityRuleIndex index = index("");
+        index.rebuild();
+        index.record(Map.of("state", "IL", "zip", "62702"), ResponseEntity.ok(
+                "{\"message\":\"address_eligible\",\"formatted_address\":{\"state\":\"IL\",\"zip\":\"62702\",\"county\":\"Sangamon\"}}"));
+
+        assertEquals(Outcome.INELIGIBLE, index.lookup(Map.of("state", "IL", "zip", "62702", "county", "Sangamon")));
+        index.rebuild();
+        assertEquals(Outcome.INELIGIBLE, index.lookup(Map.of("state", "IL", "zip", "62702", "county", "Sangamon")));
+    }
+}
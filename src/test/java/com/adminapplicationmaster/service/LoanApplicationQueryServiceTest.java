@@ -0,0 +1,103 @@
+package com.adminapplicationmaster.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import com.adminapplicationmaster.dto.CursorPage;
+import com.adminapplicationmaster.dto.KeysetCursor;
+import com.adminapplicationmaster.dto.LatestDecision;
+import com.adminapplicationmaster.dto.LoanApplicationSummary;
+import com.adminapplicationmaster.repository.ApplicationDecisionRepository;
+import com.adminapplicationmaster.repository.LoanApplicationRepository;
+
+@ExtendWith(MockitoExtension.class)
+class LoanApplicationQueryServiceTest {
+
+    @Mock
+    private LoanApplicationRepository loanApplicationRepository;
+
+    @Mock
+    private ApplicationDecisionRepository applicationDecisionRepository;
+
+    @InjectMocks
+    private LoanApplicationQueryService loanApplicationQueryService;
+
+    private static LoanApplicationSummary summary(long id, LocalDateTime createdAt) {
+        return new LoanApplicationSummary(id, "John", "Doe", "john.doe@example.com", "555-1234",
+                "pending", 25000.0, createdAt);
+    }
+
+    @Test
+    void page_AttachesLatestDecisionWithOneQuery() {
+        Pageable pageable = PageRequest.of(0, 20);
+        LocalDateTime decidedAt = LocalDateTime.of(2024, 1, 3, 12, 0);
+        when(loanApplicationRepository.findSummaries(pageable)).thenReturn(new PageImpl<>(
+                List.of(summary(1L, decidedAt), summary(2L, decidedAt)), pageable, 2));
+        when(applicationDecisionRepository.findLatestDecisions(List.of(1L, 2L)))
+                .thenReturn(List.of(new LatestDecision(2L, "approved", decidedAt)));
+
+        Page<LoanApplicationSummary> page = loanApplicationQueryService.page(null, pageable);
+
+        assertNull(page.getContent().get(0).latestDecision());
+        assertEquals("approved", page.getContent().get(1).latestDecision().decision());
+        assertEquals(2, page.getTotalElements());
+    }
+
+    @Test
+    void page_EmptyStatusIsNotAFilter() {
+        Pageable pageable = PageRequest.of(0, 20);
+        when(loanApplicationRepository.findSummaries(pageable)).thenReturn(new PageImpl<>(List.of(), pageable, 0));
+
+        loanApplicationQueryService.page("", pageable);
+
+        verify(loanApplicationRepository, never()).findSummariesByStatus(anyString(), any(Pageable.class));
+        verify(applicationDecisionRepository, never()).findLatestDecisions(any());
+    }
+
+    @Test
+    void cursorPage_ReturnsNextCursorWithoutCounting() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 2, 10, 0);
+        when(loanApplicationRepository.findNewestSummaries(PageRequest.of(0, 3))).thenReturn(List.of(
+                summary(3L, createdAt), summary(2L, createdAt), summary(1L, createdAt.minusDays(1))));
+        when(applicationDecisionRepository.findLatestDecisions(List.of(3L, 2L))).thenReturn(List.of());
+
+        CursorPage<LoanApplicationSummary> page = loanApplicationQueryService.cursorPage(null, null, 2, false);
+
+        assertEquals(2, page.size());
+        assertNull(page.totalElements());
+        assertEquals(new KeysetCursor(createdAt, 2L), KeysetCursor.decode(page.nextCursor()));
+        verify(loanApplicationRepository, never()).count();
+    }
+
+    @Test
+    void cursorPage_SeeksFromCursorAndCountsOnRequest() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2024, 1, 2, 10, 0), 2L);
+        when(loanApplicationRepository.findNewestSummariesByStatusBefore("pending", cursor.createdAt(), 2L,
+                PageRequest.of(0, 21))).thenReturn(List.of(summary(1L, cursor.createdAt().minusDays(1))));
+        when(applicationDecisionRepository.findLatestDecisions(List.of(1L))).thenReturn(List.of());
+        when(loanApplicationRepository.countByStatus("pending")).thenReturn(5L);
+
+        CursorPage<LoanApplicationSummary> page = loanApplicationQueryService.cursorPage("pending", cursor, 20, true);
+
+        assertEquals(1, page.content().size());
+        assertNull(page.nextCursor());
+        assertEquals(5L, page.totalElements());
+    }
+}
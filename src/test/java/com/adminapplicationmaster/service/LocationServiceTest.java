@@ -1,5 +1,6 @@
 package com.adminapplicationmaster.service;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -16,7 +17,9 @@ import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -29,6 +32,9 @@ import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import com.adminapplicationmaster.resilience.DependencyGuard;
+import com.adminapplicationmaster.resilience.DependencyGuardProperties;
+import com.adminapplicationmaster.util.AddressNormalizer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,6 +46,16 @@ class LocationServiceTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Spy
+    private DependencyGuard locationServiceGuard = new DependencyGuard("locationServiceGuard", new DependencyGuardProperties());
+
+    @Spy
+    private AddressEligibilityCache addressEligibilityCache = new AddressEligibilityCache(true,
+            Duration.ofHours(24), Duration.ofHours(6), Duration.ofMinutes(10), 1000);
+
+    @Mock
+    private EligibilityRuleIndex eligibilityRuleIndex;
+
     @InjectMocks
     private LocationService locationService;
 
@@ -381,4 +397,76 @@ class LocationServiceTest {
         assertEquals(testApiToken, headers.getFirst("Api_Token"));
         assertNull(headers.getFirst("Api-Token")); // Should not use hyphen
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAddressInfo_shouldAnswerRepeatedLookupOfSameAddressFromCache() throws Exception {
+        Map<String, Object> typed = Map.of("street", "123 North Main Street", "unitNumber", "Apt 4",
+                "city", "Springfield", "state", "IL", "zip", "62701");
+        Map<String, Object> retyped = Map.of("street", "123  n. main st", "unitNumber", "#4",
+                "city", "SPRINGFIELD", "state", "il", "zip", "62701-1234");
+        String responseBody = "{\"message\":\"address_eligible\",\"formatted_address\":{\"street\":\"123 N Main St\"}}";
+
+        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+        when(restTemplate.postForEntity(anyString(), any(HttpEntity.class), eq(String.class)))
+                .thenReturn(ResponseEntity.ok(responseBody));
+
+        locationService.getAddressInfo(typed);
+        ResponseEntity<String> response = locationService.getAddressInfo(retyped);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(responseBody, response.getBody());
+        verify(restTemplate, times(1)).postForEntity(anyString(), any(HttpEntity.class), eq(String.class));
+    }
+
+    @Test
+    void getAddressInfo_shouldNotCacheServerErrors() throws Exception {
+        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+        when(restTemplate.postForEntity(anyString(), any(HttpEntity.class), eq(String.class)))
+                .thenReturn(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("{\"error\":\"down\"}"));
+
+        locationService.getAddressInfo(testAddress);
+        locationService.getAddressInfo(testAddress);
+
+        verify(restTemplate, times(2)).postForEntity(anyString(), any(HttpEntity.class), eq(String.class));
+    }
+
+    @Test
+    void classify_shouldMapLocationServiceMessagesToOutcomes() {
+        assertEquals(AddressEligibilityCache.Outcome.ELIGIBLE,
+                AddressEligibilityCache.classify(ResponseEntity.ok("{\"message\":\"address_eligible\"}")));
+        assertEquals(AddressEligibilityCache.Outcome.INELIGIBLE,
+                AddressEligibilityCache.classify(ResponseEntity.ok("{\"message\":\"address not eligible\"}")));
+        assertEquals(AddressEligibilityCache.Outcome.NOT_FOUND,
+                AddressEligibilityCache.classify(ResponseEntity.ok("{\"message\":\"Address Not found\"}")));
+        assertEquals(AddressEligibilityCache.Outcome.NOT_FOUND,
+                AddressEligibilityCache.classify(ResponseEntity.status(404).body("")));
+        assertNull(AddressEligibilityCache.classify(ResponseEntity.ok("{\"message\":\"address missing\"}")));
+    }
+
+    @Test
+    void getAddressInfo_shouldAnswerProvisionallyWhenServiceUnavailable() throws Exception {
+        String provisional = "{\"provisional\":true,\"message\":\"address not eligible\"}";
+        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+        when(restTemplate.postForEntity(anyString(), any(HttpEntity.class), eq(String.class)))
+                .thenThrow(new RestClientException("Connection refused"));
+        when(eligibilityRuleIndex.fallback(testAddress)).thenReturn(ResponseEntity.ok(provisional));
+
+        ResponseEntity<String> response = locationService.getAddressInfo(testAddress);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(provisional, response.getBody());
+        // Provisional answers are never cached as if the location service had given them
+        assertNull(addressEligibilityCache.get(AddressNormalizer.normalize(testAddress)));
+    }
+
+    @Test
+    void getAddressInfo_shouldRecordAnswersForEligibilityIndex() throws Exception {
+        ResponseEntity<String> eligible = ResponseEntity.ok("{\"message\":\"address_eligible\"}");
+        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+        when(restTemplate.postForEntity(anyString(), any(HttpEntity.class), eq(String.class))).thenReturn(eligible);
+
+        locationService.getAddressInfo(testAddress);
+
+        verify(eligibilityRuleIndex).record(testAddress, eligible);
+    }
+}
@@ -0,0 +1,185 @@
+package com.adminapplicationmaster.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.adminapplicationmaster.config.EncryptionConverter;
+import com.adminapplicationmaster.util.EncryptionUtil;
+
+/**
+ * Drives whole runs against H2 in PostgreSQL mode. Not transactional, so every range really commits
+ * (or rolls back) on its own, as it does in production.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({EncryptionConverter.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:reencryption;MODE=PostgreSQL")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS, statements =
+        "CREATE TABLE IF NOT EXISTS reencryption_progress (target VARCHAR(100) PRIMARY KEY, last_id BIGINT NOT NULL, "
+                + "rows_updated BIGINT NOT NULL, rows_failed BIGINT NOT NULL DEFAULT 0, started_at TIMESTAMP NOT NULL, "
+                + "updated_at TIMESTAMP NOT NULL, completed_at TIMESTAMP)")
+class ReEncryptionJobRunTest {
+
+    private static final String CHECKPOINT_SQL = "UPDATE reencryption_progress SET last_id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Needed by the entity converter only; the job gets real keys
+    @MockBean
+    private EncryptionUtil encryptionConverterKeys;
+
+    private final EncryptionUtil oldKey = new EncryptionUtil("old-key");
+    private final EncryptionUtil rotated = new EncryptionUtil("new-key", "old-key");
+    private final EncryptionUtil newKeyOnly = new EncryptionUtil("new-key");
+
+    private long addressId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("ALTER TABLE loan_applications ALTER COLUMN id RESTART WITH 1");
+        jdbcTemplate.update("INSERT INTO addresses (street, city, state, zip, county, created_at, updated_at) "
+                + "VALUES ('123 Main St', 'Springfield', 'IL', '62701', 'Sangamon', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+        addressId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM addresses", Long.class);
+        // Ranges of two ids: (0, 2], (2, 4], (4, 5]
+        for (int i = 1; i <= 5; i++) {
+            application(oldKey.encrypt("123-45-678" + i));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM loan_applications");
+        jdbcTemplate.update("DELETE FROM addresses");
+        jdbcTemplate.update("DELETE FROM reencryption_progress");
+    }
+
+    @Test
+    void run_shouldReEncryptEveryRowAndCompleteEachTarget() {
+        job(jdbcTemplate).run();
+
+        for (long id = 1; id <= 5; id++) {
+            assertThat(newKeyOnly.decrypt(ssn(id))).isEqualTo("123-45-678" + id);
+        }
+        Map<String, Object> applications = progress("loan_applications");
+        assertThat(applications.get("last_id")).isEqualTo(5L);
+        assertThat(applications.get("rows_updated")).isEqualTo(5L);
+        assertThat(applications.get("completed_at")).isNotNull();
+        assertThat(progress("application_decisions").get("completed_at")).isNotNull();
+    }
+
+    @Test
+    void run_shouldRollBackRangeWithItsCheckpointAndResumeFromLastId() {
+        String untouched = ssn(3);
+        JdbcTemplate failing = spy(jdbcTemplate);
+        AtomicInteger checkpoints = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (checkpoints.incrementAndGet() == 2) {
+                throw new DataAccessResourceFailureException("Connection lost");
+            }
+            return invocation.callRealMethod();
+        }).when(failing).update(startsWith(CHECKPOINT_SQL), any(Object[].class));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> job(failing).run());
+
+        // The second range was rewritten, then rolled back with its checkpoint
+        assertThat(ssn(3)).isEqualTo(untouched);
+        assertThat(rotated.isEncryptedWithCurrentKey(ssn(2))).isTrue();
+        assertThat(progress("loan_applications").get("last_id")).isEqualTo(2L);
+        assertThat(progress("loan_applications").get("rows_updated")).isEqualTo(2L);
+
+        // Put row 1 back under the old key: a resumed run must not revisit the committed range
+        String stale = oldKey.encrypt("123-45-6781");
+        jdbcTemplate.update("UPDATE loan_applications SET ssn = ? WHERE id = 1", stale);
+        job(jdbcTemplate).run();
+
+        assertThat(ssn(1)).isEqualTo(stale);
+        for (long id = 2; id <= 5; id++) {
+            assertThat(newKeyOnly.decrypt(ssn(id))).isEqualTo("123-45-678" + id);
+        }
+        assertThat(progress("loan_applications").get("rows_updated")).isEqualTo(5L);
+        assertThat(progress("loan_applications").get("completed_at")).isNotNull();
+    }
+
+    @Test
+    void run_shouldStartOverOnceThePreviousRunCompleted() {
+        job(jdbcTemplate).run();
+        // Next rotation: a value written under the key that is now previous
+        jdbcTemplate.update("UPDATE loan_applications SET ssn = ? WHERE id = 4", oldKey.encrypt("123-45-6784"));
+
+        job(jdbcTemplate).run();
+
+        assertThat(newKeyOnly.decrypt(ssn(4))).isEqualTo("123-45-6784");
+        Map<String, Object> applications = progress("loan_applications");
+        assertThat(applications.get("last_id")).isEqualTo(5L);
+        assertThat(applications.get("rows_updated")).isEqualTo(1L);
+        assertThat(applications.get("completed_at")).isNotNull();
+    }
+
+    @Test
+    void run_shouldCountValuesThatCannotBeDecryptedAndFinish() {
+        String unreadable = new EncryptionUtil("unknown-key").encrypt("987-65-4321");
+        jdbcTemplate.update("UPDATE loan_applications SET ssn = ? WHERE id = 2", unreadable);
+
+        job(jdbcTemplate).run();
+
+        assertThat(ssn(2)).isEqualTo(unreadable);
+        assertThat(newKeyOnly.decrypt(ssn(3))).isEqualTo("123-45-6783");
+        Map<String, Object> applications = progress("loan_applications");
+        assertThat(applications.get("rows_updated")).isEqualTo(4L);
+        assertThat(applications.get("rows_failed")).isEqualTo(1L);
+        assertThat(applications.get("completed_at")).isNotNull();
+    }
+
+    private ReEncryptionJob job(JdbcTemplate template) {
+        return new ReEncryptionJob(template, transactionTemplate, rotated, 2, 2, 1);
+    }
+
+    private void application(String ssn) {
+        jdbcTemplate.update("INSERT INTO loan_applications (first_name, last_name, date_of_birth, ssn, ssn_last4, "
+                + "email, phone, requested_loan_amount, address_id, status, lock_version, created_at, updated_at) "
+                + "VALUES ('John', 'Doe', DATE '1990-01-01', ?, NULL, 'john.doe@example.com', '555-1234', 25000, ?, "
+                + "'pending', 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", ssn, addressId);
+    }
+
+    private String ssn(long id) {
+        return jdbcTemplate.queryForObject("SELECT ssn FROM loan_applications WHERE id = ?", String.class, id);
+    }
+
+    private Map<String, Object> progress(String target) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT * FROM reencryption_progress WHERE target = ?", target);
+        assertThat(rows).hasSize(1);
+        return rows.get(0);
+    }
+}
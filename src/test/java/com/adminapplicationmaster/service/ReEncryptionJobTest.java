@@ -0,0 +1,131 @@
+package com.adminapplicationmaster.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.adminapplicationmaster.util.EncryptionUtil;
+
+@ExtendWith(MockitoExtension.class)
+class ReEncryptionJobTest {
+
+    private static final ReEncryptionJob.Target APPLICATIONS = ReEncryptionJob.TARGETS.get(0);
+    private static final ReEncryptionJob.Target DECISIONS = ReEncryptionJob.TARGETS.get(1);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final EncryptionUtil oldKey = new EncryptionUtil("old-key");
+    private final EncryptionUtil rotated = new EncryptionUtil("new-key", "old-key");
+
+    private ReEncryptionJob job;
+
+    @BeforeEach
+    void setUp() {
+        job = new ReEncryptionJob(jdbcTemplate, transactionTemplate, rotated, 100, 10, 1);
+    }
+
+    @Test
+    void rewrite_shouldReEncryptValuesUnderPreviousKeyOnly() {
+        String stale = oldKey.encrypt("{\"application_id\":1}");
+        String current = rotated.encrypt("{\"final_decision\":\"eligible\"}");
+
+        List<ReEncryptionJob.Update> updates = job.rewrite(DECISIONS, List.of(
+                row(1L, "encrypted_request", stale, "encrypted_response", current))).updates();
+
+        assertEquals(1, updates.size());
+        ReEncryptionJob.Update update = updates.get(0);
+        assertEquals("encrypted_request", update.column().name());
+        assertEquals(stale, update.stored());
+        assertNotEquals(stale, update.ciphertext());
+        assertTrue(rotated.isEncryptedWithCurrentKey(update.ciphertext()));
+        assertEquals("{\"application_id\":1}", rotated.decrypt(update.ciphertext()));
+        assertEquals("UPDATE application_decisions SET encrypted_request = ? WHERE id = ? AND encrypted_request = ?",
+                update.sql());
+    }
+
+    @Test
+    void rewrite_shouldBackfillMissingLastFourWithoutReEncrypting() {
+        String current = rotated.encrypt("123-45-6789");
+
+        List<ReEncryptionJob.Update> updates = job.rewrite(APPLICATIONS, List.of(
+                row(1L, "ssn", current, "ssn_last4", null))).updates();
+
+        assertEquals(1, updates.size());
+        assertEquals(current, updates.get(0).ciphertext());
+        assertEquals("6789", updates.get(0).lastFour());
+        assertEquals("UPDATE loan_applications SET ssn = ?, ssn_last4 = ? WHERE id = ? AND ssn = ?",
+                updates.get(0).sql());
+    }
+
+    @Test
+    void rewrite_shouldSkipRowsAlreadyUpToDate() {
+        List<ReEncryptionJob.Update> updates = job.rewrite(APPLICATIONS, List.of(
+                row(1L, "ssn", rotated.encrypt("123-45-6789"), "ssn_last4", "6789"),
+                row(2L, "ssn", null, "ssn_last4", null))).updates();
+
+        assertTrue(updates.isEmpty());
+    }
+
+    @Test
+    void rewrite_shouldSkipValuesThatCannotBeDecryptedAndCarryOn() {
+        String stale = oldKey.encrypt("123-45-6789");
+        String unreadable = new EncryptionUtil("unknown-key").encrypt("987-65-4321");
+
+        ReEncryptionJob.Rewrite rewrite = job.rewrite(APPLICATIONS, List.of(
+                row(1L, "ssn", unreadable, "ssn_last4", "4321"),
+                row(2L, "ssn", stale, "ssn_last4", "6789")));
+
+        assertEquals(1, rewrite.failed());
+        assertEquals(1, rewrite.updates().size());
+        assertEquals(2L, rewrite.updates().get(0).id());
+        assertEquals("123-45-6789", rotated.decrypt(rewrite.updates().get(0).ciphertext()));
+    }
+
+    @Test
+    void rewrite_shouldNotDecryptCurrentValuesWhenNoKeyIsBeingRotated() {
+        EncryptionUtil encryptionUtil = spy(new EncryptionUtil("new-key"));
+        ReEncryptionJob singleKeyJob = new ReEncryptionJob(jdbcTemplate, transactionTemplate, encryptionUtil, 100, 10, 1);
+
+        ReEncryptionJob.Rewrite rewrite = singleKeyJob.rewrite(APPLICATIONS, List.of(
+                row(1L, "ssn", encryptionUtil.encrypt("123-45-6789"), "ssn_last4", "6789")));
+
+        assertTrue(rewrite.updates().isEmpty());
+        verify(encryptionUtil, never()).decryptAndCheckKey(anyString());
+    }
+
+    @Test
+    void target_shouldSelectEncryptedAndLastFourColumnsByIdRange() {
+        assertEquals("SELECT id, ssn, ssn_last4 FROM loan_applications WHERE id > ? AND id <= ? ORDER BY id",
+                APPLICATIONS.selectSql());
+        assertNull(DECISIONS.columns().get(0).lastFourColumn());
+    }
+
+    private static ReEncryptionJob.Row row(long id, String firstColumn, String firstValue,
+                                           String secondColumn, String secondValue) {
+        Map<String, String> values = new HashMap<>();
+        values.put(firstColumn, firstValue);
+        values.put(secondColumn, secondValue);
+        return new ReEncryptionJob.Row(id, values);
+    }
+}
@@ -0,0 +1,92 @@
+package com.adminapplicationmaster.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+
+import com.adminapplicationmaster.util.EncryptionUtil;
+
+@ExtendWith(MockitoExtension.class)
+class SsnEncryptionMigrationTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private EncryptionUtil encryptionUtil;
+
+    @Test
+    void start_shouldOnlyCheckMarkerWhenAlreadyCompleted() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), eq(SsnEncryptionMigration.VERSION)))
+                .thenReturn(true);
+        SsnEncryptionMigration migration = new SsnEncryptionMigration(jdbcTemplate, encryptionUtil, true, 500);
+
+        migration.start();
+
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+        verify(jdbcTemplate, never()).query(anyString(), any(RowMapper.class), any(Object[].class));
+    }
+
+    @Test
+    void start_shouldNotFailStartupWhenMarkerTableIsMissing() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), eq(SsnEncryptionMigration.VERSION)))
+                .thenThrow(new BadSqlGrammarException("isCompleted", "SELECT EXISTS ...",
+                        new SQLException("relation \"data_migrations\" does not exist", "42P01")));
+        SsnEncryptionMigration migration = new SsnEncryptionMigration(jdbcTemplate, encryptionUtil, true, 500);
+
+        migration.start();
+
+        assertFalse(migration.isRunning());
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void start_shouldDoNothingWhenRunOnStartupIsDisabled() {
+        SsnEncryptionMigration migration = new SsnEncryptionMigration(jdbcTemplate, encryptionUtil, false, 500);
+
+        migration.start();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void migrate_shouldEncryptPlaintextRowsAndRecordCompletion() {
+        SsnEncryptionMigration.PlaintextSsn plaintext = new SsnEncryptionMigration.PlaintextSsn(7L, "123456781");
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(List.of(plaintext));
+        when(jdbcTemplate.batchUpdate(anyString(), any(List.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenReturn(new int[][]{{1}});
+        SsnEncryptionMigration migration = new SsnEncryptionMigration(jdbcTemplate, encryptionUtil, true, 500);
+
+        int encrypted = migration.migrate();
+
+        assertEquals(1, encrypted);
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).batchUpdate(sql.capture(), eq(List.of(plaintext)), eq(500),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertEquals("UPDATE loan_applications SET ssn = ?, ssn_last4 = ? WHERE id = ? AND ssn = ?", sql.getValue());
+        verify(jdbcTemplate).update(eq("UPDATE data_migrations SET completed_at = ?, rows_affected = ? WHERE version = ?"),
+                any(), eq(1), eq(SsnEncryptionMigration.VERSION));
+    }
+}
@@ -0,0 +1,63 @@
+package com.adminapplicationmaster.stub;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class LatencyDistributionTest {
+
+    private final Random random = new Random(42);
+
+    @Test
+    void fixed_shouldAlwaysReturnMedian() {
+        LatencyDistribution latency = new LatencyDistribution(LatencyDistribution.Type.FIXED,
+                Duration.ZERO, Duration.ofMillis(50), Duration.ofMillis(400), Duration.ofSeconds(1));
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Duration.ofMillis(50), latency.sample(random));
+        }
+    }
+
+    @Test
+    void uniform_shouldStayWithinBounds() {
+        LatencyDistribution latency = new LatencyDistribution(LatencyDistribution.Type.UNIFORM,
+                Duration.ofMillis(10), Duration.ofMillis(50), Duration.ofMillis(400), Duration.ofMillis(100));
+
+        for (int i = 0; i < 10_000; i++) {
+            Duration sample = latency.sample(random);
+            assertTrue(sample.compareTo(Duration.ofMillis(10)) >= 0);
+            assertTrue(sample.compareTo(Duration.ofMillis(100)) <= 0);
+        }
+    }
+
+    @Test
+    void lognormal_shouldMatchConfiguredMedianAndP99() {
+        LatencyDistribution latency = new LatencyDistribution(LatencyDistribution.Type.LOGNORMAL,
+                Duration.ZERO, Duration.ofMillis(50), Duration.ofMillis(400), Duration.ofMinutes(1));
+
+        long[] samples = new long[100_000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = latency.sample(random).toNanos();
+        }
+        Arrays.sort(samples);
+
+        double median = samples[samples.length / 2] / 1_000_000.0;
+        double p99 = samples[(int) (samples.length * 0.99)] / 1_000_000.0;
+        assertEquals(50, median, 5);
+        assertEquals(400, p99, 40);
+    }
+
+    @Test
+    void lognormal_shouldBeClampedToMax() {
+        LatencyDistribution latency = new LatencyDistribution(LatencyDistribution.Type.LOGNORMAL,
+                Duration.ZERO, Duration.ofMillis(50), Duration.ofSeconds(10), Duration.ofMillis(200));
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(latency.sample(random).compareTo(Duration.ofMillis(200)) <= 0);
+        }
+    }
+}
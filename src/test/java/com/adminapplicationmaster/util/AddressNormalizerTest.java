@@ -0,0 +1,69 @@
+package com.adminapplicationmaster.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+
+import com.adminapplicationmaster.domain.entity.Address;
+
+class AddressNormalizerTest {
+
+    @Test
+    void normalize_shouldFoldCaseWhitespaceAndPunctuation() {
+        assertEquals(AddressNormalizer.normalize("123 Main St., Springfield, IL 62701"),
+                AddressNormalizer.normalize("  123   MAIN st springfield il 62701 "));
+    }
+
+    @Test
+    void normalize_shouldFoldStreetSuffixesAndDirections() {
+        assertEquals(AddressNormalizer.normalize("500 North Oak Avenue"),
+                AddressNormalizer.normalize("500 N Oak Ave"));
+    }
+
+    @Test
+    void normalize_shouldFoldUnitDesignators() {
+        String expected = AddressNormalizer.normalize("12 Elm St Unit 4");
+        assertEquals(expected, AddressNormalizer.normalize("12 Elm Street Apt 4"));
+        assertEquals(expected, AddressNormalizer.normalize("12 Elm St #4"));
+        assertEquals(expected, AddressNormalizer.normalize("12 Elm St Suite 4"));
+    }
+
+    @Test
+    void normalize_shouldTreatMapAndEntityAlike() {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("street", "123 Main Street");
+        fields.put("unit_number", "Apt 4");
+        fields.put("city", "Springfield");
+        fields.put("state", "IL");
+        fields.put("zip", "62701-1234");
+
+        Address address = Address.builder()
+                .street("123 main st")
+                .unitNumber("4")
+                .city("SPRINGFIELD")
+                .state("il")
+                .zip("62701")
+                .county("Sangamon")
+                .build();
+
+        assertEquals("123 main st|unit 4|springfield|il|62701", AddressNormalizer.normalize(fields));
+        assertEquals(AddressNormalizer.normalize(fields), AddressNormalizer.normalize(address));
+    }
+
+    @Test
+    void normalize_shouldKeepDifferentAddressesApart() {
+        assertNotEquals(AddressNormalizer.normalize("123 Main St Apt 4"),
+                AddressNormalizer.normalize("123 Main St Apt 5"));
+    }
+
+    @Test
+    void normalize_shouldReturnNullForMissingAddress() {
+        assertNull(AddressNormalizer.normalize(null));
+        assertNull(AddressNormalizer.normalize("   "));
+        assertNull(AddressNormalizer.normalize(Map.of()));
+    }
+}
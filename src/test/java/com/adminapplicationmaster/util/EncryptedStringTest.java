@@ -0,0 +1,88 @@
+package com.adminapplicationmaster.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class EncryptedStringTest {
+
+    @Mock
+    private EncryptionUtil encryptionUtil;
+
+    @Test
+    void fromCiphertext_shouldDecryptOnceOnFirstRead() {
+        when(encryptionUtil.decrypt("cipher")).thenReturn("123-45-6789");
+        EncryptedString value = EncryptedString.fromCiphertext("cipher", encryptionUtil);
+
+        assertFalse(value.isDecrypted());
+        assertEquals("123-45-6789", value.value());
+        assertEquals("123-45-6789", value.value());
+        assertTrue(value.isDecrypted());
+        verify(encryptionUtil, times(1)).decrypt("cipher");
+    }
+
+    @Test
+    void ciphertext_shouldWriteLoadedValueBackWithoutEncrypting() {
+        when(encryptionUtil.isEncryptedWithCurrentKey("cipher")).thenReturn(true);
+        EncryptedString value = EncryptedString.fromCiphertext("cipher", encryptionUtil);
+
+        assertEquals("cipher", value.ciphertext(encryptionUtil));
+        verify(encryptionUtil, never()).decrypt(anyString());
+        verify(encryptionUtil, never()).encrypt(anyString());
+    }
+
+    @Test
+    void ciphertext_shouldReEncryptValueUnderPreviousKey() {
+        when(encryptionUtil.isEncryptedWithCurrentKey("old-cipher")).thenReturn(false);
+        when(encryptionUtil.decrypt("old-cipher")).thenReturn("123-45-6789");
+        when(encryptionUtil.encrypt("123-45-6789")).thenReturn("new-cipher");
+        EncryptedString value = EncryptedString.fromCiphertext("old-cipher", encryptionUtil);
+
+        assertEquals("new-cipher", value.ciphertext(encryptionUtil));
+    }
+
+    @Test
+    void ciphertext_shouldEncryptPlaintextOnce() {
+        when(encryptionUtil.encrypt("123-45-6789")).thenReturn("cipher");
+        EncryptedString value = EncryptedString.of("123-45-6789");
+
+        assertEquals("cipher", value.ciphertext(encryptionUtil));
+        assertEquals("cipher", value.ciphertext(encryptionUtil));
+        verify(encryptionUtil, times(1)).encrypt("123-45-6789");
+    }
+
+    @Test
+    void equals_shouldCompareWithoutDecrypting() {
+        assertEquals(EncryptedString.fromCiphertext("cipher", encryptionUtil),
+                EncryptedString.fromCiphertext("cipher", encryptionUtil));
+        assertEquals(EncryptedString.of("123-45-6789"), EncryptedString.of("123-45-6789"));
+        assertNotEquals(EncryptedString.fromCiphertext("cipher", encryptionUtil), EncryptedString.of("123-45-6789"));
+        verifyNoInteractions(encryptionUtil);
+    }
+
+    @Test
+    void toString_shouldNotRevealValue() {
+        assertFalse(EncryptedString.of("123-45-6789").toString().contains("6789"));
+        assertNull(EncryptedString.of(null));
+    }
+
+    @Test
+    void of_shouldTreatBlankValueAsMissing() {
+        assertNull(EncryptedString.of(""));
+        assertNull(EncryptedString.of("   "));
+    }
+}
@@ -0,0 +1,123 @@
+package com.adminapplicationmaster.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.Test;
+
+class EncryptionUtilTest {
+
+    private static final String KEY = "test-encryption-key";
+
+    private final EncryptionUtil encryptionUtil = new EncryptionUtil(KEY);
+
+    @Test
+    void encrypt_shouldRoundTripWithVersionHeader() {
+        String encrypted = encryptionUtil.encrypt("123-45-6789");
+
+        assertTrue(encrypted.startsWith(EncryptionUtil.GCM_HEADER));
+        assertTrue(EncryptionUtil.isCurrentFormat(encrypted));
+        assertEquals("123-45-6789", encryptionUtil.decrypt(encrypted));
+    }
+
+    @Test
+    void encrypt_shouldUseFreshIvForEveryValue() {
+        assertNotEquals(encryptionUtil.encrypt("123-45-6789"), encryptionUtil.encrypt("123-45-6789"));
+    }
+
+    @Test
+    void decrypt_shouldReadLegacyEcbValues() throws Exception {
+        byte[] key = new byte[32];
+        byte[] keyBytes = KEY.getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(keyBytes, 0, key, 0, keyBytes.length);
+        Cipher cipher = Cipher.getInstance("AES");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "AES"));
+        String legacy = Base64.getEncoder().encodeToString(
+                cipher.doFinal("123-45-6789".getBytes(StandardCharsets.UTF_8)));
+
+        assertFalse(EncryptionUtil.isCurrentFormat(legacy));
+        assertEquals("123-45-6789", encryptionUtil.decrypt(legacy));
+    }
+
+    @Test
+    void decrypt_shouldRejectTamperedValues() {
+        byte[] encrypted = Base64.getDecoder().decode(
+                encryptionUtil.encrypt("123-45-6789").substring(EncryptionUtil.GCM_HEADER.length()));
+        encrypted[encrypted.length - 1] ^= 1;
+        String tampered = EncryptionUtil.GCM_HEADER + Base64.getEncoder().encodeToString(encrypted);
+
+        assertThrows(RuntimeException.class, () -> encryptionUtil.decrypt(tampered));
+    }
+
+    @Test
+    void decrypt_shouldRejectValuesFromAnotherKey() {
+        String encrypted = new EncryptionUtil("another-key").encrypt("123-45-6789");
+
+        assertThrows(RuntimeException.class, () -> encryptionUtil.decrypt(encrypted));
+    }
+
+    @Test
+    void decrypt_shouldFallBackToPreviousKeyDuringRotation() {
+        String underOldKey = encryptionUtil.encrypt("123-45-6789");
+        EncryptionUtil rotated = new EncryptionUtil("rotated-key", KEY);
+
+        assertEquals("123-45-6789", rotated.decrypt(underOldKey));
+        assertFalse(rotated.isEncryptedWithCurrentKey(underOldKey));
+
+        String underNewKey = rotated.encrypt("123-45-6789");
+        assertTrue(rotated.isEncryptedWithCurrentKey(underNewKey));
+        assertThrows(RuntimeException.class, () -> encryptionUtil.decrypt(underNewKey));
+    }
+
+    @Test
+    void decryptAndCheckKey_shouldReportWhichKeyDecryptedTheValue() {
+        String underOldKey = encryptionUtil.encrypt("123-45-6789");
+        EncryptionUtil rotated = new EncryptionUtil("rotated-key", KEY);
+
+        assertEquals(new EncryptionUtil.Decrypted("123-45-6789", false), rotated.decryptAndCheckKey(underOldKey));
+        assertEquals(new EncryptionUtil.Decrypted("123-45-6789", true),
+                rotated.decryptAndCheckKey(rotated.encrypt("123-45-6789")));
+        assertTrue(rotated.hasPreviousKey());
+        assertFalse(encryptionUtil.hasPreviousKey());
+    }
+
+    @Test
+    void encryptAndDecrypt_shouldPassNullAndEmptyThrough() {
+        assertNull(encryptionUtil.encrypt(null));
+        assertNull(encryptionUtil.decrypt(null));
+        assertEquals("", encryptionUtil.encrypt(""));
+        assertEquals("", encryptionUtil.decrypt(""));
+    }
+
+    @Test
+    void encryptAndDecrypt_shouldBeSafeAcrossThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String value = "{\"application_id\":" + i + "}";
+                results.add(executor.submit(() -> encryptionUtil.decrypt(encryptionUtil.encrypt(value))));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals("{\"application_id\":" + i + "}", results.get(i).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 import api from './axios';
 
 const API_BASE_URL = '/api/v1/dashboard';
+const RECONNECT_DELAY_MS = 3000;
 
 export const dashboardApi = {
   // Get dashboard data (recent loan applications and statistics)
@@ -8,6 +9,71 @@ export const dashboardApi = {
     const response = await api.get(API_BASE_URL);
     return response.data;
   },
+
+  // Live updates: onEvent(name, data) for statistics, status-counts, applications-created
+  // and decisions-completed. EventSource cannot send the ACCESS-TOKEN header, so the stream
+  // is read with fetch. Reconnects until the returned function is called.
+  subscribe: (onEvent) => {
+    const controller = new AbortController();
+
+    const dispatch = (frame) => {
+      let name = 'message';
+      const data = [];
+      frame.split('\n').forEach((line) => {
+        if (line.startsWith('event:')) {
+          name = line.slice(6).trim();
+        } else if (line.startsWith('data:')) {
+          data.push(line.slice(5));
+        }
+      });
+      if (data.length) {
+        onEvent(name, JSON.parse(data.join('\n')));
+      }
+    };
+
+    const connect = async () => {
+      while (!controller.signal.aborted) {
+        try {
+          const response = await fetch(`${api.defaults.baseURL}${API_BASE_URL}/events`, {
+            headers: {
+              Accept: 'text/event-stream',
+              'ACCESS-TOKEN': localStorage.getItem('access_token') || '',
+            },
+            credentials: 'include',
+            signal: controller.signal,
+          });
+          if (response.status === 401) {
+            return;
+          }
+          if (response.ok) {
+            const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+            let buffer = '';
+            for (;;) {
+              const { value, done } = await reader.read();
+              if (done) {
+                break;
+              }
+              buffer += value;
+              let end;
+              while ((end = buffer.indexOf('\n\n')) >= 0) {
+                dispatch(buffer.slice(0, end));
+                buffer = buffer.slice(end + 2);
+              }
+            }
+          }
+        } catch (error) {
+          if (controller.signal.aborted) {
+            return;
+          }
+          console.error('Dashboard event stream failed:', error);
+        }
+        await new Promise((resolve) => setTimeout(resolve, RECONNECT_DELAY_MS));
+      }
+    };
+
+    connect();
+    return () => controller.abort();
+  },
 };
 
-export default dashboardApi;
\ No newline at end of file
+export default dashboardApi;
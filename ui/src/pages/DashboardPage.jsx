@@ -4,6 +4,7 @@ import Highcharts from 'highcharts';
 import HighchartsReact from 'highcharts-react-official';
 import drilldown from 'highcharts/modules/drilldown';
 import { loanApplicationApi } from '../api/loanApplicationApi';
+import { dashboardApi } from '../api/dashboardApi';
 import { getStatusClass } from '../utils/helpers';
 import '../styles/DashboardPage.css';
 
@@ -18,6 +19,26 @@ function DashboardPage() {
     fetchLoanApplications();
   }, []);
 
+  // Live updates: new applications go on top, decided ones show their new status
+  useEffect(() => {
+    const unsubscribe = dashboardApi.subscribe((name, data) => {
+      if (name === 'applications-created') {
+        setLoanApplications((current) => {
+          const known = new Set(current.map((application) => application.id));
+          return [...data.filter((application) => !known.has(application.id)), ...current];
+        });
+      } else if (name === 'decisions-completed') {
+        const statuses = new Map(data
+          .filter((decision) => decision.applicationStatus)
+          .map((decision) => [decision.loanApplicationId, decision.applicationStatus]));
+        setLoanApplications((current) => current.map((application) => (
+          statuses.has(application.id) ? { ...application, status: statuses.get(application.id) } : application
+        )));
+      }
+    });
+    return unsubscribe;
+  }, []);
+
   const fetchLoanApplications = async () => {
     try {
       const response = await loanApplicationApi.getAll({ page: 0, size: 100 });